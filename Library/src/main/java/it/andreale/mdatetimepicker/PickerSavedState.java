@@ -0,0 +1,84 @@
+/*
+ * ******************************************************************************
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 AndreAle94
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * *****************************************************************************
+ */
+package it.andreale.mdatetimepicker;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+
+/**
+ * Created by AndreAle94
+ *
+ * Versioned state of a picker dialog, saved as a single parcelable of primitives and strings
+ * instead of one bundle entry per field. The fields are preceded by the version and their size,
+ * so a state written by another version is skipped and restored as null.
+ */
+public abstract class PickerSavedState implements Parcelable {
+
+    /**
+     * @return the version written before the fields, bumped when they change.
+     */
+    protected abstract int getVersion();
+
+    protected abstract void write(Parcel dest);
+
+    /**
+     * Reads the header written by {@link #writeToParcel(Parcel, int)}. When the version does not
+     * match the fields are skipped, leaving the parcel at the next value.
+     *
+     * @return true if the fields that follow can be read.
+     */
+    protected static boolean readHeader(Parcel source, int version) {
+        int found = source.readInt();
+        int size = source.readInt();
+        if (found != version) {
+            source.setDataPosition(source.dataPosition() + size);
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int describeContents() {
+        return 0;
+    }
+
+    @Override
+    public void writeToParcel(Parcel dest, int flags) {
+        dest.writeInt(getVersion());
+        // the size is known only after the fields are written
+        int sizePosition = dest.dataPosition();
+        dest.writeInt(0);
+        write(dest);
+        int end = dest.dataPosition();
+        dest.setDataPosition(sizePosition);
+        dest.writeInt(end - sizePosition - 4);
+        dest.setDataPosition(end);
+    }
+
+    protected static int toInt(boolean value) {
+        return value ? 1 : 0;
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * ******************************************************************************
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 AndreAle94
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * *****************************************************************************
+ */
+package it.andreale.mdatetimepicker;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.content.res.TypedArray;
+import android.os.Build;
+import android.support.annotation.AttrRes;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Created by AndreAle94
+ *
+ * Attributes of both pickers read from a theme with a single obtainStyledAttributes call. The
+ * values are cached per theme, so builders created again from the same activity skip the lookup.
+ */
+public final class ThemeAttributes {
+
+    private final static int[] ATTRS = {
+            android.R.attr.colorAccent,
+            R.attr.colorAccent,
+            R.attr.mdp_darkMode,
+            R.attr.mdp_positiveColor,
+            R.attr.mdp_negativeColor,
+            R.attr.mdp_headerBackgroundColor,
+            R.attr.mdp_todayTextColor,
+            R.attr.mdp_selectedCircleColor,
+            R.attr.mtp_darkMode,
+            R.attr.mtp_24HourMode,
+            R.attr.mtp_positiveColor,
+            R.attr.mtp_negativeColor,
+            R.attr.mtp_headerBackgroundColor,
+            R.attr.mtp_circleBackgroundColor,
+            R.attr.mtp_selectorColor
+    };
+    private final static int[] BOOLEAN_ATTRS = {
+            R.attr.mdp_darkMode,
+            R.attr.mtp_darkMode,
+            R.attr.mtp_24HourMode
+    };
+    private final static int INDEX_NATIVE_ACCENT = 0;
+    private final static int INDEX_ACCENT = 1;
+
+    // the values hold no reference to the theme, so the key can be collected with its activity
+    private final static Map<Resources.Theme, ThemeAttributes> CACHE = new WeakHashMap<Resources.Theme, ThemeAttributes>();
+
+    private final int[] mValues = new int[ATTRS.length];
+    private final boolean[] mHasValue = new boolean[ATTRS.length];
+
+    private ThemeAttributes(Resources.Theme theme) {
+        TypedArray a = theme.obtainStyledAttributes(ATTRS);
+        try {
+            for (int i = 0; i < ATTRS.length; i++) {
+                if (!a.hasValue(i)) {
+                    continue;
+                }
+                mHasValue[i] = true;
+                if (isBoolean(ATTRS[i])) {
+                    mValues[i] = a.getBoolean(i, false) ? 1 : 0;
+                } else {
+                    mValues[i] = a.getColor(i, 0);
+                }
+            }
+        } finally {
+            a.recycle();
+        }
+    }
+
+    /**
+     * @return the attributes of the context theme, resolved on the first call for that theme.
+     */
+    public static ThemeAttributes obtain(Context context) {
+        Resources.Theme theme = context.getTheme();
+        synchronized (CACHE) {
+            ThemeAttributes attributes = CACHE.get(theme);
+            if (attributes == null) {
+                attributes = new ThemeAttributes(theme);
+                CACHE.put(theme, attributes);
+            }
+            return attributes;
+        }
+    }
+
+    /**
+     * Drops the cached values, to be called after a theme is changed with applyStyle.
+     */
+    public static void clearCache() {
+        synchronized (CACHE) {
+            CACHE.clear();
+        }
+    }
+
+    private static boolean isBoolean(int attr) {
+        for (int booleanAttr : BOOLEAN_ATTRS) {
+            if (booleanAttr == attr) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int indexOf(int attr) {
+        for (int i = 0; i < ATTRS.length; i++) {
+            if (ATTRS[i] == attr) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Attribute not resolved by ThemeAttributes: " + attr);
+    }
+
+    /**
+     * @return the platform accent on Lollipop and above, then the support library one.
+     */
+    public int getAccentColor(int fallback) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP && mHasValue[INDEX_NATIVE_ACCENT]) {
+            return mValues[INDEX_NATIVE_ACCENT];
+        }
+        return mHasValue[INDEX_ACCENT] ? mValues[INDEX_ACCENT] : fallback;
+    }
+
+    public int getColor(@AttrRes int attr, int fallback) {
+        int index = indexOf(attr);
+        return mHasValue[index] ? mValues[index] : fallback;
+    }
+
+    public boolean getBoolean(@AttrRes int attr, boolean fallback) {
+        int index = indexOf(attr);
+        return mHasValue[index] ? mValues[index] != 0 : fallback;
+    }
+
+    public boolean hasValue(@AttrRes int attr) {
+        return mHasValue[indexOf(attr)];
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * ******************************************************************************
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 AndreAle94
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * *****************************************************************************
+ */
+package it.andreale.mdatetimepicker.date;
+
+import java.text.DecimalFormatSymbols;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+
+/**
+ * Created by AndreAle94
+ *
+ * Date pattern compiled once per pattern and locale, that appends a date to a
+ * {@link StringBuilder} from its year, month and day. Supports the letters used by date
+ * headers (y, M, d and E), patterns with other letters are delegated to a cached
+ * {@link SimpleDateFormat}.
+ */
+public final class DateFormatter {
+
+    private final static int MAX_CACHED_FORMATTERS = 8;
+    private final static char LITERAL = 0;
+
+    private final static LinkedHashMap<String, DateFormatter> sCache =
+            new LinkedHashMap<String, DateFormatter>(16, 0.75f, true) {
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, DateFormatter> eldest) {
+                    return size() > MAX_CACHED_FORMATTERS;
+                }
+            };
+
+    private final String mPattern;
+    private final Locale mLocale;
+    private final LocaleSymbols mSymbols;
+    private final char mZeroDigit;
+
+    // compiled pattern, a field letter and its length or a literal
+    private char[] mFields;
+    private int[] mCounts;
+    private String[] mLiterals;
+    private int mTokenCount;
+
+    // patterns with unsupported letters
+    private SimpleDateFormat mFallback;
+    private Calendar mFallbackCalendar;
+
+    public static DateFormatter getInstance(String pattern, Locale locale) {
+        String key = locale.toString() + '|' + pattern;
+        synchronized (sCache) {
+            DateFormatter formatter = sCache.get(key);
+            if (formatter == null) {
+                formatter = new DateFormatter(pattern, locale);
+                sCache.put(key, formatter);
+            }
+            return formatter;
+        }
+    }
+
+    DateFormatter(String pattern, Locale locale) {
+        mPattern = pattern;
+        mLocale = locale;
+        mSymbols = new LocaleSymbols(locale);
+        mZeroDigit = new DecimalFormatSymbols(locale).getZeroDigit();
+        if (!compile(pattern)) {
+            mFallback = new SimpleDateFormat(pattern, locale);
+            mFallbackCalendar = new GregorianCalendar(TimeZone.getTimeZone("UTC"), locale);
+            mFallback.setTimeZone(mFallbackCalendar.getTimeZone());
+        }
+    }
+
+    /**
+     * @return false if the pattern contains letters that are not supported.
+     */
+    private boolean compile(String pattern) {
+        int length = pattern.length();
+        mFields = new char[length];
+        mCounts = new int[length];
+        mLiterals = new String[length];
+        mTokenCount = 0;
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < length) {
+            char c = pattern.charAt(i);
+            if (c == '\'') {
+                if (i + 1 < length && pattern.charAt(i + 1) == '\'') {
+                    // escaped quote
+                    literal.append('\'');
+                    i += 2;
+                    continue;
+                }
+                int end = i + 1;
+                while (true) {
+                    if (end >= length) {
+                        throw new IllegalArgumentException("Unterminated quote in pattern: " + pattern);
+                    }
+                    if (pattern.charAt(end) == '\'') {
+                        if (end + 1 < length && pattern.charAt(end + 1) == '\'') {
+                            literal.append('\'');
+                            end += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    literal.append(pattern.charAt(end));
+                    end++;
+                }
+                i = end + 1;
+            } else if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+                if (c != 'y' && c != 'M' && c != 'd' && c != 'E') {
+                    return false;
+                }
+                int count = 1;
+                while (i + count < length && pattern.charAt(i + count) == c) {
+                    count++;
+                }
+                addLiteral(literal);
+                mFields[mTokenCount] = c;
+                mCounts[mTokenCount] = count;
+                mTokenCount++;
+                i += count;
+            } else {
+                literal.append(c);
+                i++;
+            }
+        }
+        addLiteral(literal);
+        return true;
+    }
+
+    private void addLiteral(StringBuilder literal) {
+        if (literal.length() > 0) {
+            mFields[mTokenCount] = LITERAL;
+            mLiterals[mTokenCount] = literal.toString();
+            mTokenCount++;
+            literal.setLength(0);
+        }
+    }
+
+    public String getPattern() {
+        return mPattern;
+    }
+
+    public Locale getLocale() {
+        return mLocale;
+    }
+
+    /**
+     * Appends the formatted date to the given builder.
+     *
+     * @param month month of the year, from {@link Calendar#JANUARY}.
+     */
+    public void format(int year, int month, int day, StringBuilder out) {
+        if (mFallback != null) {
+            formatFallback(year, month, day, out);
+            return;
+        }
+        for (int i = 0; i < mTokenCount; i++) {
+            int count = mCounts[i];
+            switch (mFields[i]) {
+                case LITERAL:
+                    out.append(mLiterals[i]);
+                    break;
+                case 'y':
+                    if (count == 2) {
+                        appendNumber(out, Math.abs(year) % 100, 2);
+                    } else {
+                        appendNumber(out, year, count);
+                    }
+                    break;
+                case 'M':
+                    if (count >= 4) {
+                        out.append(mSymbols.getMonthName(month));
+                    } else if (count == 3) {
+                        out.append(mSymbols.getShortMonthName(month));
+                    } else {
+                        appendNumber(out, month + 1, count);
+                    }
+                    break;
+                case 'd':
+                    appendNumber(out, day, count);
+                    break;
+                case 'E':
+                    int dayOfWeek = MonthGrid.getDayOfWeek(MonthGrid.toEpochDay(year, month, day));
+                    if (count >= 4) {
+                        out.append(mSymbols.getWeekdayName(dayOfWeek));
+                    } else {
+                        out.append(mSymbols.getShortWeekdayName(dayOfWeek));
+                    }
+                    break;
+            }
+        }
+    }
+
+    private void appendNumber(StringBuilder out, int value, int minDigits) {
+        if (value < 0) {
+            out.append('-');
+            value = -value;
+        }
+        int digits = 1;
+        for (int rest = value / 10; rest > 0; rest /= 10) {
+            digits++;
+        }
+        for (int i = digits; i < minDigits; i++) {
+            out.append(mZeroDigit);
+        }
+        int divisor = 1;
+        for (int i = 1; i < digits; i++) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            out.append((char) (mZeroDigit + (value / divisor) % 10));
+        }
+    }
+
+    private synchronized void formatFallback(int year, int month, int day, StringBuilder out) {
+        mFallbackCalendar.clear();
+        mFallbackCalendar.set(year, month, day);
+        out.append(mFallback.format(mFallbackCalendar.getTime()));
+    }
+}
@@ -27,13 +27,12 @@ package it.andreale.mdatetimepicker.date;
 
 import android.content.Context;
 import android.graphics.Color;
+import android.text.TextUtils;
 import android.util.AttributeSet;
 import android.view.View;
 import android.widget.LinearLayout;
 import android.widget.TextView;
 
-import java.text.SimpleDateFormat;
-import java.util.Calendar;
 import java.util.Locale;
 
 import it.andreale.mdatetimepicker.R;
@@ -46,14 +45,26 @@ public class DateHeaderView extends LinearLayout implements View.OnClickListener
     public static final int MODE_UNINITIALIZED = -1;
     public static final int MODE_DAY_PICKER = 0;
     public static final int MODE_YEAR_PICKER = 1;
+    public static final int MODE_CENTURY_PICKER = 2;
+    public static final int MODE_DECADE_PICKER = 3;
+    public static final int MODE_MONTH_PICKER = 4;
+    public static final int MODE_RANGE_PICKER = 5;
 
     private final static int TRANSPARENT_WHITE = Color.argb(127, 255, 255, 255);
+    private final static String YEAR_FORMAT = "y";
 
     private int mPickerMode;
     private DatePickerController mController;
 
     private TextView mYearText;
     private TextView mDayText;
+    private final StringBuilder mTextBuilder = new StringBuilder();
+
+    // formatters resolved for the current locale and header pattern
+    private Locale mFormatLocale;
+    private String mFormatPattern;
+    private DateFormatter mYearFormatter;
+    private DateFormatter mDayFormatter;
 
     public DateHeaderView(Context context) {
         super(context);
@@ -108,28 +119,52 @@ public class DateHeaderView extends LinearLayout implements View.OnClickListener
             if (mController != null) {
                 mController.onPickerModeChange(mPickerMode);
                 // change text color
-                if (pickerMode == MODE_DAY_PICKER) {
-                    mDayText.setTextColor(Color.WHITE);
-                    mYearText.setTextColor(TRANSPARENT_WHITE);
-                } else if (pickerMode == MODE_YEAR_PICKER) {
+                if (pickerMode == MODE_YEAR_PICKER || pickerMode == MODE_RANGE_PICKER
+                        || pickerMode == MODE_CENTURY_PICKER || pickerMode == MODE_DECADE_PICKER) {
                     mDayText.setTextColor(TRANSPARENT_WHITE);
                     mYearText.setTextColor(Color.WHITE);
+                } else {
+                    // day and month pickers
+                    mDayText.setTextColor(Color.WHITE);
+                    mYearText.setTextColor(TRANSPARENT_WHITE);
                 }
             }
         }
     }
 
     public void updateDate() {
-        Calendar calendar = mController.getSelectedDate();
-        mYearText.setText(String.valueOf(calendar.get(Calendar.YEAR)));
-        SimpleDateFormat format = new SimpleDateFormat(mController.getHeaderDateFormat(), Locale.getDefault());
-        mDayText.setText(format.format(calendar.getTime()));
+        DateState dateState = mController.getDateState();
+        int year = dateState.getYear();
+        int month = dateState.getMonth();
+        int day = dateState.getDay();
+        Locale locale = Locale.getDefault();
+        String pattern = mController.getHeaderDateFormat();
+        if (mDayFormatter == null || !locale.equals(mFormatLocale) || !pattern.equals(mFormatPattern)) {
+            mFormatLocale = locale;
+            mFormatPattern = pattern;
+            mYearFormatter = DateFormatter.getInstance(YEAR_FORMAT, locale);
+            mDayFormatter = DateFormatter.getInstance(pattern, locale);
+        }
+        mTextBuilder.setLength(0);
+        mYearFormatter.format(year, month, day, mTextBuilder);
+        setTextIfChanged(mYearText, mTextBuilder);
+        mTextBuilder.setLength(0);
+        mDayFormatter.format(year, month, day, mTextBuilder);
+        setTextIfChanged(mDayText, mTextBuilder);
+    }
+
+    private static void setTextIfChanged(TextView textView, CharSequence text) {
+        // avoid a new layout pass when the text is the same
+        if (!TextUtils.equals(textView.getText(), text)) {
+            textView.setText(text);
+        }
     }
 
     @Override
     public void onClick(View v) {
         if (v == mYearText) {
-            notifyController(MODE_YEAR_PICKER, false);
+            // the whole range, any month is three more clicks away, unless the year list is used
+            notifyController(mController != null ? mController.getYearPickerMode() : MODE_RANGE_PICKER, false);
         } else if (v == mDayText) {
             notifyController(MODE_DAY_PICKER, false);
         }
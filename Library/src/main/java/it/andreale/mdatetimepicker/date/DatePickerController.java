@@ -25,8 +25,6 @@
  */
 package it.andreale.mdatetimepicker.date;
 
-import java.util.Calendar;
-
 /**
  * Created by AndreAle94
  */
@@ -34,16 +32,30 @@ public interface DatePickerController {
 
     int getDefaultMode();
 
+    /**
+     * @return the mode opened by the year in the header, the zoom grid or the year list.
+     */
+    int getYearPickerMode();
+
     void onPickerModeChange(int pickerMode);
 
     int getStartYear();
 
     int getEndYear();
 
-    Calendar getSelectedDate();
+    DateState getDateState();
 
     void onYearChanged(int year);
 
+    void onMonthChanged(int year, int month);
+
+    /**
+     * @return the year shown by the century, decade and month pickers.
+     */
+    int getZoomYear();
+
+    void onZoomRequested(int pickerMode, int year);
+
     boolean isDarkMode();
 
     int getSelectionColor();
@@ -59,4 +71,10 @@ public interface DatePickerController {
     int getDirectionalButtonColor();
 
     int getMonthHeaderTextColor();
+
+    boolean isTileModeEnabled();
+
+    int getPrefetchMonths();
+
+    int getPrefetchMemoryBudget();
 }
@@ -29,7 +29,6 @@ import android.app.Activity;
 import android.app.Dialog;
 import android.content.Context;
 import android.graphics.Color;
-import android.os.Build;
 import android.os.Bundle;
 import android.support.annotation.NonNull;
 import android.support.v4.app.DialogFragment;
@@ -41,9 +40,11 @@ import android.widget.Button;
 
 import java.util.Calendar;
 import java.util.Date;
+import java.util.TimeZone;
 
 import it.andreale.mdatetimepicker.DialogUtils;
 import it.andreale.mdatetimepicker.R;
+import it.andreale.mdatetimepicker.ThemeAttributes;
 
 /**
  * Created by AndreAle94
@@ -59,20 +60,7 @@ public class DatePickerDialog extends DialogFragment implements DatePickerContro
     private final static int BACKGROUND_LIGHT = Color.parseColor("#FAFAFA");
     private final static int BACKGROUND_DARK = Color.parseColor("#424242");
 
-    private final static String SAVED_HEADER_COLOR = "dpd:headerColor";
-    private final static String SAVED_SELECTION_COLOR = "dpd:selectionColor";
-    private final static String SAVED_POSITIVE_COLOR = "dpd:positiveColor";
-    private final static String SAVED_NEGATIVE_COLOR = "dpd:negativeColor";
-    private final static String SAVED_POSITIVE_TEXT = "dpd:positiveText";
-    private final static String SAVED_NEGATIVE_TEXT = "dpd:negativeText";
-    private final static String SAVED_TODAY_COLOR = "dpd:todayColor";
-    private final static String SAVED_DARK_MODE = "dpd:darkMode";
-    private final static String SAVED_DEFAULT_MODE = "dpd:defaultMode";
-    private final static String SAVED_PICKER_MODE = "dpd:pickerMode";
-    private final static String SAVED_START_YEAR = "dpd:startYear";
-    private final static String SAVED_END_YEAR = "dpd:endYear";
-    private final static String SAVED_CALENDAR = "dpd:internalCalendar";
-    private final static String SAVED_HEADER_DATE_FORMAT = "dpd:headerFormat";
+    private final static String SAVED_STATE = "dpd:state";
 
     private int mHeaderColor;
     private int mSelectionColor;
@@ -85,22 +73,29 @@ public class DatePickerDialog extends DialogFragment implements DatePickerContro
     private String mNegativeText;
     private int mYearStart;
     private int mYearEnd;
-    private Calendar mCalendar;
+    private DateState mDateState;
     private int mDefaultPickerMode;
     private String mHeaderDateFormat;
     private int mFirstDayOfWeek;
+    private boolean mTileMode;
+    private int mPrefetchMonths;
+    private int mPrefetchBudget;
+    private int mZoomYear;
+    private boolean mYearList;
     private boolean mBuilderFlag;
 
     // components
     private DateHeaderView mHeaderView;
     private YearPickerView mYearPickerView;
     private DayPickerView mDayPickerView;
+    private ZoomPickerView mZoomPickerView;
 
     private Button mPositiveButton;
     private Button mNegativeButton;
 
     // callback
     private OnDateSetListener mDateSetListener;
+    private OnEpochDaySetListener mEpochDaySetListener;
 
     public DatePickerDialog() {
         mBuilderFlag = false;
@@ -110,22 +105,45 @@ public class DatePickerDialog extends DialogFragment implements DatePickerContro
         return new DatePickerDialog();
     }
 
+    @Override
+    public void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        if (savedInstanceState != null && savedInstanceState.getParcelable(SAVED_STATE) == null) {
+            // state written by another version, the builder configuration is lost
+            setShowsDialog(false);
+            dismissAllowingStateLoss();
+        }
+    }
+
     @Override
     public void onSaveInstanceState(Bundle outState) {
         super.onSaveInstanceState(outState);
-        outState.putInt(SAVED_HEADER_COLOR, mHeaderColor);
-        outState.putInt(SAVED_SELECTION_COLOR, mSelectionColor);
-        outState.putInt(SAVED_POSITIVE_COLOR, mPositiveColor);
-        outState.putInt(SAVED_NEGATIVE_COLOR, mNegativeColor);
-        outState.putInt(SAVED_TODAY_COLOR, mTodayColor);
-        outState.putBoolean(SAVED_DARK_MODE, mDarkTheme);
-        outState.putString(SAVED_HEADER_DATE_FORMAT, mHeaderDateFormat);
-        outState.putInt(SAVED_PICKER_MODE, mHeaderView.getPickerMode());
-        outState.putInt(SAVED_START_YEAR, mYearStart);
-        outState.putInt(SAVED_END_YEAR, mYearEnd);
-        outState.putString(SAVED_POSITIVE_TEXT, mPositiveText);
-        outState.putString(SAVED_NEGATIVE_TEXT, mNegativeText);
-        outState.putSerializable(SAVED_CALENDAR, mCalendar);
+        if (!mBuilderFlag) {
+            // dismissed before being restored, nothing to save
+            return;
+        }
+        DatePickerSavedState state = new DatePickerSavedState();
+        state.epochDay = mDateState.getEpochDay();
+        state.pickerMode = mHeaderView.getPickerMode();
+        state.defaultPickerMode = mDefaultPickerMode;
+        state.zoomYear = mZoomYear;
+        state.yearList = mYearList;
+        state.firstDayOfWeek = mFirstDayOfWeek;
+        state.yearStart = mYearStart;
+        state.yearEnd = mYearEnd;
+        state.headerColor = mHeaderColor;
+        state.selectionColor = mSelectionColor;
+        state.positiveColor = mPositiveColor;
+        state.negativeColor = mNegativeColor;
+        state.todayColor = mTodayColor;
+        state.darkTheme = mDarkTheme;
+        state.tileMode = mTileMode;
+        state.prefetchMonths = mPrefetchMonths;
+        state.prefetchBudget = mPrefetchBudget;
+        state.headerDateFormat = mHeaderDateFormat;
+        state.positiveText = mPositiveText;
+        state.negativeText = mNegativeText;
+        outState.putParcelable(SAVED_STATE, state);
     }
 
     @Override
@@ -134,40 +152,47 @@ public class DatePickerDialog extends DialogFragment implements DatePickerContro
         if (activity instanceof OnDateSetListener) {
             mDateSetListener = (OnDateSetListener) activity;
         }
+        if (activity instanceof OnEpochDaySetListener) {
+            mEpochDaySetListener = (OnEpochDaySetListener) activity;
+        }
     }
 
     @Override
     public void onDetach() {
         super.onDetach();
         mDateSetListener = null;
+        mEpochDaySetListener = null;
     }
 
     @NonNull
     public Dialog onCreateDialog(Bundle savedInstanceState) {
         // restore old state if not null
-        if (savedInstanceState != null) {
-            mHeaderColor = savedInstanceState.getInt(SAVED_HEADER_COLOR, DEFAULT_ACCENT_COLOR);
-            mSelectionColor = savedInstanceState.getInt(SAVED_SELECTION_COLOR, DEFAULT_ACCENT_COLOR);
-            mPositiveColor = savedInstanceState.getInt(SAVED_POSITIVE_COLOR, DEFAULT_ACCENT_COLOR);
-            mNegativeColor = savedInstanceState.getInt(SAVED_NEGATIVE_COLOR, DEFAULT_ACCENT_COLOR);
-            mTodayColor = savedInstanceState.getInt(SAVED_TODAY_COLOR, DEFAULT_ACCENT_COLOR);
-            mDarkTheme = savedInstanceState.getBoolean(SAVED_DARK_MODE, false);
-            mDefaultPickerMode = savedInstanceState.getInt(SAVED_DEFAULT_MODE, DEFAULT_PICKER_MODE);
-            mYearStart = savedInstanceState.getInt(SAVED_START_YEAR, DEFAULT_START_YEAR);
-            mYearEnd = savedInstanceState.getInt(SAVED_END_YEAR, DEFAULT_END_YEAR);
-            mCalendar = (Calendar) savedInstanceState.getSerializable(SAVED_CALENDAR);
-            mHeaderDateFormat = savedInstanceState.getString(SAVED_HEADER_DATE_FORMAT, DEFAULT_HEADER_DATE_FORMAT);
-            mPositiveText = savedInstanceState.getString(SAVED_POSITIVE_TEXT, getString(android.R.string.ok));
-            mNegativeText = savedInstanceState.getString(SAVED_NEGATIVE_TEXT, getString(android.R.string.cancel));
+        DatePickerSavedState state = savedInstanceState != null
+                ? savedInstanceState.<DatePickerSavedState>getParcelable(SAVED_STATE) : null;
+        if (state != null) {
+            mDateState = new DateState(state.epochDay);
+            mDefaultPickerMode = state.defaultPickerMode;
+            mZoomYear = state.zoomYear;
+            mYearList = state.yearList;
+            mFirstDayOfWeek = state.firstDayOfWeek;
+            mYearStart = state.yearStart;
+            mYearEnd = state.yearEnd;
+            mHeaderColor = state.headerColor;
+            mSelectionColor = state.selectionColor;
+            mPositiveColor = state.positiveColor;
+            mNegativeColor = state.negativeColor;
+            mTodayColor = state.todayColor;
+            mDarkTheme = state.darkTheme;
+            mTileMode = state.tileMode;
+            mPrefetchMonths = state.prefetchMonths;
+            mPrefetchBudget = state.prefetchBudget;
+            mHeaderDateFormat = state.headerDateFormat;
+            mPositiveText = state.positiveText;
+            mNegativeText = state.negativeText;
             mBuilderFlag = true;
-            if (mCalendar != null) {
-                mFirstDayOfWeek = mCalendar.getFirstDayOfWeek();
-            } else {
-                mFirstDayOfWeek = DEFAULT_FIRST_DAY_OF_WEEK;
-            }
         } else {
             mDefaultPickerMode = DEFAULT_PICKER_MODE;
-            mCalendar.setFirstDayOfWeek(mFirstDayOfWeek);
+            mZoomYear = mDateState.getYear();
             // check builder flag
             if (!mBuilderFlag) {
                 throw new IllegalStateException("You must initialize DatePickerDialog throw Builder class");
@@ -192,6 +217,7 @@ public class DatePickerDialog extends DialogFragment implements DatePickerContro
         mHeaderView = (DateHeaderView) view.findViewById(R.id.date_header_view);
         mYearPickerView = (YearPickerView) view.findViewById(R.id.date_year_picker_view);
         mDayPickerView = (DayPickerView) view.findViewById(R.id.date_day_picker_view);
+        mZoomPickerView = (ZoomPickerView) view.findViewById(R.id.date_zoom_picker_view);
         // buttons
         mPositiveButton = (Button) view.findViewById(R.id.positive_button);
         mNegativeButton = (Button) view.findViewById(R.id.negative_button);
@@ -202,9 +228,12 @@ public class DatePickerDialog extends DialogFragment implements DatePickerContro
         mPositiveButton.setText(mPositiveText);
         mNegativeButton.setText(mNegativeText);
         // configure views
-        if (savedInstanceState != null) {
-            mHeaderView.setPickerMode(savedInstanceState.getInt(SAVED_PICKER_MODE));
+        DatePickerSavedState state = savedInstanceState != null
+                ? savedInstanceState.<DatePickerSavedState>getParcelable(SAVED_STATE) : null;
+        if (state != null) {
+            mHeaderView.setPickerMode(state.pickerMode);
         }
+        mZoomPickerView.registerController(this);
         mHeaderView.registerController(this);
         mDayPickerView.registerController(this);
         mYearPickerView.resisterController(this);
@@ -215,22 +244,42 @@ public class DatePickerDialog extends DialogFragment implements DatePickerContro
         mDateSetListener = listener;
     }
 
+    public void setOnEpochDaySetListener(OnEpochDaySetListener listener) {
+        mEpochDaySetListener = listener;
+    }
+
     @Override
     public int getDefaultMode() {
         return mDefaultPickerMode;
     }
 
+    @Override
+    public int getYearPickerMode() {
+        return mYearList ? DateHeaderView.MODE_YEAR_PICKER : DateHeaderView.MODE_RANGE_PICKER;
+    }
+
     @Override
     public void onPickerModeChange(int pickerMode) {
         switch (pickerMode) {
             case DateHeaderView.MODE_DAY_PICKER:
                 DialogUtils.setVisible(mDayPickerView, true);
                 DialogUtils.setVisible(mYearPickerView, false);
+                DialogUtils.setVisible(mZoomPickerView, false);
                 break;
             case DateHeaderView.MODE_YEAR_PICKER:
                 mYearPickerView.onPreShow();
                 DialogUtils.setVisible(mDayPickerView, false);
                 DialogUtils.setVisible(mYearPickerView, true);
+                DialogUtils.setVisible(mZoomPickerView, false);
+                break;
+            case DateHeaderView.MODE_RANGE_PICKER:
+            case DateHeaderView.MODE_CENTURY_PICKER:
+            case DateHeaderView.MODE_DECADE_PICKER:
+            case DateHeaderView.MODE_MONTH_PICKER:
+                mZoomPickerView.onPreShow(pickerMode);
+                DialogUtils.setVisible(mDayPickerView, false);
+                DialogUtils.setVisible(mYearPickerView, false);
+                DialogUtils.setVisible(mZoomPickerView, true);
                 break;
         }
     }
@@ -246,19 +295,63 @@ public class DatePickerDialog extends DialogFragment implements DatePickerContro
     }
 
     @Override
+    public DateState getDateState() {
+        return mDateState;
+    }
+
+    /**
+     * @return days from 1970-01-01 of the selected date.
+     */
+    public int getSelectedEpochDay() {
+        return mDateState.getEpochDay();
+    }
+
+    /**
+     * @return a new calendar set to the selected date.
+     */
     public Calendar getSelectedDate() {
-        return mCalendar;
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.setFirstDayOfWeek(mFirstDayOfWeek);
+        calendar.set(mDateState.getYear(), mDateState.getMonth(), mDateState.getDay());
+        return calendar;
     }
 
     @Override
     public void onYearChanged(int year) {
-        mCalendar.set(Calendar.YEAR, year);
+        mDateState.setYear(year);
         mYearPickerView.notifyDateChanged();
         mHeaderView.updateDate();
         mDayPickerView.onDateChanged();
         mHeaderView.setPickerMode(DateHeaderView.MODE_DAY_PICKER);
     }
 
+    @Override
+    public void onMonthChanged(int year, int month) {
+        // keep the day inside the new month
+        mDateState.setMonth(year, month);
+        mYearPickerView.notifyDateChanged();
+        mHeaderView.updateDate();
+        mDayPickerView.onDateChanged();
+        mHeaderView.setPickerMode(DateHeaderView.MODE_DAY_PICKER);
+    }
+
+    @Override
+    public int getZoomYear() {
+        return mZoomYear;
+    }
+
+    @Override
+    public void onZoomRequested(int pickerMode, int year) {
+        mZoomYear = year;
+        if (mHeaderView.getPickerMode() == pickerMode) {
+            // same level, just another period
+            mZoomPickerView.onPreShow(pickerMode);
+        } else {
+            mHeaderView.setPickerMode(pickerMode);
+        }
+    }
+
     @Override
     public boolean isDarkMode() {
         return mDarkTheme;
@@ -286,9 +379,7 @@ public class DatePickerDialog extends DialogFragment implements DatePickerContro
 
     @Override
     public void onDayClicked(int day, int month, int year) {
-        mCalendar.set(Calendar.YEAR, year);
-        mCalendar.set(Calendar.MONTH, month);
-        mCalendar.set(Calendar.DAY_OF_MONTH, day);
+        mDateState.set(year, month, day);
         mHeaderView.updateDate();
         mDayPickerView.onDateChanged();
         mYearPickerView.notifyDateChanged();
@@ -304,15 +395,33 @@ public class DatePickerDialog extends DialogFragment implements DatePickerContro
         return mDarkTheme ? Color.WHITE : Color.BLACK;
     }
 
+    @Override
+    public boolean isTileModeEnabled() {
+        return mTileMode;
+    }
+
+    @Override
+    public int getPrefetchMonths() {
+        return mPrefetchMonths;
+    }
+
+    @Override
+    public int getPrefetchMemoryBudget() {
+        return mPrefetchBudget;
+    }
+
     @Override
     public void onClick(View v) {
         if (v == mPositiveButton) {
             if (mDateSetListener != null) {
                 mDateSetListener.onDateSet(
                         this,
-                        mCalendar.get(Calendar.YEAR),
-                        mCalendar.get(Calendar.MONTH),
-                        mCalendar.get(Calendar.DAY_OF_MONTH));
+                        mDateState.getYear(),
+                        mDateState.getMonth(),
+                        mDateState.getDay());
+            }
+            if (mEpochDaySetListener != null) {
+                mEpochDaySetListener.onEpochDaySet(this, mDateState.getEpochDay());
             }
             dismiss();
         } else if (v == mNegativeButton) {
@@ -331,34 +440,37 @@ public class DatePickerDialog extends DialogFragment implements DatePickerContro
         private int mSelectionColor;
         private int mTodayColor;
         private String mHeaderDateFormat;
-        private Calendar mCalendar;
+        private int mEpochDay;
         private int mStartYear;
         private int mEndYear;
         private int mFirstDayOfWeek;
         private String mPositiveText;
         private String mNegativeText;
+        private boolean mTileMode;
+        private boolean mYearList;
+        private int mPrefetchMonths;
+        private int mPrefetchBudget;
 
         private boolean mHeaderSet;
 
         public Builder(Context context) {
             mContext = context;
-            mAccentColor = DialogUtils.resolveColor(context, R.attr.colorAccent, DEFAULT_ACCENT_COLOR);
-            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
-                mAccentColor = DialogUtils.resolveColor(context, android.R.attr.colorAccent, mAccentColor);
-            }
-            mDarkMode = DialogUtils.resolveBoolean(context, R.attr.mdp_darkMode, false);
-            mPositiveColor = DialogUtils.resolveColor(context, R.attr.mdp_positiveColor, mAccentColor);
-            mNegativeColor = DialogUtils.resolveColor(context, R.attr.mdp_negativeColor, mAccentColor);
-            mTodayColor = DialogUtils.resolveColor(context, R.attr.mdp_todayTextColor, mAccentColor);
-            mHeaderColor = DialogUtils.resolveColor(context, R.attr.mdp_headerBackgroundColor, mAccentColor);
+            ThemeAttributes attributes = ThemeAttributes.obtain(context);
+            mAccentColor = attributes.getAccentColor(DEFAULT_ACCENT_COLOR);
+            mDarkMode = attributes.getBoolean(R.attr.mdp_darkMode, false);
+            mPositiveColor = attributes.getColor(R.attr.mdp_positiveColor, mAccentColor);
+            mNegativeColor = attributes.getColor(R.attr.mdp_negativeColor, mAccentColor);
+            mTodayColor = attributes.getColor(R.attr.mdp_todayTextColor, mAccentColor);
+            mHeaderColor = attributes.getColor(R.attr.mdp_headerBackgroundColor, mAccentColor);
             mHeaderSet = mHeaderColor != mAccentColor;
-            mSelectionColor = DialogUtils.resolveColor(context, R.attr.mdp_selectedCircleColor, mAccentColor);
-            mCalendar = Calendar.getInstance();
-            DialogUtils.truncate(mCalendar);
+            mSelectionColor = attributes.getColor(R.attr.mdp_selectedCircleColor, mAccentColor);
+            mEpochDay = MonthGrid.getTodayEpochDay();
             mStartYear = DEFAULT_START_YEAR;
             mEndYear = DEFAULT_END_YEAR;
             mFirstDayOfWeek = DEFAULT_FIRST_DAY_OF_WEEK;
             mHeaderDateFormat = DEFAULT_HEADER_DATE_FORMAT;
+            mPrefetchMonths = MonthPrefetcher.DEFAULT_PREFETCH_MONTHS;
+            mPrefetchBudget = MonthPrefetcher.DEFAULT_MEMORY_BUDGET;
         }
 
         public Builder darkMode(boolean darkMode) {
@@ -401,15 +513,26 @@ public class DatePickerDialog extends DialogFragment implements DatePickerContro
         }
 
         public Builder selectedDate(Date date) {
-            mCalendar.setTime(date);
-            DialogUtils.truncate(mCalendar);
+            mEpochDay = MonthGrid.toEpochDay(date.getTime(), TimeZone.getDefault());
             return this;
         }
 
+        /**
+         * Values out of their range roll over as in a lenient {@link Calendar}: (31, 1, 2016)
+         * selects March 2, 2016.
+         */
         public Builder selectedDate(int day, int month, int year) {
-            mCalendar.set(Calendar.DAY_OF_MONTH, day);
-            mCalendar.set(Calendar.MONTH, month);
-            mCalendar.set(Calendar.YEAR, year);
+            // move whole years out of the month first, the days roll over in toEpochDay
+            int years = month >= 0 ? month / 12 : (month - 11) / 12;
+            mEpochDay = MonthGrid.toEpochDay(year + years, month - years * 12, day);
+            return this;
+        }
+
+        /**
+         * A day outside of {@link #yearRange(int, int)} selects the nearest day of the range.
+         */
+        public Builder selectedEpochDay(int epochDay) {
+            mEpochDay = epochDay;
             return this;
         }
 
@@ -435,6 +558,36 @@ public class DatePickerDialog extends DialogFragment implements DatePickerContro
             return this;
         }
 
+        public Builder tileMode(boolean tileMode) {
+            mTileMode = tileMode;
+            return this;
+        }
+
+        /**
+         * @param yearList true to open a scrolling list of years from the header instead of the
+         *                 decade and century grids.
+         */
+        public Builder yearList(boolean yearList) {
+            mYearList = yearList;
+            return this;
+        }
+
+        public Builder prefetchMonths(int months) {
+            if (months < 0) {
+                throw new IllegalArgumentException("Prefetched months can't be negative");
+            }
+            mPrefetchMonths = months;
+            return this;
+        }
+
+        public Builder prefetchMemoryBudget(int bytes) {
+            if (bytes < 0) {
+                throw new IllegalArgumentException("Prefetch memory budget can't be negative");
+            }
+            mPrefetchBudget = bytes;
+            return this;
+        }
+
         public Builder positiveText(String text) {
             mPositiveText = text;
             return this;
@@ -466,7 +619,10 @@ public class DatePickerDialog extends DialogFragment implements DatePickerContro
                 mHeaderColor = Color.parseColor("#555555");
             }
             DatePickerDialog dialog = DatePickerDialog.newInstance();
-            dialog.mCalendar = mCalendar;
+            // keep the selection inside the year range
+            int firstDay = MonthGrid.toEpochDay(mStartYear, Calendar.JANUARY, 1);
+            int lastDay = MonthGrid.toEpochDay(mEndYear, Calendar.DECEMBER, 31);
+            dialog.mDateState = new DateState(Math.max(firstDay, Math.min(mEpochDay, lastDay)));
             dialog.mFirstDayOfWeek = mFirstDayOfWeek;
             dialog.mDarkTheme = mDarkMode;
             dialog.mPositiveColor = mPositiveColor;
@@ -479,6 +635,10 @@ public class DatePickerDialog extends DialogFragment implements DatePickerContro
             dialog.mTodayColor = mTodayColor;
             dialog.mPositiveText = mPositiveText;
             dialog.mNegativeText = mNegativeText;
+            dialog.mTileMode = mTileMode;
+            dialog.mYearList = mYearList;
+            dialog.mPrefetchMonths = mPrefetchMonths;
+            dialog.mPrefetchBudget = mPrefetchBudget;
             dialog.mBuilderFlag = true;
             return dialog;
         }
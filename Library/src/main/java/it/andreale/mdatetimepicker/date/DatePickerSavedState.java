@@ -0,0 +1,130 @@
+/*
+ * ******************************************************************************
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 AndreAle94
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * *****************************************************************************
+ */
+package it.andreale.mdatetimepicker.date;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+
+import it.andreale.mdatetimepicker.PickerSavedState;
+
+/**
+ * Created by AndreAle94
+ */
+public final class DatePickerSavedState extends PickerSavedState {
+
+    private final static int VERSION = 2;
+
+    // selection and mode
+    int epochDay;
+    int pickerMode;
+    int defaultPickerMode;
+    int zoomYear;
+    boolean yearList;
+    // configuration from the builder
+    int firstDayOfWeek;
+    int yearStart;
+    int yearEnd;
+    int headerColor;
+    int selectionColor;
+    int positiveColor;
+    int negativeColor;
+    int todayColor;
+    boolean darkTheme;
+    boolean tileMode;
+    int prefetchMonths;
+    int prefetchBudget;
+    String headerDateFormat;
+    String positiveText;
+    String negativeText;
+
+    DatePickerSavedState() {
+    }
+
+    DatePickerSavedState(Parcel in) {
+        epochDay = in.readInt();
+        pickerMode = in.readInt();
+        defaultPickerMode = in.readInt();
+        zoomYear = in.readInt();
+        yearList = in.readInt() != 0;
+        firstDayOfWeek = in.readInt();
+        yearStart = in.readInt();
+        yearEnd = in.readInt();
+        headerColor = in.readInt();
+        selectionColor = in.readInt();
+        positiveColor = in.readInt();
+        negativeColor = in.readInt();
+        todayColor = in.readInt();
+        darkTheme = in.readInt() != 0;
+        tileMode = in.readInt() != 0;
+        prefetchMonths = in.readInt();
+        prefetchBudget = in.readInt();
+        headerDateFormat = in.readString();
+        positiveText = in.readString();
+        negativeText = in.readString();
+    }
+
+    @Override
+    protected int getVersion() {
+        return VERSION;
+    }
+
+    @Override
+    protected void write(Parcel out) {
+        out.writeInt(epochDay);
+        out.writeInt(pickerMode);
+        out.writeInt(defaultPickerMode);
+        out.writeInt(zoomYear);
+        out.writeInt(toInt(yearList));
+        out.writeInt(firstDayOfWeek);
+        out.writeInt(yearStart);
+        out.writeInt(yearEnd);
+        out.writeInt(headerColor);
+        out.writeInt(selectionColor);
+        out.writeInt(positiveColor);
+        out.writeInt(negativeColor);
+        out.writeInt(todayColor);
+        out.writeInt(toInt(darkTheme));
+        out.writeInt(toInt(tileMode));
+        out.writeInt(prefetchMonths);
+        out.writeInt(prefetchBudget);
+        out.writeString(headerDateFormat);
+        out.writeString(positiveText);
+        out.writeString(negativeText);
+    }
+
+    public static final Parcelable.Creator<DatePickerSavedState> CREATOR = new Parcelable.Creator<DatePickerSavedState>() {
+
+        @Override
+        public DatePickerSavedState createFromParcel(Parcel source) {
+            return readHeader(source, VERSION) ? new DatePickerSavedState(source) : null;
+        }
+
+        @Override
+        public DatePickerSavedState[] newArray(int size) {
+            return new DatePickerSavedState[size];
+        }
+    };
+}
@@ -0,0 +1,127 @@
+/*
+ * ******************************************************************************
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 AndreAle94
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * *****************************************************************************
+ */
+package it.andreale.mdatetimepicker.date;
+
+/**
+ * Created by AndreAle94
+ *
+ * Selected date of the date picker, stored as days from 1970-01-01 with the year, month and
+ * day kept alongside. Views read it without going through {@link java.util.Calendar}.
+ */
+public final class DateState {
+
+    private final static int MONTH_IN_YEAR = 12;
+
+    private final int[] mDate = new int[3];
+
+    private int mEpochDay;
+    private int mYear;
+    private int mMonth;
+    private int mDay;
+
+    public DateState(int epochDay) {
+        mEpochDay = epochDay;
+        split(epochDay);
+    }
+
+    /**
+     * @param month from 0 to 11, as {@link java.util.Calendar#MONTH}.
+     * @param day   from 1 to the length of the month.
+     */
+    public static int toEpochDay(int year, int month, int day) {
+        if (month < 0 || month >= MONTH_IN_YEAR) {
+            throw new IllegalArgumentException("Month must be between 0 and 11: " + month);
+        }
+        int days = MonthGrid.getDaysInMonth(year, month);
+        if (day < 1 || day > days) {
+            throw new IllegalArgumentException("Day must be between 1 and " + days + ": " + day);
+        }
+        return MonthGrid.toEpochDay(year, month, day);
+    }
+
+    private void split(int epochDay) {
+        MonthGrid.toDate(epochDay, mDate);
+        mYear = mDate[0];
+        mMonth = mDate[1];
+        mDay = mDate[2];
+    }
+
+    public int getEpochDay() {
+        return mEpochDay;
+    }
+
+    public int getYear() {
+        return mYear;
+    }
+
+    /**
+     * @return the month from 0 to 11, as {@link java.util.Calendar#MONTH}.
+     */
+    public int getMonth() {
+        return mMonth;
+    }
+
+    public int getDay() {
+        return mDay;
+    }
+
+    /**
+     * @return true if the date changed.
+     */
+    public boolean setEpochDay(int epochDay) {
+        if (epochDay == mEpochDay) {
+            return false;
+        }
+        mEpochDay = epochDay;
+        split(epochDay);
+        return true;
+    }
+
+    /**
+     * @return true if the date changed.
+     */
+    public boolean set(int year, int month, int day) {
+        return setEpochDay(toEpochDay(year, month, day));
+    }
+
+    /**
+     * Moves to the given month, keeping the day inside it.
+     *
+     * @return true if the date changed.
+     */
+    public boolean setMonth(int year, int month) {
+        return set(year, month, Math.min(mDay, MonthGrid.getDaysInMonth(year, month)));
+    }
+
+    /**
+     * Moves to the given year, keeping the day inside the month.
+     *
+     * @return true if the date changed.
+     */
+    public boolean setYear(int year) {
+        return setMonth(year, mMonth);
+    }
+}
@@ -25,32 +25,42 @@
  */
 package it.andreale.mdatetimepicker.date;
 
+import android.content.BroadcastReceiver;
 import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
 import android.graphics.Color;
-import android.support.v4.view.ViewPager;
+import android.os.SystemClock;
 import android.util.AttributeSet;
 import android.view.View;
 import android.widget.ImageButton;
 import android.widget.LinearLayout;
 
-import java.util.Calendar;
-import java.util.Date;
-
 import it.andreale.mdatetimepicker.DialogUtils;
 import it.andreale.mdatetimepicker.R;
 
 /**
  * Created by AndreAle94
  */
-public class DayPickerView extends LinearLayout implements MonthAdapter.AdapterController, View.OnClickListener, MonthPageAdapter.Controller {
+public class DayPickerView extends LinearLayout implements MonthPagerView.Controller, View.OnClickListener,
+        MonthPageAdapter.Controller, MonthPrefetcher.Controller {
 
     private DatePickerController mController;
 
-    private MonthAdapter mAdapter;
     private ImageButton mButtonBack;
     private ImageButton mButtonForward;
     private MonthPageAdapter mPageAdapter;
-    private ViewPager mViewPager;
+    private MonthPagerView mMonthPager;
+    private MonthPrefetcher mPrefetcher;
+
+    private int mTodayEpochDay;
+    private final BroadcastReceiver mClockReceiver = new BroadcastReceiver() {
+
+        @Override
+        public void onReceive(Context context, Intent intent) {
+            onTodayChanged();
+        }
+    };
 
     public DayPickerView(Context context) {
         super(context);
@@ -73,39 +83,70 @@ public class DayPickerView extends LinearLayout implements MonthAdapter.AdapterC
         mButtonBack = (ImageButton) findViewById(R.id.arrow_back);
         mButtonForward = (ImageButton) findViewById(R.id.arrow_forward);
         mPageAdapter = (MonthPageAdapter) findViewById(R.id.month_page_adapter);
-        mViewPager = (ViewPager) findViewById(R.id.month_view_pager);
+        mMonthPager = (MonthPagerView) findViewById(R.id.month_view_pager);
         // setup
         mButtonBack.setOnClickListener(this);
         mButtonForward.setOnClickListener(this);
+        mPageAdapter.setOnClickListener(this);
+        mTodayEpochDay = MonthGrid.getTodayEpochDay();
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        IntentFilter filter = new IntentFilter();
+        filter.addAction(Intent.ACTION_DATE_CHANGED);
+        filter.addAction(Intent.ACTION_TIME_CHANGED);
+        filter.addAction(Intent.ACTION_TIMEZONE_CHANGED);
+        getContext().registerReceiver(mClockReceiver, filter);
+        // the date may have changed while detached
+        onTodayChanged();
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        getContext().unregisterReceiver(mClockReceiver);
+        super.onDetachedFromWindow();
+    }
+
+    private void onTodayChanged() {
+        int todayEpochDay = MonthGrid.getTodayEpochDay();
+        if (todayEpochDay != mTodayEpochDay) {
+            mTodayEpochDay = todayEpochDay;
+            for (int i = 0; i < mMonthPager.getChildCount(); i++) {
+                ((MonthView) mMonthPager.getChildAt(i)).onTodayChanged();
+            }
+        }
     }
 
     public void registerController(DatePickerController controller) {
         mController = controller;
-        onDateChanged();
+        mPrefetcher = new MonthPrefetcher(this, mController.getPrefetchMonths(), mController.getPrefetchMemoryBudget());
+        mMonthPager.registerController(this, getSelectionPosition());
+        mPageAdapter.setMonthPager(this, mMonthPager);
+        refreshDirectionalButtons();
     }
 
     public void onDateChanged() {
         if (mController != null) {
-            createAdapter();
+            // repaint only the cells whose selection changed
+            for (int i = 0; i < mMonthPager.getChildCount(); i++) {
+                ((MonthView) mMonthPager.getChildAt(i)).onSelectionChanged();
+            }
             moveToSelection();
         }
     }
 
-    private void moveToSelection() {
-        // calculate selection position
+    private long getSelectionPosition() {
         int startYear = mController.getStartYear();
-        int year = mController.getSelectedDate().get(Calendar.YEAR);
-        int position = (year - startYear) * MonthAdapter.MONTH_IN_YEAR;
-        position += mController.getSelectedDate().get(Calendar.MONTH);
-        // move view pager
-        mViewPager.setCurrentItem(position);
-        refreshDirectionalButtons();
+        DateState dateState = mController.getDateState();
+        long position = (long) (dateState.getYear() - startYear) * MonthPagerView.MONTH_IN_YEAR;
+        return position + dateState.getMonth();
     }
 
-    private void createAdapter() {
-        mAdapter = new MonthAdapter(this);
-        mViewPager.setAdapter(mAdapter);
-        mPageAdapter.setViewPager(this, mViewPager);
+    private void moveToSelection() {
+        mMonthPager.setCurrentItem(getSelectionPosition(), false);
+        refreshDirectionalButtons();
     }
 
     @Override
@@ -133,6 +174,29 @@ public class DayPickerView extends LinearLayout implements MonthAdapter.AdapterC
         refreshDirectionalButtons();
     }
 
+    @Override
+    public void onPageScrolled(long position, float positionOffset) {
+        if (mPrefetcher != null) {
+            mPrefetcher.onPageScrolled(position, positionOffset, SystemClock.uptimeMillis());
+        }
+    }
+
+    @Override
+    public long getPageCount() {
+        return mMonthPager.getPageCount();
+    }
+
+    @Override
+    public int getPrefetchByteCount() {
+        return mMonthPager.getCurrentPage().getTileByteCount();
+    }
+
+    @Override
+    public void onPrefetch(long position) {
+        // pages share size and style, the current one can render the others
+        mMonthPager.getCurrentPage().prefetch(mMonthPager.getYear(position), mMonthPager.getMonth(position));
+    }
+
     @Override
     public int getMonthHeaderTextColor() {
         return mController.getMonthHeaderTextColor();
@@ -149,8 +213,13 @@ public class DayPickerView extends LinearLayout implements MonthAdapter.AdapterC
     }
 
     @Override
-    public Date getSelectedDate() {
-        return mController.getSelectedDate().getTime();
+    public int getSelectedEpochDay() {
+        return mController.getDateState().getEpochDay();
+    }
+
+    @Override
+    public int getTodayEpochDay() {
+        return mTodayEpochDay;
     }
 
     @Override
@@ -158,9 +227,19 @@ public class DayPickerView extends LinearLayout implements MonthAdapter.AdapterC
         mController.onDayClicked(day, month, year);
     }
 
+    @Override
+    public boolean isTileModeEnabled() {
+        return mController.isTileModeEnabled();
+    }
+
     @Override
     public void onClick(View v) {
-        int position = mViewPager.getCurrentItem();
+        long position = mMonthPager.getCurrentItem();
+        if (v == mPageAdapter) {
+            // zoom out to the months of the shown year
+            mController.onZoomRequested(DateHeaderView.MODE_MONTH_PICKER, mMonthPager.getYear(position));
+            return;
+        }
         if (v == mButtonBack) {
             if (canScrollBack()) {
                 position -= 1;
@@ -170,7 +249,7 @@ public class DayPickerView extends LinearLayout implements MonthAdapter.AdapterC
                 position += 1;
             }
         }
-        mViewPager.setCurrentItem(position, true);
+        mMonthPager.setCurrentItem(position, true);
     }
 
     private void refreshDirectionalButtons() {
@@ -181,10 +260,10 @@ public class DayPickerView extends LinearLayout implements MonthAdapter.AdapterC
     }
 
     private boolean canScrollBack() {
-        return mViewPager.getCurrentItem() > 0;
+        return mMonthPager.getCurrentItem() > 0;
     }
 
     private boolean canScrollForward() {
-        return (mViewPager.getCurrentItem() + 1) < mAdapter.getCount();
+        return (mMonthPager.getCurrentItem() + 1) < mMonthPager.getPageCount();
     }
 }
\ No newline at end of file
@@ -0,0 +1,131 @@
+/*
+ * ******************************************************************************
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 AndreAle94
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * *****************************************************************************
+ */
+package it.andreale.mdatetimepicker.date;
+
+import java.text.DateFormatSymbols;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Created by AndreAle94
+ *
+ * Process wide cache of the localized labels used by the date picker. The instance is
+ * rebuilt when the default locale changes, so labels must always be retrieved through
+ * {@link #getInstance()} instead of being kept across configuration changes.
+ */
+public final class LocaleSymbols {
+
+    private final static int DAY_OF_WEEK = 7;
+    private final static int MONTH_IN_YEAR = 12;
+    private final static int MAX_CACHED_TITLES = 48;
+
+    private static LocaleSymbols sInstance;
+
+    private final Locale mLocale;
+    private final String[] mMonthNames;
+    private final String[] mShortMonthNames;
+    private final String[] mWeekdayNames;
+    private final String[] mShortWeekdayNames;
+    private final String[][] mNarrowWeekdays;
+    private final LinkedHashMap<Integer, String> mPageTitles;
+
+    public static synchronized LocaleSymbols getInstance() {
+        Locale locale = Locale.getDefault();
+        if (sInstance == null || !sInstance.mLocale.equals(locale)) {
+            sInstance = new LocaleSymbols(locale);
+        }
+        return sInstance;
+    }
+
+    LocaleSymbols(Locale locale) {
+        mLocale = locale;
+        DateFormatSymbols symbols = new DateFormatSymbols(locale);
+        mMonthNames = symbols.getMonths();
+        mShortMonthNames = symbols.getShortMonths();
+        mWeekdayNames = symbols.getWeekdays();
+        mShortWeekdayNames = symbols.getShortWeekdays();
+        // index is the first day of week
+        mNarrowWeekdays = new String[DAY_OF_WEEK + 1][];
+        mPageTitles = new LinkedHashMap<Integer, String>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, String> eldest) {
+                return size() > MAX_CACHED_TITLES;
+            }
+        };
+    }
+
+    public Locale getLocale() {
+        return mLocale;
+    }
+
+    public String getMonthName(int month) {
+        return mMonthNames[month];
+    }
+
+    public String getShortMonthName(int month) {
+        return mShortMonthNames[month];
+    }
+
+    public String getWeekdayName(int dayOfWeek) {
+        return mWeekdayNames[dayOfWeek];
+    }
+
+    public String getShortWeekdayName(int dayOfWeek) {
+        return mShortWeekdayNames[dayOfWeek];
+    }
+
+    /**
+     * @return the one letter week day labels starting from the given first day of week.
+     * The returned array is shared and must not be modified.
+     */
+    public synchronized String[] getNarrowWeekdays(int firstDayOfWeek) {
+        String[] labels = mNarrowWeekdays[firstDayOfWeek];
+        if (labels == null) {
+            labels = new String[DAY_OF_WEEK];
+            for (int i = 0; i < DAY_OF_WEEK; i++) {
+                int dayOfWeek = (firstDayOfWeek - 1 + i) % DAY_OF_WEEK + 1;
+                labels[i] = mWeekdayNames[dayOfWeek].substring(0, 1).toUpperCase(mLocale);
+            }
+            mNarrowWeekdays[firstDayOfWeek] = labels;
+        }
+        return labels;
+    }
+
+    /**
+     * @return the "Month Year" title of the given month.
+     */
+    public synchronized String getPageTitle(int year, int month) {
+        Integer key = year * MONTH_IN_YEAR + month;
+        String title = mPageTitles.get(key);
+        if (title == null) {
+            title = mMonthNames[month] + " " + String.valueOf(year);
+            mPageTitles.put(key, title);
+        }
+        return title;
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * ******************************************************************************
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 AndreAle94
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * *****************************************************************************
+ */
+package it.andreale.mdatetimepicker.date;
+
+import java.util.TimeZone;
+
+/**
+ * Created by AndreAle94
+ *
+ * Pure arithmetic month layout: days are counted from 1970-01-01 (epoch day 0) on the
+ * proleptic gregorian calendar, months are 0-based and days of week use the same values
+ * of {@link java.util.Calendar#SUNDAY} ... {@link java.util.Calendar#SATURDAY}.
+ */
+public final class MonthGrid {
+
+    public final static int EMPTY_DAY = 0;
+    public final static int DAYS_IN_WEEK = 7;
+    public final static int MAX_WEEKS_IN_MONTH = 6;
+    public final static int CELL_COUNT = DAYS_IN_WEEK * MAX_WEEKS_IN_MONTH;
+
+    private final static int SUNDAY = 1;
+    private final static long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+    private final static int DAYS_PER_ERA = 146097;
+    private final static int DAYS_0000_TO_1970 = 719468;
+    private final static int[] DAYS_IN_MONTH = {31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
+    private MonthGrid() {
+        // no instances
+    }
+
+    public static boolean isLeapYear(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    public static int getDaysInMonth(int year, int month) {
+        if (month == 1 && isLeapYear(year)) {
+            return 29;
+        }
+        return DAYS_IN_MONTH[month];
+    }
+
+    public static int toEpochDay(int year, int month, int day) {
+        // shift the year to start in march so that february is the last month
+        int m = month + 1;
+        int y = m <= 2 ? year - 1 : year;
+        int era = (y >= 0 ? y : y - 399) / 400;
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (m > 2 ? m - 3 : m + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * DAYS_PER_ERA + dayOfEra - DAYS_0000_TO_1970;
+    }
+
+    /**
+     * Inverse of {@link #toEpochDay(int, int, int)}.
+     *
+     * @param date receives the year, the 0-based month and the day, in this order.
+     */
+    public static void toDate(int epochDay, int[] date) {
+        // years start in march, as in toEpochDay
+        int shifted = epochDay + DAYS_0000_TO_1970;
+        int era = (shifted >= 0 ? shifted : shifted - DAYS_PER_ERA + 1) / DAYS_PER_ERA;
+        int dayOfEra = shifted - era * DAYS_PER_ERA;
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / (DAYS_PER_ERA - 1)) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int month = shiftedMonth < 10 ? shiftedMonth + 2 : shiftedMonth - 10;
+        date[0] = yearOfEra + era * 400 + (month <= 1 ? 1 : 0);
+        date[1] = month;
+        date[2] = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+    }
+
+    /**
+     * @return the epoch day of the given instant in the given time zone.
+     */
+    public static int toEpochDay(long millis, TimeZone timeZone) {
+        long localMillis = millis + timeZone.getOffset(millis);
+        long epochDay = localMillis / MILLIS_PER_DAY;
+        if (localMillis % MILLIS_PER_DAY < 0) {
+            epochDay -= 1;
+        }
+        return (int) epochDay;
+    }
+
+    public static int getTodayEpochDay() {
+        return toEpochDay(System.currentTimeMillis(), TimeZone.getDefault());
+    }
+
+    public static int getDayOfWeek(int epochDay) {
+        // 1970-01-01 was a thursday
+        int index = (epochDay + 4) % DAYS_IN_WEEK;
+        if (index < 0) {
+            index += DAYS_IN_WEEK;
+        }
+        return index + SUNDAY;
+    }
+
+    /**
+     * @return the column (0 - 6) of the first day of the month for the given first day of week.
+     */
+    public static int getFirstDayColumn(int year, int month, int firstDayOfWeek) {
+        int dayOfWeek = getDayOfWeek(toEpochDay(year, month, 1));
+        return (dayOfWeek - firstDayOfWeek + DAYS_IN_WEEK) % DAYS_IN_WEEK;
+    }
+
+    /**
+     * Fill the given array with the {@link #CELL_COUNT} cells of the month, row by row.
+     * Cells outside of the month are set to {@link #EMPTY_DAY}.
+     */
+    public static void fill(int year, int month, int firstDayOfWeek, int[] cells) {
+        int skip = getFirstDayColumn(year, month, firstDayOfWeek);
+        int lastDay = skip + getDaysInMonth(year, month);
+        for (int i = 0; i < CELL_COUNT; i++) {
+            cells[i] = (i < skip || i >= lastDay) ? EMPTY_DAY : i - skip + 1;
+        }
+    }
+}
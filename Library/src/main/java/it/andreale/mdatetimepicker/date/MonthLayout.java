@@ -0,0 +1,91 @@
+/*
+ * ******************************************************************************
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 AndreAle94
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * *****************************************************************************
+ */
+package it.andreale.mdatetimepicker.date;
+
+/**
+ * Created by AndreAle94
+ *
+ * Immutable layout of a single month, see {@link MonthGrid} for the cell arrangement.
+ */
+public final class MonthLayout {
+
+    private final int mYear;
+    private final int mMonth;
+    private final int mFirstDayOfWeek;
+    private final int mFirstDayColumn;
+    private final int mDaysInMonth;
+    private final int mFirstEpochDay;
+    private final int[] mCells;
+
+    MonthLayout(int year, int month, int firstDayOfWeek) {
+        mYear = year;
+        mMonth = month;
+        mFirstDayOfWeek = firstDayOfWeek;
+        mFirstDayColumn = MonthGrid.getFirstDayColumn(year, month, firstDayOfWeek);
+        mDaysInMonth = MonthGrid.getDaysInMonth(year, month);
+        mFirstEpochDay = MonthGrid.toEpochDay(year, month, 1);
+        mCells = new int[MonthGrid.CELL_COUNT];
+        MonthGrid.fill(year, month, firstDayOfWeek, mCells);
+    }
+
+    public int getYear() {
+        return mYear;
+    }
+
+    public int getMonth() {
+        return mMonth;
+    }
+
+    public int getFirstDayOfWeek() {
+        return mFirstDayOfWeek;
+    }
+
+    public int getFirstDayColumn() {
+        return mFirstDayColumn;
+    }
+
+    public int getDaysInMonth() {
+        return mDaysInMonth;
+    }
+
+    public int getFirstEpochDay() {
+        return mFirstEpochDay;
+    }
+
+    /**
+     * @return the day of month shown in the given cell or {@link MonthGrid#EMPTY_DAY}.
+     */
+    public int getDay(int cell) {
+        return mCells[cell];
+    }
+
+    /**
+     * @return the cell that shows the given day of month.
+     */
+    public int getCell(int day) {
+        return mFirstDayColumn + day - 1;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * ******************************************************************************
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 AndreAle94
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * *****************************************************************************
+ */
+package it.andreale.mdatetimepicker.date;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Created by AndreAle94
+ *
+ * Process wide, thread safe LRU cache of {@link MonthLayout} shared by every month page
+ * of every date picker.
+ */
+public final class MonthLayoutCache {
+
+    private final static int DEFAULT_MAX_SIZE = 48;
+
+    private static MonthLayoutCache sInstance;
+
+    private final LinkedHashMap<Long, MonthLayout> mLayouts;
+    private int mMaxSize;
+    private long mHitCount;
+    private long mMissCount;
+
+    public static synchronized MonthLayoutCache getInstance() {
+        if (sInstance == null) {
+            sInstance = new MonthLayoutCache(DEFAULT_MAX_SIZE);
+        }
+        return sInstance;
+    }
+
+    MonthLayoutCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be greater than zero");
+        }
+        mMaxSize = maxSize;
+        mLayouts = new LinkedHashMap<Long, MonthLayout>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, MonthLayout> eldest) {
+                return size() > mMaxSize;
+            }
+        };
+    }
+
+    private static long getKey(int year, int month, int firstDayOfWeek) {
+        return ((long) year << 8) | (month << 3) | firstDayOfWeek;
+    }
+
+    public synchronized MonthLayout get(int year, int month, int firstDayOfWeek) {
+        Long key = getKey(year, month, firstDayOfWeek);
+        MonthLayout layout = mLayouts.get(key);
+        if (layout != null) {
+            mHitCount++;
+            return layout;
+        }
+        mMissCount++;
+        layout = new MonthLayout(year, month, firstDayOfWeek);
+        mLayouts.put(key, layout);
+        return layout;
+    }
+
+    public synchronized void resize(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be greater than zero");
+        }
+        mMaxSize = maxSize;
+        while (mLayouts.size() > mMaxSize) {
+            Long eldest = mLayouts.keySet().iterator().next();
+            mLayouts.remove(eldest);
+        }
+    }
+
+    public synchronized void evictAll() {
+        mLayouts.clear();
+    }
+
+    public synchronized int size() {
+        return mLayouts.size();
+    }
+
+    public synchronized int maxSize() {
+        return mMaxSize;
+    }
+
+    public synchronized long hitCount() {
+        return mHitCount;
+    }
+
+    public synchronized long missCount() {
+        return mMissCount;
+    }
+
+    @Override
+    public synchronized String toString() {
+        long accesses = mHitCount + mMissCount;
+        int hitPercent = accesses != 0 ? (int) (100 * mHitCount / accesses) : 0;
+        return "MonthLayoutCache[maxSize=" + mMaxSize + ",hits=" + mHitCount + ",misses=" + mMissCount + ",hitRate=" + hitPercent + "%]";
+    }
+}
@@ -29,25 +29,22 @@ import android.content.Context;
 import android.graphics.Canvas;
 import android.graphics.Paint;
 import android.graphics.Rect;
-import android.support.v4.view.PagerAdapter;
-import android.support.v4.view.ViewPager;
 import android.util.AttributeSet;
 import android.view.View;
 
 /**
  * Created by AndreAle94
  */
-public class MonthPageAdapter extends View implements ViewPager.OnPageChangeListener {
+public class MonthPageAdapter extends View implements MonthPagerView.OnPageChangeListener,
+        MonthTitleStrip.TitleProvider {
 
     private Controller mController;
-    private ViewPager mViewPager;
+    private MonthPagerView mMonthPager;
 
     private Paint mPaint;
     private Rect mRect;
 
-    private int mCurrentPosition;
-    private int mLastPosition;
-    private float mOffset;
+    private MonthTitleStrip mTitleStrip;
 
     public MonthPageAdapter(Context context) {
         super(context);
@@ -68,38 +65,56 @@ public class MonthPageAdapter extends View implements ViewPager.OnPageChangeList
         mPaint = new Paint();
         mPaint.setAntiAlias(true);
         mRect = new Rect();
+        mTitleStrip = new MonthTitleStrip(this);
     }
 
-    public void setViewPager(Controller controller, ViewPager viewPager) {
+    public void setMonthPager(Controller controller, MonthPagerView monthPager) {
         mController = controller;
-        mViewPager = viewPager;
-        mViewPager.addOnPageChangeListener(this);
+        if (mMonthPager != monthPager) {
+            if (mMonthPager != null) {
+                mMonthPager.setOnPageChangeListener(null);
+            }
+            mMonthPager = monthPager;
+            mMonthPager.setOnPageChangeListener(this);
+        }
         mPaint.setColor(mController.getMonthHeaderTextColor());
+        mTitleStrip.invalidate();
+        invalidate();
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        mPaint.setTextSize(h / 3);
+        // titles must be measured again
+        mTitleStrip.invalidate();
     }
 
     @Override
-    public void onPageScrolled(int position, float positionOffset, int positionOffsetPixels) {
-        mCurrentPosition = position;
-        mOffset = positionOffset;
+    public void onPageScrolled(long position, float positionOffset) {
+        mTitleStrip.setScroll(position, positionOffset);
         invalidate();
+        mController.onPageScrolled(position, positionOffset);
     }
 
     @Override
-    public void onPageSelected(int position) {
-        mLastPosition = position;
+    public void onPageSelected(long position) {
+        mTitleStrip.setSelectedPosition(position);
         mController.onPageChanged();
     }
 
     @Override
-    public void onPageScrollStateChanged(int state) {
-
+    public CharSequence getPageTitle(long position) {
+        return mMonthPager.getPageTitle(position);
     }
 
-    private float getTextWidth(String text) {
+    @Override
+    public float getTextWidth(String text) {
         return mPaint.measureText(text);
     }
 
-    private float getTextHeight(String text) {
+    @Override
+    public float getTextHeight(String text) {
         mPaint.getTextBounds(text, 0, text.length(), mRect);
         return mRect.height();
     }
@@ -114,58 +129,35 @@ public class MonthPageAdapter extends View implements ViewPager.OnPageChangeList
             // skip drawing
             return;
         }
-        if (mViewPager == null) {
+        if (mMonthPager == null) {
             // skip drawing
             return;
         }
-        PagerAdapter adapter = mViewPager.getAdapter();
-        if (adapter == null) {
-            // skip drawing
-            return;
+        if (!mTitleStrip.isValid()) {
+            mTitleStrip.setSelectedPosition(mMonthPager.getCurrentItem());
         }
-        // set text size
-        mPaint.setTextSize(height / 3);
-        // get previous, current and next text
-        CharSequence previous = adapter.getPageTitle(mLastPosition - 1);
-        CharSequence current = adapter.getPageTitle(mLastPosition);
-        CharSequence next = adapter.getPageTitle(mLastPosition + 1);
         // calculate view center
         float x = width / 2;
         float y = height / 2;
-        float internalOffset = 0;
-        if (mCurrentPosition < mLastPosition) {
-            internalOffset = (1f - mOffset) * width;
-        } else if (mCurrentPosition >= mLastPosition) {
-            internalOffset = mOffset * -width;
-        }
-        // draw first text
-        if (previous != null) {
-            float cx = x - width + internalOffset;
-            drawText(previous, cx, y, c);
-        }
-        // draw first text
-        if (current != null) {
-            float cx = x + internalOffset;
-            drawText(current, cx, y, c);
+        float translation = mTitleStrip.getTranslation(width);
+        // draw previous, current and next title
+        for (int i = MonthTitleStrip.PREVIOUS; i <= MonthTitleStrip.NEXT; i++) {
+            String title = mTitleStrip.getTitle(i);
+            if (title != null) {
+                float cx = x + (i - MonthTitleStrip.CURRENT) * width + translation;
+                float textX = cx - mTitleStrip.getTitleWidth(i) / 2;
+                float textY = y + mTitleStrip.getTitleHeight(i) / 2;
+                c.drawText(title, textX, textY, mPaint);
+            }
         }
-        // draw first text
-        if (next != null) {
-            float cx = x + width + internalOffset;
-            drawText(next, cx, y, c);
-        }
-    }
-
-    protected void drawText(CharSequence text, float x, float y, Canvas c) {
-        String string = String.valueOf(text);
-        float textX = x - (getTextWidth(string) / 2);
-        float textY = y + (getTextHeight(string) / 2);
-        c.drawText(string, textX, textY, mPaint);
     }
 
     public interface Controller {
 
         void onPageChanged();
 
+        void onPageScrolled(long position, float positionOffset);
+
         int getMonthHeaderTextColor();
     }
 }
@@ -0,0 +1,488 @@
+/*
+ * ******************************************************************************
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 AndreAle94
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * *****************************************************************************
+ */
+package it.andreale.mdatetimepicker.date;
+
+import android.content.Context;
+import android.graphics.Color;
+import android.support.v4.view.ViewCompat;
+import android.util.AttributeSet;
+import android.view.MotionEvent;
+import android.view.VelocityTracker;
+import android.view.View;
+import android.view.ViewConfiguration;
+import android.view.ViewGroup;
+import android.view.ViewParent;
+import android.widget.Scroller;
+
+import java.util.Calendar;
+
+/**
+ * Created by AndreAle94
+ *
+ * Horizontal month pager that recycles exactly three {@link MonthView} (previous, current and
+ * next month) and moves them with a translation while dragging. Months are addressed by a
+ * virtual position counted from january of the start year, so the cost does not depend on the
+ * size of the year range.
+ */
+public class MonthPagerView extends ViewGroup implements MonthView.MonthController {
+
+    public final static int MONTH_IN_YEAR = 12;
+
+    private final static int PAGE_COUNT = 3;
+    private final static int MAX_SETTLE_DURATION = 300;
+    private final static int MIN_FLING_VELOCITY = 400; // dp per second
+
+    private Controller mController;
+    private OnPageChangeListener mListener;
+
+    // previous, current and next page
+    private final MonthView[] mPages = new MonthView[PAGE_COUNT];
+    private long mCurrentPosition;
+    private float mScroll;
+
+    private Scroller mScroller;
+    private VelocityTracker mVelocityTracker;
+    private int mTouchSlop;
+    private int mMinFlingVelocity;
+    private int mMaxFlingVelocity;
+    private float mDownX;
+    private float mDownY;
+    private float mLastX;
+    private boolean mDragging;
+
+    public MonthPagerView(Context context) {
+        super(context);
+        initialize();
+    }
+
+    public MonthPagerView(Context context, AttributeSet attrs) {
+        super(context, attrs);
+        initialize();
+    }
+
+    public MonthPagerView(Context context, AttributeSet attrs, int defStyleAttr) {
+        super(context, attrs, defStyleAttr);
+        initialize();
+    }
+
+    private void initialize() {
+        for (int i = 0; i < PAGE_COUNT; i++) {
+            mPages[i] = new MonthView(getContext());
+            addView(mPages[i]);
+        }
+        ViewConfiguration configuration = ViewConfiguration.get(getContext());
+        float density = getResources().getDisplayMetrics().density;
+        mTouchSlop = configuration.getScaledPagingTouchSlop();
+        mMinFlingVelocity = (int) (MIN_FLING_VELOCITY * density);
+        mMaxFlingVelocity = configuration.getScaledMaximumFlingVelocity();
+        mScroller = new Scroller(getContext());
+    }
+
+    public void registerController(Controller controller, long position) {
+        mController = controller;
+        mScroller.abortAnimation();
+        mCurrentPosition = Math.max(0, Math.min(position, getPageCount() - 1));
+        mScroll = 0;
+        bindPages();
+    }
+
+    public void setOnPageChangeListener(OnPageChangeListener listener) {
+        mListener = listener;
+    }
+
+    public long getPageCount() {
+        if (mController == null) {
+            return 0;
+        }
+        long startYear = mController.getStartYear();
+        long endYear = mController.getEndYear() + 1;
+        return (endYear - startYear) * MONTH_IN_YEAR;
+    }
+
+    public long getCurrentItem() {
+        return mCurrentPosition;
+    }
+
+    public int getYear(long position) {
+        return (int) (mController.getStartYear() + position / MONTH_IN_YEAR);
+    }
+
+    public int getMonth(long position) {
+        return (int) (position % MONTH_IN_YEAR);
+    }
+
+    public CharSequence getPageTitle(long position) {
+        if (position < 0 || position >= getPageCount()) {
+            return null;
+        }
+        return LocaleSymbols.getInstance().getPageTitle(getYear(position), getMonth(position));
+    }
+
+    /**
+     * @return the page showing the current month.
+     */
+    public MonthView getCurrentPage() {
+        return mPages[1];
+    }
+
+    public void setCurrentItem(long position, boolean smoothScroll) {
+        if (mController == null) {
+            return;
+        }
+        position = Math.max(0, Math.min(position, getPageCount() - 1));
+        long delta = position - mCurrentPosition;
+        if (smoothScroll && Math.abs(delta) == 1) {
+            settle((int) delta);
+            return;
+        }
+        if (delta == 0 && mScroll == 0) {
+            return;
+        }
+        mScroller.abortAnimation();
+        mCurrentPosition = position;
+        mScroll = 0;
+        bindPages();
+        dispatchPageSelected();
+    }
+
+    private void bindPages() {
+        for (int i = 0; i < PAGE_COUNT; i++) {
+            bindPage(mPages[i], mCurrentPosition + i - 1);
+        }
+        updateTranslation();
+    }
+
+    private void bindPage(MonthView page, long position) {
+        if (position >= 0 && position < getPageCount()) {
+            page.registerController(getYear(position), getMonth(position), this);
+            page.setVisibility(VISIBLE);
+        } else {
+            page.unregisterController();
+            page.setVisibility(INVISIBLE);
+        }
+    }
+
+    private void shift(int direction) {
+        mCurrentPosition += direction;
+        if (direction > 0) {
+            MonthView recycled = mPages[0];
+            mPages[0] = mPages[1];
+            mPages[1] = mPages[2];
+            mPages[2] = recycled;
+            bindPage(recycled, mCurrentPosition + 1);
+        } else {
+            MonthView recycled = mPages[2];
+            mPages[2] = mPages[1];
+            mPages[1] = mPages[0];
+            mPages[0] = recycled;
+            bindPage(recycled, mCurrentPosition - 1);
+        }
+        mScroll -= direction * getWidth();
+        dispatchPageSelected();
+    }
+
+    private void setScroll(float scroll) {
+        int width = getWidth();
+        if (width == 0) {
+            return;
+        }
+        // no pages before the first and after the last position
+        float min = mCurrentPosition > 0 ? -width : 0;
+        float max = mCurrentPosition < getPageCount() - 1 ? width : 0;
+        mScroll = Math.max(min, Math.min(scroll, max));
+        if (mScroll >= width) {
+            shift(1);
+        } else if (mScroll <= -width) {
+            shift(-1);
+        }
+        updateTranslation();
+        dispatchPageScrolled();
+    }
+
+    private void updateTranslation() {
+        int width = getWidth();
+        for (int i = 0; i < PAGE_COUNT; i++) {
+            mPages[i].setTranslationX((i - 1) * width - mScroll);
+        }
+    }
+
+    private void settle(int direction) {
+        int width = getWidth();
+        if (width == 0) {
+            // not laid out yet, just move
+            setCurrentItem(mCurrentPosition + direction, false);
+            return;
+        }
+        if (mCurrentPosition + direction < 0 || mCurrentPosition + direction >= getPageCount()) {
+            direction = 0;
+        }
+        int start = (int) mScroll;
+        int distance = direction * width - start;
+        int duration = (int) (MAX_SETTLE_DURATION * Math.min(1f, (float) Math.abs(distance) / width));
+        mScroller.startScroll(start, 0, distance, 0, duration);
+        ViewCompat.postInvalidateOnAnimation(this);
+    }
+
+    @Override
+    public void computeScroll() {
+        if (!mScroller.isFinished() && mScroller.computeScrollOffset()) {
+            setScroll(mScroller.getCurrX());
+            if (!mScroller.isFinished()) {
+                ViewCompat.postInvalidateOnAnimation(this);
+            }
+        }
+    }
+
+    private void dispatchPageScrolled() {
+        if (mListener != null) {
+            int width = getWidth();
+            float offset = width != 0 ? mScroll / width : 0;
+            if (offset >= 0) {
+                mListener.onPageScrolled(mCurrentPosition, offset);
+            } else {
+                mListener.onPageScrolled(mCurrentPosition - 1, 1 + offset);
+            }
+        }
+    }
+
+    private void dispatchPageSelected() {
+        if (mListener != null) {
+            mListener.onPageSelected(mCurrentPosition);
+            dispatchPageScrolled();
+        }
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int width = getDefaultSize(getSuggestedMinimumWidth(), widthMeasureSpec);
+        int height = getDefaultSize(getSuggestedMinimumHeight(), heightMeasureSpec);
+        setMeasuredDimension(width, height);
+        int childWidthSpec = MeasureSpec.makeMeasureSpec(width, MeasureSpec.EXACTLY);
+        int childHeightSpec = MeasureSpec.makeMeasureSpec(height, MeasureSpec.EXACTLY);
+        for (int i = 0; i < PAGE_COUNT; i++) {
+            mPages[i].measure(childWidthSpec, childHeightSpec);
+        }
+    }
+
+    @Override
+    protected void onLayout(boolean changed, int l, int t, int r, int b) {
+        for (int i = 0; i < PAGE_COUNT; i++) {
+            mPages[i].layout(0, 0, r - l, b - t);
+        }
+        updateTranslation();
+    }
+
+    @Override
+    public boolean onInterceptTouchEvent(MotionEvent event) {
+        switch (event.getActionMasked()) {
+            case MotionEvent.ACTION_DOWN:
+                mDownX = mLastX = event.getX();
+                mDownY = event.getY();
+                // catch the pages while settling
+                mDragging = !mScroller.isFinished();
+                mScroller.abortAnimation();
+                trackVelocity(event);
+                break;
+            case MotionEvent.ACTION_MOVE:
+                trackVelocity(event);
+                checkDragStart(event);
+                break;
+            case MotionEvent.ACTION_UP:
+            case MotionEvent.ACTION_CANCEL:
+                if (mDragging) {
+                    onDragEnd(event.getActionMasked() == MotionEvent.ACTION_CANCEL);
+                }
+                break;
+        }
+        return mDragging;
+    }
+
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        trackVelocity(event);
+        switch (event.getActionMasked()) {
+            case MotionEvent.ACTION_DOWN:
+                mDownX = mLastX = event.getX();
+                mDownY = event.getY();
+                mScroller.abortAnimation();
+                break;
+            case MotionEvent.ACTION_MOVE:
+                if (!mDragging) {
+                    checkDragStart(event);
+                }
+                if (mDragging) {
+                    float x = event.getX();
+                    setScroll(mScroll + mLastX - x);
+                    mLastX = x;
+                }
+                break;
+            case MotionEvent.ACTION_UP:
+            case MotionEvent.ACTION_CANCEL:
+                onDragEnd(event.getActionMasked() == MotionEvent.ACTION_CANCEL);
+                break;
+        }
+        return true;
+    }
+
+    private void checkDragStart(MotionEvent event) {
+        float dx = Math.abs(event.getX() - mDownX);
+        float dy = Math.abs(event.getY() - mDownY);
+        if (dx > mTouchSlop && dx > dy) {
+            mDragging = true;
+            mLastX = event.getX();
+            ViewParent parent = getParent();
+            if (parent != null) {
+                parent.requestDisallowInterceptTouchEvent(true);
+            }
+        }
+    }
+
+    private void trackVelocity(MotionEvent event) {
+        if (mVelocityTracker == null) {
+            mVelocityTracker = VelocityTracker.obtain();
+        }
+        mVelocityTracker.addMovement(event);
+    }
+
+    private void onDragEnd(boolean canceled) {
+        int direction = 0;
+        if (!canceled && mVelocityTracker != null) {
+            mVelocityTracker.computeCurrentVelocity(1000, mMaxFlingVelocity);
+            float velocity = mVelocityTracker.getXVelocity();
+            int width = getWidth();
+            if (velocity < -mMinFlingVelocity) {
+                direction = mScroll >= 0 ? 1 : 0;
+            } else if (velocity > mMinFlingVelocity) {
+                direction = mScroll <= 0 ? -1 : 0;
+            } else if (mScroll > width / 2) {
+                direction = 1;
+            } else if (mScroll < -width / 2) {
+                direction = -1;
+            }
+        }
+        if (mVelocityTracker != null) {
+            mVelocityTracker.recycle();
+            mVelocityTracker = null;
+        }
+        mDragging = false;
+        settle(direction);
+    }
+
+    @Override
+    public int getFirstDayOfWeek() {
+        return mController.getFirstDayOfWeek();
+    }
+
+    @Override
+    public int getSelectedEpochDay() {
+        return mController.getSelectedEpochDay();
+    }
+
+    @Override
+    public int getTodayEpochDay() {
+        return mController.getTodayEpochDay();
+    }
+
+    @Override
+    public int getMinEpochDay() {
+        return MonthGrid.toEpochDay(mController.getStartYear(), Calendar.JANUARY, 1);
+    }
+
+    @Override
+    public int getMaxEpochDay() {
+        return MonthGrid.toEpochDay(mController.getEndYear(), Calendar.DECEMBER, 31);
+    }
+
+    @Override
+    public int getWeekDayColor() {
+        int textColor = mController.getTextColor();
+        return Color.argb(127, Color.red(textColor), Color.green(textColor), Color.blue(textColor));
+    }
+
+    @Override
+    public int getTodayTextColor() {
+        return mController.getTodayColor();
+    }
+
+    @Override
+    public int getSelectionColor() {
+        return mController.getSelectionColor();
+    }
+
+    @Override
+    public int getSelectedTextColor() {
+        return Color.WHITE;
+    }
+
+    @Override
+    public int getStandardTextColor() {
+        return mController.getTextColor();
+    }
+
+    @Override
+    public void onDayClicked(int day, int month, int year) {
+        mController.onDayClicked(day, month, year);
+    }
+
+    @Override
+    public boolean isTileModeEnabled() {
+        return mController.isTileModeEnabled();
+    }
+
+    public interface Controller {
+
+        int getStartYear();
+
+        int getEndYear();
+
+        int getFirstDayOfWeek();
+
+        int getSelectionColor();
+
+        int getTextColor();
+
+        int getTodayColor();
+
+        int getSelectedEpochDay();
+
+        int getTodayEpochDay();
+
+        void onDayClicked(int day, int month, int year);
+
+        boolean isTileModeEnabled();
+    }
+
+    public interface OnPageChangeListener {
+
+        /**
+         * @param position first visible position.
+         * @param offset   visible fraction of the following position.
+         */
+        void onPageScrolled(long position, float offset);
+
+        void onPageSelected(long position);
+    }
+}
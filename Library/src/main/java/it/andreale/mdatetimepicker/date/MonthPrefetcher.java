@@ -0,0 +1,129 @@
+/*
+ * ******************************************************************************
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 AndreAle94
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * *****************************************************************************
+ */
+package it.andreale.mdatetimepicker.date;
+
+/**
+ * Created by AndreAle94
+ *
+ * Follows the month pager scroll and asks the controller to prepare the months that are
+ * about to be shown, further ahead the faster the user swipes.
+ */
+public class MonthPrefetcher {
+
+    public final static int DEFAULT_PREFETCH_MONTHS = 3;
+    public final static int DEFAULT_MEMORY_BUDGET = 4 * 1024 * 1024;
+
+    // samples further apart belong to different gestures
+    private final static long MAX_SAMPLE_INTERVAL = 100;
+    // pages per second that justify one more prefetched month
+    private final static float PAGES_PER_SECOND_STEP = 2f;
+
+    private final Controller mController;
+    private int mMaxMonths;
+    private int mMemoryBudget;
+
+    private long mLastPosition;
+    private float mLastOffset;
+    private long mLastTime;
+    private float mVelocity;
+    private int mDirection;
+    private long mPrefetchedUntil;
+
+    public MonthPrefetcher(Controller controller, int maxMonths, int memoryBudget) {
+        mController = controller;
+        mMaxMonths = maxMonths;
+        mMemoryBudget = memoryBudget;
+        reset();
+    }
+
+    public void reset() {
+        mLastTime = -1;
+        mVelocity = 0;
+        mDirection = 0;
+    }
+
+    /**
+     * @param position    first visible page, as reported by the month pager.
+     * @param offset      visible fraction of the following page.
+     * @param timeMillis  uptime of the scroll event.
+     */
+    public void onPageScrolled(long position, float offset, long timeMillis) {
+        long interval = timeMillis - mLastTime;
+        if (mLastTime < 0 || interval > MAX_SAMPLE_INTERVAL) {
+            // new gesture
+            mVelocity = 0;
+        } else if (interval > 0) {
+            float delta = (position - mLastPosition) + (offset - mLastOffset);
+            float velocity = delta * 1000f / interval;
+            // smooth out the noise of single frames
+            mVelocity = (mVelocity + velocity) / 2;
+        }
+        mLastPosition = position;
+        mLastOffset = offset;
+        mLastTime = timeMillis;
+        int direction = mVelocity > 0 ? 1 : mVelocity < 0 ? -1 : 0;
+        if (direction == 0) {
+            return;
+        }
+        // page that is coming into view
+        long current = direction > 0 ? position + 1 : position;
+        long prefetched = (mPrefetchedUntil - current) * direction;
+        if (direction != mDirection || prefetched < 0 || prefetched > mMaxMonths) {
+            // direction changed or the pager jumped elsewhere
+            mDirection = direction;
+            mPrefetchedUntil = current;
+        }
+        long last = current + direction * getMonthsAhead();
+        long count = mController.getPageCount();
+        while ((last - mPrefetchedUntil) * direction > 0) {
+            mPrefetchedUntil += direction;
+            if (mPrefetchedUntil >= 0 && mPrefetchedUntil < count) {
+                mController.onPrefetch(mPrefetchedUntil);
+            }
+        }
+    }
+
+    private int getMonthsAhead() {
+        int months = 1 + (int) (Math.abs(mVelocity) / PAGES_PER_SECOND_STEP);
+        int tileBytes = mController.getPrefetchByteCount();
+        if (tileBytes > 0) {
+            months = Math.min(months, mMemoryBudget / tileBytes);
+        }
+        return Math.min(months, mMaxMonths);
+    }
+
+    public interface Controller {
+
+        long getPageCount();
+
+        /**
+         * @return the memory needed to prefetch a single page.
+         */
+        int getPrefetchByteCount();
+
+        void onPrefetch(long position);
+    }
+}
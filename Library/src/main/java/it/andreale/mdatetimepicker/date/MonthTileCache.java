@@ -0,0 +1,199 @@
+/*
+ * ******************************************************************************
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 AndreAle94
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * *****************************************************************************
+ */
+package it.andreale.mdatetimepicker.date;
+
+import android.graphics.Bitmap;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+import android.util.LruCache;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Created by AndreAle94
+ *
+ * Process wide, memory bounded pool of pre rendered month tiles. Tiles are rendered on a
+ * single background thread and delivered on the main thread.
+ */
+public final class MonthTileCache {
+
+    private final static int MAX_CACHE_BYTES = 16 * 1024 * 1024;
+
+    private static MonthTileCache sInstance;
+
+    private final LruCache<String, Bitmap> mTiles;
+    private final HashMap<String, ArrayList<Callback>> mPending;
+    private final ExecutorService mExecutor;
+    private final Handler mHandler;
+
+    public static synchronized MonthTileCache getInstance() {
+        if (sInstance == null) {
+            int maxBytes = (int) Math.min(Runtime.getRuntime().maxMemory() / 8, MAX_CACHE_BYTES);
+            sInstance = new MonthTileCache(maxBytes);
+        }
+        return sInstance;
+    }
+
+    private MonthTileCache(int maxBytes) {
+        mTiles = new LruCache<String, Bitmap>(maxBytes) {
+
+            @Override
+            protected int sizeOf(String key, Bitmap tile) {
+                return tile.getRowBytes() * tile.getHeight();
+            }
+        };
+        mPending = new HashMap<String, ArrayList<Callback>>();
+        mExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+
+            @Override
+            public Thread newThread(final Runnable runnable) {
+                Thread thread = new Thread(new Runnable() {
+
+                    @Override
+                    public void run() {
+                        Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                        runnable.run();
+                    }
+                }, "MonthTileRenderer");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        mHandler = new Handler(Looper.getMainLooper());
+    }
+
+    public Bitmap get(String key) {
+        return mTiles.get(key);
+    }
+
+    /**
+     * Render a tile in background unless it is already cached or in progress. Must be called
+     * from the main thread, the optional callback is invoked on the main thread.
+     */
+    public void request(final String key, final Renderer renderer, Callback callback) {
+        Bitmap tile = mTiles.get(key);
+        if (tile != null) {
+            if (callback != null) {
+                callback.onTileReady(key, tile);
+            }
+            return;
+        }
+        ArrayList<Callback> callbacks = mPending.get(key);
+        if (callbacks != null) {
+            if (callback != null && !callbacks.contains(callback)) {
+                callbacks.add(callback);
+            }
+            return;
+        }
+        callbacks = new ArrayList<Callback>(1);
+        if (callback != null) {
+            callbacks.add(callback);
+        }
+        mPending.put(key, callbacks);
+        mExecutor.execute(new Runnable() {
+
+            @Override
+            public void run() {
+                final Bitmap tile = renderer.render();
+                mHandler.post(new Runnable() {
+
+                    @Override
+                    public void run() {
+                        onTileRendered(key, tile);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Run a task on the tile thread, after the tiles already requested.
+     */
+    public void execute(Runnable task) {
+        mExecutor.execute(task);
+    }
+
+    /**
+     * Stop delivering the given tile to the callback, the tile is still cached once ready.
+     */
+    public void cancel(String key, Callback callback) {
+        ArrayList<Callback> callbacks = mPending.get(key);
+        if (callbacks != null) {
+            callbacks.remove(callback);
+        }
+    }
+
+    private void onTileRendered(String key, Bitmap tile) {
+        ArrayList<Callback> callbacks = mPending.remove(key);
+        if (tile == null) {
+            return;
+        }
+        mTiles.put(key, tile);
+        if (callbacks != null) {
+            for (int i = 0; i < callbacks.size(); i++) {
+                callbacks.get(i).onTileReady(key, tile);
+            }
+        }
+    }
+
+    public void evictAll() {
+        mTiles.evictAll();
+    }
+
+    public int size() {
+        return mTiles.size();
+    }
+
+    public int maxSize() {
+        return mTiles.maxSize();
+    }
+
+    public int hitCount() {
+        return mTiles.hitCount();
+    }
+
+    public int missCount() {
+        return mTiles.missCount();
+    }
+
+    public interface Renderer {
+
+        /**
+         * Called on the background thread.
+         */
+        Bitmap render();
+    }
+
+    public interface Callback {
+
+        void onTileReady(String key, Bitmap tile);
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * ******************************************************************************
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 AndreAle94
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * *****************************************************************************
+ */
+package it.andreale.mdatetimepicker.date;
+
+/**
+ * Created by AndreAle94
+ *
+ * Ring buffer of the previous, current and next month titles, already measured. It is
+ * refreshed when the selected page changes, so scroll frames only move the titles.
+ */
+public class MonthTitleStrip {
+
+    public final static int PREVIOUS = 0;
+    public final static int CURRENT = 1;
+    public final static int NEXT = 2;
+
+    private final static int SIZE = 3;
+
+    private final TitleProvider mProvider;
+
+    private final String[] mTitles = new String[SIZE];
+    private final float[] mWidths = new float[SIZE];
+    private final float[] mHeights = new float[SIZE];
+    // ring index of the previous title
+    private int mHead;
+    private boolean mValid;
+
+    private long mSelectedPosition;
+    private long mScrollPosition;
+    private float mScrollOffset;
+
+    public MonthTitleStrip(TitleProvider provider) {
+        mProvider = provider;
+    }
+
+    /**
+     * Drops the measured titles, to be called when the text size or the titles change.
+     */
+    public void invalidate() {
+        mValid = false;
+    }
+
+    public void setSelectedPosition(long position) {
+        long delta = position - mSelectedPosition;
+        if (mValid && delta == 0) {
+            return;
+        }
+        if (mValid && delta == 1) {
+            // old current and next become previous and current
+            mHead = (mHead + 1) % SIZE;
+            load(NEXT, position + 1);
+        } else if (mValid && delta == -1) {
+            mHead = (mHead + SIZE - 1) % SIZE;
+            load(PREVIOUS, position - 1);
+        } else {
+            for (int i = 0; i < SIZE; i++) {
+                load(i, position + i - 1);
+            }
+        }
+        mSelectedPosition = position;
+        mScrollPosition = position;
+        mScrollOffset = 0;
+        mValid = true;
+    }
+
+    private void load(int index, long position) {
+        int slot = (mHead + index) % SIZE;
+        CharSequence title = mProvider.getPageTitle(position);
+        if (title == null) {
+            mTitles[slot] = null;
+            mWidths[slot] = 0;
+            mHeights[slot] = 0;
+        } else {
+            String text = title.toString();
+            mTitles[slot] = text;
+            mWidths[slot] = mProvider.getTextWidth(text);
+            mHeights[slot] = mProvider.getTextHeight(text);
+        }
+    }
+
+    /**
+     * @param position first visible position.
+     * @param offset   visible fraction of the following position.
+     */
+    public void setScroll(long position, float offset) {
+        mScrollPosition = position;
+        mScrollOffset = offset;
+    }
+
+    /**
+     * @param width distance between two titles.
+     * @return horizontal translation of the titles from their rest position.
+     */
+    public float getTranslation(int width) {
+        if (mScrollPosition < mSelectedPosition) {
+            return (1f - mScrollOffset) * width;
+        }
+        return mScrollOffset * -width;
+    }
+
+    public boolean isValid() {
+        return mValid;
+    }
+
+    public String getTitle(int index) {
+        return mTitles[(mHead + index) % SIZE];
+    }
+
+    public float getTitleWidth(int index) {
+        return mWidths[(mHead + index) % SIZE];
+    }
+
+    public float getTitleHeight(int index) {
+        return mHeights[(mHead + index) % SIZE];
+    }
+
+    public interface TitleProvider {
+
+        CharSequence getPageTitle(long position);
+
+        float getTextWidth(String text);
+
+        float getTextHeight(String text);
+    }
+}
@@ -26,6 +26,7 @@
 package it.andreale.mdatetimepicker.date;
 
 import android.content.Context;
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.Paint;
 import android.graphics.Rect;
@@ -34,30 +35,52 @@ import android.util.AttributeSet;
 import android.view.MotionEvent;
 import android.view.View;
 
-import java.text.DateFormatSymbols;
-import java.util.Calendar;
-import java.util.Date;
-import java.util.Locale;
-
 import it.andreale.mdatetimepicker.DialogUtils;
 
 /**
  * Created by AndreAle94
  */
-public class MonthView extends View implements View.OnTouchListener {
+public class MonthView extends View implements View.OnTouchListener, MonthTileCache.Callback {
+
+    private final static int DAY_OF_WEEK = MonthGrid.DAYS_IN_WEEK;
+    private final static int MAX_WEEK_IN_MONTH = MonthGrid.MAX_WEEKS_IN_MONTH;
+    private final static int MAX_DAY_IN_MONTH = 31;
+    private final static String[] DAY_NUMBERS = new String[MAX_DAY_IN_MONTH + 1];
 
-    private final static int EMPTY_DAY = 0;
-    private final static int DAY_OF_WEEK = 7;
-    private final static int MAX_WEEK_IN_MONTH = 6;
+    protected final static int FLAG_TODAY = 1;
+    protected final static int FLAG_SELECTED = 1 << 1;
+    protected final static int FLAG_DISABLED = 1 << 2;
+
+    static {
+        for (int i = 1; i <= MAX_DAY_IN_MONTH; i++) {
+            DAY_NUMBERS[i] = String.valueOf(i);
+        }
+    }
 
     private String[] mDayLabel;
-    private int[][] mDaysMatrix;
+    private MonthLayout mLayout;
+    private byte[] mCellState;
+    private int mSelectedEpochDay;
+    private int mTodayEpochDay;
+    private int mMinEpochDay;
+    private int mMaxEpochDay;
 
     private Paint mPaint;
     private Rect mRect;
 
-    private Calendar mCalendar;
-    private Date mTodayDate;
+    // geometry, updated only when size or labels change
+    private float mCellWidth;
+    private float mCellHeight;
+    private float mSelectorRadius;
+    private float[] mColumnCenterX;
+    private float[] mRowCenterY;
+    private float[] mLabelBaseline;
+    private float mDayBaselineOffset;
+
+    // tile mode, labels and day numbers are pre rendered in background
+    private boolean mTileMode;
+    private String mTileKey;
+    private Bitmap mTile;
 
     private MonthController mController;
     private long mTouchDownTime;
@@ -78,90 +101,242 @@ public class MonthView extends View implements View.OnTouchListener {
     }
 
     private void initialize() {
-        mDayLabel = new String[DAY_OF_WEEK];
-        mDaysMatrix = new int[DAY_OF_WEEK][MAX_WEEK_IN_MONTH];
         mPaint = new Paint();
         mPaint.setAntiAlias(true);
+        mPaint.setTextAlign(Paint.Align.CENTER);
         mRect = new Rect();
-        mCalendar = Calendar.getInstance();
-        DialogUtils.truncate(mCalendar);
-        mTodayDate = mCalendar.getTime();
+        mColumnCenterX = new float[DAY_OF_WEEK];
+        mRowCenterY = new float[MAX_WEEK_IN_MONTH];
+        mLabelBaseline = new float[DAY_OF_WEEK];
+        mCellState = new byte[MonthGrid.CELL_COUNT];
         setOnTouchListener(this);
     }
 
-    public void registerController(int position, MonthController controller) {
+    public void registerController(int year, int month, MonthController controller) {
         mController = controller;
-        // initialize month view
-        mCalendar.set(Calendar.YEAR, mController.getYear(position));
-        mCalendar.set(Calendar.MONTH, mController.getMonth(position));
-        // generate week day array
+        // retrieve shared week day labels and days grid
         int firstDayOfWeek = mController.getFirstDayOfWeek();
-        int[] weekDays = new int[DAY_OF_WEEK];
-        int fixedIndex = firstDayOfWeek;
-        for (int i = 0; i < DAY_OF_WEEK; i++) {
-            // calculate fixed index
-            if (fixedIndex > Calendar.SATURDAY) {
-                fixedIndex = 1;
-            }
-            weekDays[i] = fixedIndex;
-            fixedIndex += 1;
+        String[] dayLabel = LocaleSymbols.getInstance().getNarrowWeekdays(firstDayOfWeek);
+        mLayout = MonthLayoutCache.getInstance().get(year, month, firstDayOfWeek);
+        computeCellStates();
+        if (dayLabel != mDayLabel) {
+            // labels changed, update their baselines
+            mDayLabel = dayLabel;
+            updateGeometry(getWidth(), getHeight());
+        }
+        mTileMode = mController.isTileModeEnabled();
+        updateTile();
+        // the view may be recycled for another month
+        invalidate();
+    }
+
+    public void unregisterController() {
+        releaseTile();
+        mController = null;
+        mLayout = null;
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        updateGeometry(w, h);
+        updateTile();
+    }
+
+    private void updateGeometry(int width, int height) {
+        if (Math.min(width, height) == 0) {
+            return;
         }
-        // generate week day name array
-        String[] weekdays = new DateFormatSymbols(Locale.getDefault()).getWeekdays();
+        // one row for labels and six rows for weeks
+        mCellWidth = (float) width / DAY_OF_WEEK;
+        mCellHeight = (float) height / (MAX_WEEK_IN_MONTH + 1);
+        mSelectorRadius = Math.min(mCellWidth, mCellHeight) / 2;
+        mPaint.setTextSize(mCellHeight / 12 * 5);
         for (int i = 0; i < DAY_OF_WEEK; i++) {
-            mDayLabel[i] = weekdays[weekDays[i]].substring(0, 1).toUpperCase(Locale.getDefault());
+            mColumnCenterX[i] = (i * mCellWidth) + (mCellWidth / 2);
+        }
+        for (int i = 0; i < MAX_WEEK_IN_MONTH; i++) {
+            mRowCenterY[i] = (i + 1) * mCellHeight + (mCellHeight / 2);
         }
-        // generate days matrix. find first day position
-        mCalendar.set(Calendar.DAY_OF_MONTH, 1);
-        int dayOfWeek = mCalendar.get(Calendar.DAY_OF_WEEK);
-        int dayOfMonth = mCalendar.getActualMaximum(Calendar.DAY_OF_MONTH);
-        int skip = 0;
         for (int i = 0; i < DAY_OF_WEEK; i++) {
-            if (weekDays[i] != dayOfWeek) {
-                skip += 1;
-                continue;
+            String label = mDayLabel != null ? mDayLabel[i] : null;
+            mLabelBaseline[i] = label != null ? (mCellHeight + getTextHeight(label)) / 2 : 0;
+        }
+        // all day numbers share the digits height
+        mDayBaselineOffset = getTextHeight(DAY_NUMBERS[1]) / 2;
+    }
+
+    private void computeCellStates() {
+        mSelectedEpochDay = mController.getSelectedEpochDay();
+        mTodayEpochDay = mController.getTodayEpochDay();
+        mMinEpochDay = mController.getMinEpochDay();
+        mMaxEpochDay = mController.getMaxEpochDay();
+        fillCellStates(mLayout, mTodayEpochDay, mSelectedEpochDay, mMinEpochDay, mMaxEpochDay, mCellState);
+    }
+
+    private static void fillCellStates(MonthLayout layout, int todayEpochDay, int selectedEpochDay,
+                                       int minEpochDay, int maxEpochDay, byte[] cellState) {
+        int epochDay = layout.getFirstEpochDay() - layout.getFirstDayColumn();
+        for (int i = 0; i < MonthGrid.CELL_COUNT; i++, epochDay++) {
+            int state = 0;
+            if (epochDay == todayEpochDay) {
+                state |= FLAG_TODAY;
+            }
+            if (epochDay == selectedEpochDay) {
+                state |= FLAG_SELECTED;
             }
-            break;
+            if (epochDay < minEpochDay || epochDay > maxEpochDay) {
+                state |= FLAG_DISABLED;
+            }
+            cellState[i] = (byte) state;
         }
-        int lastDay = 0;
-        for (int i = 0; i < MAX_WEEK_IN_MONTH; i++) {
-            for (int j = 0; j < DAY_OF_WEEK; j++) {
-                // check if should write empty day
-                if (skip > 0) {
-                    skip -= 1;
-                    mDaysMatrix[j][i] = EMPTY_DAY;
-                    continue;
-                }
-                if (lastDay >= dayOfMonth) {
-                    mDaysMatrix[j][i] = EMPTY_DAY;
-                    continue;
-                }
-                lastDay += 1;
-                mDaysMatrix[j][i] = lastDay;
+    }
+
+    /**
+     * @return the cell showing the given epoch day or -1 if the day is not in this month.
+     */
+    private int getCell(int epochDay) {
+        int day = epochDay - mLayout.getFirstEpochDay();
+        if (day < 0 || day >= mLayout.getDaysInMonth()) {
+            return -1;
+        }
+        return mLayout.getFirstDayColumn() + day;
+    }
+
+    private void moveFlag(int flag, int oldEpochDay, int newEpochDay) {
+        int oldCell = getCell(oldEpochDay);
+        if (oldCell >= 0) {
+            mCellState[oldCell] &= ~flag;
+            invalidateCell(oldCell);
+        }
+        int newCell = getCell(newEpochDay);
+        if (newCell >= 0) {
+            mCellState[newCell] |= flag;
+            invalidateCell(newCell);
+        }
+    }
+
+    private void invalidateCell(int cell) {
+        if (mCellWidth == 0 || mCellHeight == 0) {
+            return;
+        }
+        int column = cell % DAY_OF_WEEK;
+        int row = cell / DAY_OF_WEEK;
+        float left = column * mCellWidth;
+        float top = (row + 1) * mCellHeight;
+        invalidate((int) left, (int) top, (int) Math.ceil(left + mCellWidth), (int) Math.ceil(top + mCellHeight));
+    }
+
+    /**
+     * Update only the cells affected by a selection change.
+     */
+    public void onSelectionChanged() {
+        if (mController == null) {
+            return;
+        }
+        int selectedEpochDay = mController.getSelectedEpochDay();
+        if (selectedEpochDay != mSelectedEpochDay) {
+            moveFlag(FLAG_SELECTED, mSelectedEpochDay, selectedEpochDay);
+            mSelectedEpochDay = selectedEpochDay;
+        }
+    }
+
+    /**
+     * Update only the cells affected by a change of the current date.
+     */
+    public void onTodayChanged() {
+        if (mController == null) {
+            return;
+        }
+        int todayEpochDay = mController.getTodayEpochDay();
+        if (todayEpochDay != mTodayEpochDay) {
+            moveFlag(FLAG_TODAY, mTodayEpochDay, todayEpochDay);
+            mTodayEpochDay = todayEpochDay;
+            // today is not part of the tile
+            updateTile();
+        }
+    }
+
+    private String getTileKey(int year, int month) {
+        int firstDayOfWeek = mController.getFirstDayOfWeek();
+        int todayCell = -1;
+        int today = mTodayEpochDay - MonthGrid.toEpochDay(year, month, 1);
+        if (today >= 0 && today < MonthGrid.getDaysInMonth(year, month)) {
+            todayCell = MonthGrid.getFirstDayColumn(year, month, firstDayOfWeek) + today;
+        }
+        return year + ":" + month + ":" + firstDayOfWeek
+                + ":" + getWidth() + "x" + getHeight()
+                + ":" + todayCell + ":" + mMinEpochDay + ":" + mMaxEpochDay
+                + ":" + mController.getWeekDayColor() + ":" + mController.getStandardTextColor()
+                + ":" + LocaleSymbols.getInstance().getLocale();
+    }
+
+    private void updateTile() {
+        if (!mTileMode || mController == null || mCellWidth == 0 || mCellHeight == 0) {
+            return;
+        }
+        int year = mLayout.getYear();
+        int month = mLayout.getMonth();
+        String key = getTileKey(year, month);
+        if (key.equals(mTileKey)) {
+            return;
+        }
+        releaseTile();
+        mTileKey = key;
+        // draw directly until the tile is ready
+        MonthTileCache.getInstance().request(key, new TileRenderer(this, year, month), this);
+    }
+
+    /**
+     * Prepare layout, title and, in tile mode, the tile of another month in background using
+     * the geometry of this view.
+     */
+    public void prefetch(final int year, final int month) {
+        if (mController == null) {
+            return;
+        }
+        final int firstDayOfWeek = mController.getFirstDayOfWeek();
+        MonthTileCache.getInstance().execute(new Runnable() {
+
+            @Override
+            public void run() {
+                MonthLayoutCache.getInstance().get(year, month, firstDayOfWeek);
+                LocaleSymbols.getInstance().getPageTitle(year, month);
             }
+        });
+        if (mTileMode && mCellWidth != 0 && mCellHeight != 0) {
+            String key = getTileKey(year, month);
+            MonthTileCache.getInstance().request(key, new TileRenderer(this, year, month), null);
         }
     }
 
-    public void unregisterController() {
-        mController = null;
+    /**
+     * @return the memory used by a single tile of this view, zero if tile mode is disabled.
+     */
+    public int getTileByteCount() {
+        return mTileMode ? getWidth() * getHeight() * 4 : 0;
     }
 
-    private boolean isSelected(int day) {
-        mCalendar.set(Calendar.DAY_OF_MONTH, day);
-        return mCalendar.getTime().compareTo(mController.getSelectedDate()) == 0;
+    private void releaseTile() {
+        if (mTileKey != null) {
+            MonthTileCache.getInstance().cancel(mTileKey, this);
+        }
+        mTileKey = null;
+        mTile = null;
     }
 
-    private boolean isToday(int day) {
-        mCalendar.set(Calendar.DAY_OF_MONTH, day);
-        return mCalendar.getTime().compareTo(mTodayDate) == 0;
+    @Override
+    public void onTileReady(String key, Bitmap tile) {
+        if (key.equals(mTileKey)) {
+            mTile = tile;
+            invalidate();
+        }
     }
 
     @Override
     protected void onDraw(Canvas c) {
         super.onDraw(c);
-        int width = getMeasuredWidth();
-        int height = getMeasuredHeight();
-        if (Math.min(width, height) == 0) {
+        if (mCellWidth == 0 || mCellHeight == 0) {
             // skip drawing
             return;
         }
@@ -169,13 +344,13 @@ public class MonthView extends View implements View.OnTouchListener {
             // skip drawing
             return;
         }
-        float cellHeight = height / 7;
-        onDrawDayLabels(c, width, cellHeight);
-        onDrawDaysMatrix(c, width, cellHeight * MAX_WEEK_IN_MONTH, cellHeight);
-    }
-
-    private float getTextWidth(String text) {
-        return mPaint.measureText(text);
+        if (mTile != null) {
+            c.drawBitmap(mTile, 0, 0, null);
+            onDrawDynamicDays(c);
+        } else {
+            onDrawDayLabels(c);
+            onDrawDaysMatrix(c);
+        }
     }
 
     private float getTextHeight(String text) {
@@ -183,17 +358,10 @@ public class MonthView extends View implements View.OnTouchListener {
         return mRect.height();
     }
 
-    protected void onDrawDayLabels(Canvas c, float width, float height) {
-        float cellWidth = width / DAY_OF_WEEK;
+    protected void onDrawDayLabels(Canvas c) {
         mPaint.setColor(mController.getWeekDayColor());
-        mPaint.setTextSize(height / 12 * 5);
-        for (int i = 0; i < mDayLabel.length; i++) {
-            // measure text
-            // measureTextWidth(mDayLabel[i]);
-            String text = mDayLabel[i];
-            float x = (i * cellWidth) + (cellWidth / 2) - (getTextWidth(text) / 2);
-            float y = (height + getTextHeight(text)) / 2;
-            onDrawDayLabel(text, c, x, y);
+        for (int i = 0; i < DAY_OF_WEEK; i++) {
+            onDrawDayLabel(mDayLabel[i], c, mColumnCenterX[i], mLabelBaseline[i]);
         }
     }
 
@@ -201,47 +369,53 @@ public class MonthView extends View implements View.OnTouchListener {
         c.drawText(day, x, y, mPaint);
     }
 
-    protected void onDrawDaysMatrix(Canvas c, float width, float height, float topOffset) {
-        float cellX = width / DAY_OF_WEEK;
-        float cellY = height / MAX_WEEK_IN_MONTH;
+    protected void onDrawDaysMatrix(Canvas c) {
         for (int i = 0; i < MAX_WEEK_IN_MONTH; i++) {
+            float y = mRowCenterY[i];
             for (int j = 0; j < DAY_OF_WEEK; j++) {
-                int day = mDaysMatrix[j][i];
+                int cell = i * DAY_OF_WEEK + j;
+                int day = mLayout.getDay(cell);
                 if (day > 0) {
-                    // calculate x and y
-                    String dayText = String.valueOf(day);
-                    // measureTextWidth(dayText);
-                    float x = j * cellX;
-                    float y = (i * cellY) + topOffset;
-                    // check day type
-                    boolean isToday = isToday(day);
-                    boolean isSelected = isSelected(day);
-                    if (isSelected) {
+                    float x = mColumnCenterX[j];
+                    int state = mCellState[cell];
+                    if ((state & FLAG_SELECTED) != 0) {
                         // draw selector
-                        onDrawDaySelector(c, x, y, cellX, cellY);
+                        onDrawDaySelector(c, x, y, mSelectorRadius);
                     }
-                    // calculate text start point
-                    x += (cellX - getTextWidth(dayText)) / 2;
-                    y += (cellY + getTextHeight(dayText)) / 2;
-                    // draw on canvas
-                    onDrawDay(dayText, c, x, y, isToday, isSelected);
+                    onDrawDay(DAY_NUMBERS[day], c, x, y + mDayBaselineOffset, state);
                 }
             }
         }
     }
 
-    protected void onDrawDaySelector(Canvas c, float cx, float cy, float width, float height) {
+    /**
+     * Draw only today and the selected day on top of a pre rendered tile.
+     */
+    protected void onDrawDynamicDays(Canvas c) {
+        for (int cell = 0; cell < MonthGrid.CELL_COUNT; cell++) {
+            int state = mCellState[cell];
+            if ((state & (FLAG_TODAY | FLAG_SELECTED)) != 0) {
+                float x = mColumnCenterX[cell % DAY_OF_WEEK];
+                float y = mRowCenterY[cell / DAY_OF_WEEK];
+                if ((state & FLAG_SELECTED) != 0) {
+                    onDrawDaySelector(c, x, y, mSelectorRadius);
+                }
+                onDrawDay(DAY_NUMBERS[mLayout.getDay(cell)], c, x, y + mDayBaselineOffset, state);
+            }
+        }
+    }
+
+    protected void onDrawDaySelector(Canvas c, float cx, float cy, float radius) {
         mPaint.setColor(mController.getSelectionColor());
-        float radius = Math.min(width, height) / 2;
-        float x = cx + (width / 2);
-        float y = cy + (height / 2);
-        c.drawCircle(x, y, radius, mPaint);
+        c.drawCircle(cx, cy, radius, mPaint);
     }
 
-    protected void onDrawDay(String day, Canvas c, float x, float y, boolean isToday, boolean isSelected) {
-        if (isSelected) {
+    protected void onDrawDay(String day, Canvas c, float x, float y, int state) {
+        if ((state & FLAG_SELECTED) != 0) {
             mPaint.setColor(mController.getSelectedTextColor());
-        } else if (isToday) {
+        } else if ((state & FLAG_DISABLED) != 0) {
+            mPaint.setColor(DialogUtils.getTransparentColor(mController.getStandardTextColor()));
+        } else if ((state & FLAG_TODAY) != 0) {
             mPaint.setColor(mController.getTodayTextColor());
         } else {
             mPaint.setColor(mController.getStandardTextColor());
@@ -270,9 +444,7 @@ public class MonthView extends View implements View.OnTouchListener {
     }
 
     private boolean onClick(float x, float y) {
-        int width = getMeasuredWidth();
-        int height = getMeasuredHeight();
-        if (Math.min(width, height) == 0) {
+        if (mCellWidth == 0 || mCellHeight == 0) {
             // skip check
             return false;
         }
@@ -280,16 +452,17 @@ public class MonthView extends View implements View.OnTouchListener {
             // skip check
             return false;
         }
-        // calculate cells size
-        float cellWidth = width / DAY_OF_WEEK;
-        float cellHeight = height / (MAX_WEEK_IN_MONTH + 1);
         // calculate click position
-        int column = (int) (x / cellWidth);
-        int row = (int) (y / cellHeight) - 1;
+        int column = (int) (x / mCellWidth);
+        int row = (int) (y / mCellHeight) - 1;
         // check if is a valid cell
-        int day = mDaysMatrix[column][row];
-        if (day > 0) {
-            mController.onDayClicked(day, mCalendar.get(Calendar.MONTH), mCalendar.get(Calendar.YEAR));
+        if (column < 0 || column >= DAY_OF_WEEK || row < 0 || row >= MAX_WEEK_IN_MONTH) {
+            return false;
+        }
+        int cell = row * DAY_OF_WEEK + column;
+        int day = mLayout.getDay(cell);
+        if (day > 0 && (mCellState[cell] & FLAG_DISABLED) == 0) {
+            mController.onDayClicked(day, mLayout.getMonth(), mLayout.getYear());
         }
         return false;
     }
@@ -298,11 +471,13 @@ public class MonthView extends View implements View.OnTouchListener {
 
         int getFirstDayOfWeek();
 
-        int getYear(int position);
+        int getSelectedEpochDay();
+
+        int getTodayEpochDay();
 
-        int getMonth(int position);
+        int getMinEpochDay();
 
-        Date getSelectedDate();
+        int getMaxEpochDay();
 
         int getWeekDayColor();
 
@@ -315,5 +490,81 @@ public class MonthView extends View implements View.OnTouchListener {
         int getStandardTextColor();
 
         void onDayClicked(int day, int month, int year);
+
+        boolean isTileModeEnabled();
+    }
+
+    /**
+     * Snapshot of the static content of a month view, rendered on the tile thread.
+     */
+    private static class TileRenderer implements MonthTileCache.Renderer {
+
+        private final int mWidth;
+        private final int mHeight;
+        private final Paint mPaint;
+        private final String[] mDayLabel;
+        private final int mYear;
+        private final int mMonth;
+        private final int mFirstDayOfWeek;
+        private final int mTodayEpochDay;
+        private final int mMinEpochDay;
+        private final int mMaxEpochDay;
+        private final float[] mColumnCenterX;
+        private final float[] mRowCenterY;
+        private final float[] mLabelBaseline;
+        private final float mDayBaselineOffset;
+        private final int mWeekDayColor;
+        private final int mTextColor;
+
+        private TileRenderer(MonthView view, int year, int month) {
+            mWidth = view.getWidth();
+            mHeight = view.getHeight();
+            mPaint = new Paint(view.mPaint);
+            mDayLabel = view.mDayLabel;
+            mYear = year;
+            mMonth = month;
+            mFirstDayOfWeek = view.mController.getFirstDayOfWeek();
+            mTodayEpochDay = view.mTodayEpochDay;
+            mMinEpochDay = view.mMinEpochDay;
+            mMaxEpochDay = view.mMaxEpochDay;
+            mColumnCenterX = view.mColumnCenterX.clone();
+            mRowCenterY = view.mRowCenterY.clone();
+            mLabelBaseline = view.mLabelBaseline.clone();
+            mDayBaselineOffset = view.mDayBaselineOffset;
+            mWeekDayColor = view.mController.getWeekDayColor();
+            mTextColor = view.mController.getStandardTextColor();
+        }
+
+        @Override
+        public Bitmap render() {
+            Bitmap tile;
+            try {
+                tile = Bitmap.createBitmap(mWidth, mHeight, Bitmap.Config.ARGB_8888);
+            } catch (OutOfMemoryError e) {
+                // keep drawing directly
+                return null;
+            }
+            MonthLayout layout = MonthLayoutCache.getInstance().get(mYear, mMonth, mFirstDayOfWeek);
+            byte[] cellState = new byte[MonthGrid.CELL_COUNT];
+            // the selection is drawn on top of the tile
+            fillCellStates(layout, mTodayEpochDay, Integer.MIN_VALUE, mMinEpochDay, mMaxEpochDay, cellState);
+            Canvas c = new Canvas(tile);
+            mPaint.setColor(mWeekDayColor);
+            for (int i = 0; i < DAY_OF_WEEK; i++) {
+                c.drawText(mDayLabel[i], mColumnCenterX[i], mLabelBaseline[i], mPaint);
+            }
+            int disabledColor = DialogUtils.getTransparentColor(mTextColor);
+            for (int cell = 0; cell < MonthGrid.CELL_COUNT; cell++) {
+                int day = layout.getDay(cell);
+                int state = cellState[cell];
+                if (day > 0 && (state & FLAG_TODAY) == 0) {
+                    mPaint.setColor((state & FLAG_DISABLED) != 0 ? disabledColor : mTextColor);
+                    float x = mColumnCenterX[cell % DAY_OF_WEEK];
+                    float y = mRowCenterY[cell / DAY_OF_WEEK] + mDayBaselineOffset;
+                    c.drawText(DAY_NUMBERS[day], x, y, mPaint);
+                }
+            }
+            return tile;
+        }
     }
-}
\ No newline at end of file
+}
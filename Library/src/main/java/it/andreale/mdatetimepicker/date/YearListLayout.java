@@ -0,0 +1,172 @@
+/*
+ * ******************************************************************************
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 AndreAle94
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * *****************************************************************************
+ */
+package it.andreale.mdatetimepicker.date;
+
+/**
+ * Created by AndreAle94
+ *
+ * Arithmetic layout of the year list: every row has the same height, so positions,
+ * scroll offsets and the fast scroll thumb are computed without measuring any row.
+ */
+public class YearListLayout {
+
+    // sign and up to ten digits
+    public final static int MAX_YEAR_LENGTH = 11;
+
+    private int mStartYear;
+    private int mCount;
+    private int mRowHeight;
+    private int mViewportHeight;
+
+    public YearListLayout(int startYear, int endYear, int rowHeight, int viewportHeight) {
+        setRange(startYear, endYear);
+        mRowHeight = rowHeight;
+        mViewportHeight = viewportHeight;
+    }
+
+    public void setRange(int startYear, int endYear) {
+        if (endYear < startYear) {
+            throw new IllegalArgumentException("End year must not be before start year");
+        }
+        mStartYear = startYear;
+        mCount = endYear - startYear + 1;
+    }
+
+    public void setViewportHeight(int viewportHeight) {
+        mViewportHeight = viewportHeight;
+    }
+
+    public int getCount() {
+        return mCount;
+    }
+
+    public int getRowHeight() {
+        return mRowHeight;
+    }
+
+    public int getViewportHeight() {
+        return mViewportHeight;
+    }
+
+    public int getYear(int position) {
+        return mStartYear + position;
+    }
+
+    public int getPosition(int year) {
+        return year - mStartYear;
+    }
+
+    public long getContentHeight() {
+        return (long) mCount * mRowHeight;
+    }
+
+    public int getMaxScroll() {
+        return (int) Math.max(0, Math.min(Integer.MAX_VALUE, getContentHeight() - mViewportHeight));
+    }
+
+    public int clampScroll(int scroll) {
+        return Math.max(0, Math.min(scroll, getMaxScroll()));
+    }
+
+    public int getRowTop(int position) {
+        return position * mRowHeight;
+    }
+
+    /**
+     * @param y offset from the top of the content.
+     * @return the row at the given offset, clamped to the list.
+     */
+    public int getPositionAt(int y) {
+        if (mRowHeight <= 0) {
+            return 0;
+        }
+        return Math.max(0, Math.min(y / mRowHeight, mCount - 1));
+    }
+
+    /**
+     * @return the scroll offset that shows the given row in the middle of the viewport.
+     */
+    public int getCenteredScroll(int position) {
+        return clampScroll(getRowTop(position) - (mViewportHeight - mRowHeight) / 2);
+    }
+
+    /**
+     * @return true when the list is long enough to need a fast scroll thumb.
+     */
+    public boolean isFastScrollNeeded(int minPages) {
+        return mViewportHeight > 0 && getContentHeight() > (long) minPages * mViewportHeight;
+    }
+
+    public int getThumbHeight(int minThumbHeight) {
+        long content = getContentHeight();
+        if (content <= 0) {
+            return mViewportHeight;
+        }
+        int height = (int) ((long) mViewportHeight * mViewportHeight / content);
+        return Math.max(minThumbHeight, Math.min(height, mViewportHeight));
+    }
+
+    /**
+     * @return top of the thumb from the top of the viewport.
+     */
+    public int getThumbTop(int scroll, int thumbHeight) {
+        int maxScroll = getMaxScroll();
+        if (maxScroll == 0) {
+            return 0;
+        }
+        return (int) ((long) scroll * (mViewportHeight - thumbHeight) / maxScroll);
+    }
+
+    /**
+     * @return scroll offset that moves the thumb top to the given offset of the viewport.
+     */
+    public int getScrollForThumb(int thumbTop, int thumbHeight) {
+        int track = mViewportHeight - thumbHeight;
+        if (track <= 0) {
+            return 0;
+        }
+        return clampScroll((int) ((long) thumbTop * getMaxScroll() / track));
+    }
+
+    /**
+     * Writes the digits of the year at the end of the buffer, without allocating a string.
+     *
+     * @param buffer buffer of at least {@link #MAX_YEAR_LENGTH} chars.
+     * @return index of the first char written.
+     */
+    public static int formatYear(int year, char[] buffer) {
+        int index = buffer.length;
+        long value = Math.abs((long) year);
+        do {
+            buffer[--index] = (char) ('0' + value % 10);
+            value /= 10;
+        } while (value > 0);
+        if (year < 0) {
+            buffer[--index] = '-';
+        }
+        return index;
+    }
+}
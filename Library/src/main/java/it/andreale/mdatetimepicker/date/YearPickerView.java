@@ -27,34 +27,80 @@ package it.andreale.mdatetimepicker.date;
 
 import android.content.Context;
 import android.content.res.Resources;
+import android.graphics.Canvas;
 import android.graphics.Color;
-import android.graphics.drawable.StateListDrawable;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.os.Bundle;
+import android.support.v4.view.ViewCompat;
+import android.support.v4.view.accessibility.AccessibilityNodeInfoCompat;
+import android.support.v4.widget.ExploreByTouchHelper;
 import android.util.AttributeSet;
+import android.view.GestureDetector;
+import android.view.MotionEvent;
 import android.view.View;
-import android.widget.AdapterView;
-import android.widget.ListView;
+import android.view.accessibility.AccessibilityEvent;
+import android.widget.OverScroller;
 
-import java.util.Calendar;
+import java.util.List;
 
+import it.andreale.mdatetimepicker.DialogUtils;
 import it.andreale.mdatetimepicker.R;
 
 /**
  * Created by AndreAle94
+ *
+ * Year list drawn directly on the canvas: only the visible rows are drawn, row positions are
+ * computed by {@link YearListLayout} and long ranges get a draggable fast scroll thumb. The
+ * visible rows are exposed to accessibility services as virtual views.
  */
-public class YearPickerView extends ListView implements YearAdapter.Controller, AdapterView.OnItemClickListener {
+public class YearPickerView extends View implements GestureDetector.OnGestureListener {
+
+    private final static int FAST_SCROLL_MIN_PAGES = 4;
+    private final static int THUMB_HIDE_DELAY = 1500;
 
-    private YearAdapter mAdapter;
     private DatePickerController mController;
+    private YearListLayout mLayout;
+
+    private Paint mPaint;
+    private RectF mRect;
+    private OverScroller mScroller;
+    private GestureDetector mGestureDetector;
+    private YearAccessibilityHelper mAccessibilityHelper;
+    private final char[] mYearBuffer = new char[YearListLayout.MAX_YEAR_LENGTH];
 
+    private float mTextNormal;
+    private float mTextSelected;
+    private float mBaselineNormal;
+    private float mBaselineSelected;
+    private int mRowHeight;
     private int mPickerHeight;
+    private int mThumbWidth;
+    private int mThumbTouchWidth;
+    private int mThumbMinHeight;
+
+    private int mPressedPosition = -1;
+    private boolean mCenterPending;
+    private boolean mThumbVisible;
+    private boolean mFastScrolling;
+    private int mThumbGrabOffset;
+    private final Runnable mHideThumb = new Runnable() {
+
+        @Override
+        public void run() {
+            mThumbVisible = false;
+            invalidate();
+        }
+    };
 
     public YearPickerView(Context context) {
-        super(context, null, 0);
+        super(context);
         initialize();
     }
 
     public YearPickerView(Context context, AttributeSet attrs) {
-        super(context, attrs, 0);
+        super(context, attrs);
         initialize();
     }
 
@@ -64,75 +110,376 @@ public class YearPickerView extends ListView implements YearAdapter.Controller,
     }
 
     private void initialize() {
-        setSelector(new StateListDrawable());
-        setDividerHeight(0);
-        setItemsCanFocus(true);
-        mPickerHeight = getResources().getDimensionPixelOffset(R.dimen.date_picker_body_height);
+        Resources res = getResources();
+        mTextNormal = res.getDimension(R.dimen.year_text_size_normal);
+        mTextSelected = res.getDimension(R.dimen.year_text_size_selected);
+        mRowHeight = 2 * res.getDimensionPixelSize(R.dimen.year_picker_padding) + (int) mTextSelected;
+        mPickerHeight = res.getDimensionPixelOffset(R.dimen.date_picker_body_height);
+        mThumbWidth = res.getDimensionPixelSize(R.dimen.year_picker_thumb_width);
+        mThumbTouchWidth = res.getDimensionPixelSize(R.dimen.year_picker_thumb_touch_width);
+        mThumbMinHeight = res.getDimensionPixelSize(R.dimen.year_picker_thumb_min_height);
+        mPaint = new Paint();
+        mPaint.setAntiAlias(true);
+        mPaint.setTextAlign(Paint.Align.CENTER);
+        // baselines that center the digits in their row
+        mPaint.setTextSize(mTextNormal);
+        mBaselineNormal = -(mPaint.ascent() + mPaint.descent()) / 2;
+        mPaint.setTextSize(mTextSelected);
+        mBaselineSelected = -(mPaint.ascent() + mPaint.descent()) / 2;
+        mRect = new RectF();
+        mScroller = new OverScroller(getContext());
+        mGestureDetector = new GestureDetector(getContext(), this);
+        setVerticalScrollBarEnabled(false);
+        mAccessibilityHelper = new YearAccessibilityHelper(this);
+        ViewCompat.setAccessibilityDelegate(this, mAccessibilityHelper);
     }
 
     public void resisterController(DatePickerController controller) {
         mController = controller;
-        // initialize adapter
-        mAdapter = new YearAdapter(this, getResources());
-        setOnItemClickListener(this);
-        setAdapter(mAdapter);
+        int height = getHeight() > 0 ? getHeight() : mPickerHeight;
+        mLayout = new YearListLayout(mController.getStartYear(), mController.getEndYear(), mRowHeight, height);
+        invalidate();
     }
 
     public void notifyDateChanged() {
-        if (mAdapter != null) {
-            mAdapter.notifyDataSetChanged();
-        }
+        invalidate();
+        mAccessibilityHelper.invalidateRoot();
     }
 
     public void onPreShow() {
-        notifyDateChanged();
+        if (mLayout == null) {
+            return;
+        }
         // move list to center current year
-        Resources res = getResources();
-        int position = getSelectedYear() - getStartYear();
-        int padding = res.getDimensionPixelSize(R.dimen.year_picker_padding);
-        int textSelected = res.getDimensionPixelSize(R.dimen.year_text_size_selected);
-        int selectedViewHeight = 2 * padding + textSelected;
-        int offset = (mPickerHeight - selectedViewHeight) / 2;
-        setSelectionFromTop(position, offset);
+        mScroller.forceFinished(true);
+        scrollTo(0, mLayout.getCenteredScroll(mLayout.getPosition(getSelectedYear())));
+        // the viewport may still change before the first layout
+        mCenterPending = getHeight() == 0;
+        invalidate();
+    }
+
+    private int getSelectedYear() {
+        return mController.getDateState().getYear();
+    }
+
+    private int getTextColor() {
+        boolean isDarkMode = mController.isDarkMode();
+        return isDarkMode ? Color.WHITE : Color.BLACK;
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        if (mLayout != null) {
+            mLayout.setViewportHeight(h);
+            if (mCenterPending) {
+                mCenterPending = false;
+                scrollTo(0, mLayout.getCenteredScroll(mLayout.getPosition(getSelectedYear())));
+            } else {
+                scrollTo(0, mLayout.clampScroll(getScrollY()));
+            }
+        }
     }
 
     @Override
-    public int getStartYear() {
-        return mController.getStartYear();
+    protected void onDetachedFromWindow() {
+        removeCallbacks(mHideThumb);
+        super.onDetachedFromWindow();
     }
 
     @Override
-    public int getEndYear() {
-        return mController.getEndYear();
+    protected void onDraw(Canvas c) {
+        super.onDraw(c);
+        if (mLayout == null || getWidth() == 0 || getHeight() == 0) {
+            // skip drawing
+            return;
+        }
+        // canvas is already translated by the scroll offset
+        int scrollY = getScrollY();
+        int first = mLayout.getPositionAt(scrollY);
+        int last = mLayout.getPositionAt(scrollY + getHeight() - 1);
+        int selected = mLayout.getPosition(getSelectedYear());
+        float x = getWidth() / 2f;
+        float halfRow = mRowHeight / 2f;
+        int textColor = getTextColor();
+        int selectionColor = mController.getSelectionColor();
+        mPaint.setTextSize(mTextNormal);
+        for (int position = first; position <= last; position++) {
+            if (position != selected) {
+                mPaint.setColor(position == mPressedPosition ? selectionColor : textColor);
+                drawYear(c, position, x, mLayout.getRowTop(position) + halfRow + mBaselineNormal);
+            }
+        }
+        if (selected >= first && selected <= last) {
+            mPaint.setTextSize(mTextSelected);
+            mPaint.setColor(selectionColor);
+            drawYear(c, selected, x, mLayout.getRowTop(selected) + halfRow + mBaselineSelected);
+        }
+        if (mThumbVisible && mLayout.isFastScrollNeeded(FAST_SCROLL_MIN_PAGES)) {
+            onDrawFastScroll(c, scrollY, textColor, selectionColor);
+        }
+    }
+
+    private void drawYear(Canvas c, int position, float x, float y) {
+        int start = YearListLayout.formatYear(mLayout.getYear(position), mYearBuffer);
+        c.drawText(mYearBuffer, start, mYearBuffer.length - start, x, y, mPaint);
+    }
+
+    protected void onDrawFastScroll(Canvas c, int scrollY, int textColor, int selectionColor) {
+        int thumbHeight = mLayout.getThumbHeight(mThumbMinHeight);
+        float top = scrollY + mLayout.getThumbTop(scrollY, thumbHeight);
+        float right = getWidth() - mThumbWidth;
+        mRect.set(right - mThumbWidth, top, right, top + thumbHeight);
+        mPaint.setColor(mFastScrolling ? selectionColor : DialogUtils.getTransparentColor(textColor));
+        c.drawRoundRect(mRect, mThumbWidth / 2f, mThumbWidth / 2f, mPaint);
+        if (mFastScrolling) {
+            // index label with the year in the middle of the list
+            int position = mLayout.getPositionAt(scrollY + getHeight() / 2);
+            float labelHeight = mRowHeight;
+            float labelWidth = mThumbTouchWidth * 3;
+            float labelRight = mRect.left - mThumbTouchWidth;
+            float labelTop = Math.max(scrollY, top + thumbHeight / 2f - labelHeight / 2);
+            mRect.set(labelRight - labelWidth, labelTop, labelRight, labelTop + labelHeight);
+            c.drawRoundRect(mRect, labelHeight / 2, labelHeight / 2, mPaint);
+            mPaint.setColor(Color.WHITE);
+            mPaint.setTextSize(mTextNormal);
+            drawYear(c, position, mRect.centerX(), mRect.centerY() + mBaselineNormal);
+        }
     }
 
     @Override
-    public int getSelectedYear() {
-        return mController.getSelectedDate().get(Calendar.YEAR);
+    public boolean onTouchEvent(MotionEvent event) {
+        if (mLayout == null) {
+            return false;
+        }
+        int action = event.getActionMasked();
+        if (action == MotionEvent.ACTION_DOWN && isOnThumb(event.getX(), event.getY())) {
+            mFastScrolling = true;
+            mScroller.forceFinished(true);
+            int thumbHeight = mLayout.getThumbHeight(mThumbMinHeight);
+            mThumbGrabOffset = (int) event.getY() - mLayout.getThumbTop(getScrollY(), thumbHeight);
+            getParent().requestDisallowInterceptTouchEvent(true);
+            showThumb();
+            return true;
+        }
+        if (mFastScrolling) {
+            int thumbHeight = mLayout.getThumbHeight(mThumbMinHeight);
+            int thumbTop = (int) event.getY() - mThumbGrabOffset;
+            scrollTo(0, mLayout.getScrollForThumb(thumbTop, thumbHeight));
+            if (action == MotionEvent.ACTION_UP || action == MotionEvent.ACTION_CANCEL) {
+                mFastScrolling = false;
+                showThumb();
+            }
+            return true;
+        }
+        boolean handled = mGestureDetector.onTouchEvent(event);
+        if (action == MotionEvent.ACTION_UP || action == MotionEvent.ACTION_CANCEL) {
+            setPressedPosition(-1);
+        }
+        return handled;
+    }
+
+    private boolean isOnThumb(float x, float y) {
+        if (!mThumbVisible || !mLayout.isFastScrollNeeded(FAST_SCROLL_MIN_PAGES)) {
+            return false;
+        }
+        int thumbHeight = mLayout.getThumbHeight(mThumbMinHeight);
+        int thumbTop = mLayout.getThumbTop(getScrollY(), thumbHeight);
+        return x >= getWidth() - mThumbTouchWidth && y >= thumbTop && y <= thumbTop + thumbHeight;
+    }
+
+    private void showThumb() {
+        mThumbVisible = true;
+        removeCallbacks(mHideThumb);
+        if (!mFastScrolling) {
+            postDelayed(mHideThumb, THUMB_HIDE_DELAY);
+        }
+        invalidate();
+    }
+
+    private void setPressedPosition(int position) {
+        if (mPressedPosition != position) {
+            mPressedPosition = position;
+            invalidate();
+        }
     }
 
     @Override
-    public int getPressedColor() {
-        return mController.getSelectionColor();
+    public void scrollTo(int x, int y) {
+        if (mLayout != null) {
+            y = mLayout.clampScroll(y);
+        }
+        super.scrollTo(x, y);
     }
 
     @Override
-    public int getSelectedColor() {
-        return mController.getSelectionColor();
+    protected void onScrollChanged(int l, int t, int oldl, int oldt) {
+        super.onScrollChanged(l, t, oldl, oldt);
+        // the visible rows changed
+        mAccessibilityHelper.invalidateRoot();
     }
 
     @Override
-    public int getTextColor() {
-        boolean isDarkMode = mController.isDarkMode();
-        return isDarkMode ? Color.WHITE : Color.BLACK;
+    protected boolean dispatchHoverEvent(MotionEvent event) {
+        return mAccessibilityHelper.dispatchHoverEvent(event) || super.dispatchHoverEvent(event);
     }
 
     @Override
-    public void onItemClick(AdapterView<?> parent, View view, int position, long id) {
-        // calculate selected year
-        int startYear = mController.getStartYear();
-        int selectedYear = startYear + position;
+    public void onInitializeAccessibilityEvent(AccessibilityEvent event) {
+        super.onInitializeAccessibilityEvent(event);
+        if (mLayout != null) {
+            event.setScrollable(mLayout.getMaxScroll() > 0);
+            event.setItemCount(mLayout.getCount());
+            event.setFromIndex(mLayout.getPositionAt(getScrollY()));
+            event.setToIndex(mLayout.getPositionAt(getScrollY() + getHeight() - 1));
+        }
+    }
+
+    @Override
+    public boolean performAccessibilityAction(int action, Bundle arguments) {
+        if (mLayout != null) {
+            // scroll a page, keeping a row of context
+            int page = Math.max(mRowHeight, getHeight() - mRowHeight);
+            switch (action) {
+                case AccessibilityNodeInfoCompat.ACTION_SCROLL_FORWARD:
+                    return smoothScrollBy(page);
+                case AccessibilityNodeInfoCompat.ACTION_SCROLL_BACKWARD:
+                    return smoothScrollBy(-page);
+            }
+        }
+        return super.performAccessibilityAction(action, arguments);
+    }
+
+    private boolean smoothScrollBy(int dy) {
+        int scrollY = getScrollY();
+        int target = mLayout.clampScroll(scrollY + dy);
+        if (target == scrollY) {
+            return false;
+        }
+        mScroller.forceFinished(true);
+        mScroller.startScroll(0, scrollY, 0, target - scrollY);
+        ViewCompat.postInvalidateOnAnimation(this);
+        return true;
+    }
+
+    @Override
+    public void computeScroll() {
+        if (mScroller.computeScrollOffset()) {
+            scrollTo(0, mScroller.getCurrY());
+            if (!mScroller.isFinished()) {
+                ViewCompat.postInvalidateOnAnimation(this);
+            }
+        }
+    }
+
+    @Override
+    public boolean onDown(MotionEvent e) {
+        mScroller.forceFinished(true);
+        return true;
+    }
+
+    @Override
+    public void onShowPress(MotionEvent e) {
+        setPressedPosition(mLayout.getPositionAt(getScrollY() + (int) e.getY()));
+    }
+
+    @Override
+    public boolean onSingleTapUp(MotionEvent e) {
+        int position = mLayout.getPositionAt(getScrollY() + (int) e.getY());
         // notify controller
-        mController.onYearChanged(selectedYear);
+        mController.onYearChanged(mLayout.getYear(position));
+        return true;
+    }
+
+    @Override
+    public boolean onScroll(MotionEvent e1, MotionEvent e2, float distanceX, float distanceY) {
+        setPressedPosition(-1);
+        scrollBy(0, (int) distanceY);
+        showThumb();
+        return true;
+    }
+
+    @Override
+    public void onLongPress(MotionEvent e) {
+
+    }
+
+    @Override
+    public boolean onFling(MotionEvent e1, MotionEvent e2, float velocityX, float velocityY) {
+        mScroller.fling(0, getScrollY(), 0, (int) -velocityY, 0, 0, 0, mLayout.getMaxScroll());
+        ViewCompat.postInvalidateOnAnimation(this);
+        showThumb();
+        return true;
+    }
+
+    private class YearAccessibilityHelper extends ExploreByTouchHelper {
+
+        private final Rect mBounds = new Rect();
+
+        public YearAccessibilityHelper(View host) {
+            super(host);
+        }
+
+        @Override
+        public void onInitializeAccessibilityNodeInfo(View host, AccessibilityNodeInfoCompat info) {
+            super.onInitializeAccessibilityNodeInfo(host, info);
+            if (mLayout != null && mLayout.getMaxScroll() > 0) {
+                info.setScrollable(true);
+                if (getScrollY() > 0) {
+                    info.addAction(AccessibilityNodeInfoCompat.ACTION_SCROLL_BACKWARD);
+                }
+                if (getScrollY() < mLayout.getMaxScroll()) {
+                    info.addAction(AccessibilityNodeInfoCompat.ACTION_SCROLL_FORWARD);
+                }
+            }
+        }
+
+        @Override
+        protected int getVirtualViewAt(float x, float y) {
+            if (mLayout == null) {
+                return INVALID_ID;
+            }
+            return mLayout.getPositionAt(getScrollY() + (int) y);
+        }
+
+        @Override
+        protected void getVisibleVirtualViews(List<Integer> virtualViewIds) {
+            if (mLayout == null || getHeight() == 0) {
+                return;
+            }
+            int last = mLayout.getPositionAt(getScrollY() + getHeight() - 1);
+            for (int position = mLayout.getPositionAt(getScrollY()); position <= last; position++) {
+                virtualViewIds.add(position);
+            }
+        }
+
+        @Override
+        protected void onPopulateEventForVirtualView(int virtualViewId, AccessibilityEvent event) {
+            event.setContentDescription(getYearText(virtualViewId));
+        }
+
+        @Override
+        protected void onPopulateNodeForVirtualView(int virtualViewId, AccessibilityNodeInfoCompat node) {
+            int top = mLayout.getRowTop(virtualViewId) - getScrollY();
+            mBounds.set(0, top, getWidth(), top + mRowHeight);
+            node.setText(getYearText(virtualViewId));
+            node.setBoundsInParent(mBounds);
+            node.setSelected(mLayout.getYear(virtualViewId) == getSelectedYear());
+            node.addAction(AccessibilityNodeInfoCompat.ACTION_CLICK);
+        }
+
+        @Override
+        protected boolean onPerformActionForVirtualView(int virtualViewId, int action, Bundle arguments) {
+            if (action == AccessibilityNodeInfoCompat.ACTION_CLICK) {
+                mController.onYearChanged(mLayout.getYear(virtualViewId));
+                sendEventForVirtualView(virtualViewId, AccessibilityEvent.TYPE_VIEW_CLICKED);
+                return true;
+            }
+            return false;
+        }
+
+        private String getYearText(int position) {
+            return String.valueOf(mLayout.getYear(position));
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,180 @@
+/*
+ * ******************************************************************************
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 AndreAle94
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * *****************************************************************************
+ */
+package it.andreale.mdatetimepicker.date;
+
+/**
+ * Created by AndreAle94
+ *
+ * Cells of the zoomed out pickers: the whole year range shows its decades, a century its
+ * decades, a decade its years and a year its months. The century, decade and year levels are
+ * fixed grids of twelve cells, the century and decade grids are completed with the closest
+ * cells of the adjacent periods. The range level is a larger grid whose cells are decades, or
+ * centuries and above when the range does not fit.
+ */
+public final class ZoomGrid {
+
+    public final static int LEVEL_CENTURY = 0;
+    public final static int LEVEL_DECADE = 1;
+    public final static int LEVEL_YEAR = 2;
+    public final static int LEVEL_RANGE = 3;
+
+    public final static int COLUMNS = 3;
+    public final static int ROWS = 4;
+    public final static int CELL_COUNT = COLUMNS * ROWS;
+
+    public final static int RANGE_COLUMNS = 4;
+    public final static int RANGE_ROWS = 6;
+    public final static int RANGE_CELL_COUNT = RANGE_COLUMNS * RANGE_ROWS;
+
+    private ZoomGrid() {
+        // static helpers only
+    }
+
+    private static int floorDiv(int value, int divisor) {
+        int result = value / divisor;
+        if ((value % divisor != 0) && ((value < 0) != (divisor < 0))) {
+            result--;
+        }
+        return result;
+    }
+
+    /**
+     * @return the number of years covered by a single step of the given level.
+     */
+    public static int getStep(int level) {
+        switch (level) {
+            case LEVEL_CENTURY:
+                return 100;
+            case LEVEL_DECADE:
+                return 10;
+            case LEVEL_YEAR:
+                return 1;
+            case LEVEL_RANGE:
+                throw new IllegalArgumentException("The range level step depends on the year range");
+            default:
+                throw new IllegalArgumentException("Invalid zoom level: " + level);
+        }
+    }
+
+    /**
+     * @return the first year of the period that contains the anchor year.
+     */
+    public static int getFirstYear(int level, int anchorYear) {
+        int step = getStep(level);
+        return floorDiv(anchorYear, step) * step;
+    }
+
+    public static int getLastYear(int level, int anchorYear) {
+        return getFirstYear(level, anchorYear) + getStep(level) - 1;
+    }
+
+    /**
+     * @return the first year of a decade, a year or a month, depending on the level.
+     */
+    public static int getCellValue(int level, int anchorYear, int cell) {
+        if (level == LEVEL_YEAR) {
+            return cell;
+        }
+        int cellStep = getStep(level) / 10;
+        // one leading cell of the previous period
+        return getFirstYear(level, anchorYear) + (cell - 1) * cellStep;
+    }
+
+    /**
+     * @return true when the cell belongs to the previous or next period.
+     */
+    public static boolean isCellOutside(int level, int cell) {
+        return level != LEVEL_YEAR && (cell == 0 || cell == CELL_COUNT - 1);
+    }
+
+    /**
+     * @return true when the cell overlaps the years between start and end year.
+     */
+    public static boolean isCellInRange(int level, int anchorYear, int cell, int startYear, int endYear) {
+        if (level == LEVEL_YEAR) {
+            return anchorYear >= startYear && anchorYear <= endYear;
+        }
+        int first = getCellValue(level, anchorYear, cell);
+        int last = first + getStep(level) / 10 - 1;
+        return last >= startYear && first <= endYear;
+    }
+
+    /**
+     * @return the cell that contains the given date, or -1 if it is not shown.
+     */
+    public static int getCell(int level, int anchorYear, int year, int month) {
+        if (level == LEVEL_YEAR) {
+            return year == anchorYear ? month : -1;
+        }
+        int cellStep = getStep(level) / 10;
+        int cell = floorDiv(year - getFirstYear(level, anchorYear), cellStep) + 1;
+        return cell >= 0 && cell < CELL_COUNT ? cell : -1;
+    }
+
+    /**
+     * @return true if moving by one period in the given direction still shows years in range.
+     */
+    public static boolean canMove(int level, int anchorYear, int direction, int startYear, int endYear) {
+        int anchor = anchorYear + direction * getStep(level);
+        return getLastYear(level, anchor) >= startYear && getFirstYear(level, anchor) <= endYear;
+    }
+
+    /**
+     * @return the years covered by a cell of the range level: the smallest power of ten, at
+     * least a decade, that fits the whole range in the grid.
+     */
+    public static int getRangeStep(int startYear, int endYear) {
+        int step = 10;
+        while (floorDiv(endYear, step) - floorDiv(startYear, step) >= RANGE_CELL_COUNT) {
+            step *= 10;
+        }
+        return step;
+    }
+
+    public static int getRangeCellCount(int startYear, int endYear) {
+        int step = getRangeStep(startYear, endYear);
+        return floorDiv(endYear, step) - floorDiv(startYear, step) + 1;
+    }
+
+    /**
+     * @return the first year of the range level cell.
+     */
+    public static int getRangeCellValue(int startYear, int endYear, int cell) {
+        int step = getRangeStep(startYear, endYear);
+        return (floorDiv(startYear, step) + cell) * step;
+    }
+
+    /**
+     * @return the range level cell that contains the year, or -1 if it is out of range.
+     */
+    public static int getRangeCell(int startYear, int endYear, int year) {
+        if (year < startYear || year > endYear) {
+            return -1;
+        }
+        int step = getRangeStep(startYear, endYear);
+        return floorDiv(year, step) - floorDiv(startYear, step);
+    }
+}
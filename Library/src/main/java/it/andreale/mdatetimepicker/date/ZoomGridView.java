@@ -0,0 +1,254 @@
+/*
+ * ******************************************************************************
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 AndreAle94
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * *****************************************************************************
+ */
+package it.andreale.mdatetimepicker.date;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.RectF;
+import android.util.AttributeSet;
+import android.view.MotionEvent;
+import android.view.View;
+
+import it.andreale.mdatetimepicker.DialogUtils;
+import it.andreale.mdatetimepicker.R;
+
+/**
+ * Created by AndreAle94
+ *
+ * Fixed grid of decades, years or months. Labels are built once per period.
+ */
+public class ZoomGridView extends View {
+
+    private final static float SELECTOR_WIDTH = 0.8f;
+    private final static float SELECTOR_HEIGHT = 0.6f;
+
+    private Controller mController;
+    private Paint mPaint;
+    private RectF mRect;
+
+    private int mLevel = -1;
+    private int mAnchorYear;
+    private int mColumns;
+    private int mRows;
+    private int mCellCount;
+    private final String[] mLabels = new String[ZoomGrid.RANGE_CELL_COUNT];
+    private final int[] mValues = new int[ZoomGrid.RANGE_CELL_COUNT];
+    private final boolean[] mEnabled = new boolean[ZoomGrid.RANGE_CELL_COUNT];
+    private float mTextSize;
+    private float mRangeTextSize;
+    private float mBaselineOffset;
+    private int mPressedCell = -1;
+
+    public ZoomGridView(Context context) {
+        super(context);
+        initialize();
+    }
+
+    public ZoomGridView(Context context, AttributeSet attrs) {
+        super(context, attrs);
+        initialize();
+    }
+
+    public ZoomGridView(Context context, AttributeSet attrs, int defStyleAttr) {
+        super(context, attrs, defStyleAttr);
+        initialize();
+    }
+
+    private void initialize() {
+        mPaint = new Paint();
+        mPaint.setAntiAlias(true);
+        mPaint.setTextAlign(Paint.Align.CENTER);
+        mTextSize = getResources().getDimension(R.dimen.year_text_size_normal);
+        mRangeTextSize = getResources().getDimension(R.dimen.zoom_range_text_size);
+        mRect = new RectF();
+    }
+
+    public void registerController(Controller controller) {
+        mController = controller;
+        mLevel = -1;
+    }
+
+    public void setGrid(int level, int anchorYear) {
+        if (level == mLevel && anchorYear == mAnchorYear) {
+            // labels already built
+            return;
+        }
+        mLevel = level;
+        mAnchorYear = anchorYear;
+        int startYear = mController.getStartYear();
+        int endYear = mController.getEndYear();
+        if (level == ZoomGrid.LEVEL_RANGE) {
+            mColumns = ZoomGrid.RANGE_COLUMNS;
+            mRows = ZoomGrid.RANGE_ROWS;
+            mCellCount = ZoomGrid.getRangeCellCount(startYear, endYear);
+            int step = ZoomGrid.getRangeStep(startYear, endYear);
+            for (int cell = 0; cell < mCellCount; cell++) {
+                mValues[cell] = ZoomGrid.getRangeCellValue(startYear, endYear, cell);
+                mLabels[cell] = getPeriodLabel(mValues[cell], step);
+                mEnabled[cell] = true;
+            }
+        } else {
+            mColumns = ZoomGrid.COLUMNS;
+            mRows = ZoomGrid.ROWS;
+            mCellCount = ZoomGrid.CELL_COUNT;
+            for (int cell = 0; cell < mCellCount; cell++) {
+                mValues[cell] = ZoomGrid.getCellValue(level, anchorYear, cell);
+                mLabels[cell] = getLabel(level, mValues[cell]);
+                mEnabled[cell] = ZoomGrid.isCellInRange(level, anchorYear, cell, startYear, endYear);
+            }
+        }
+        // the range grid has smaller cells
+        mPaint.setTextSize(level == ZoomGrid.LEVEL_RANGE ? mRangeTextSize : mTextSize);
+        mBaselineOffset = -(mPaint.ascent() + mPaint.descent()) / 2;
+        invalidate();
+    }
+
+    private static String getLabel(int level, int value) {
+        switch (level) {
+            case ZoomGrid.LEVEL_CENTURY:
+                return getPeriodLabel(value, 10);
+            case ZoomGrid.LEVEL_DECADE:
+                return String.valueOf(value);
+            default:
+                return LocaleSymbols.getInstance().getShortMonthName(value);
+        }
+    }
+
+    private static String getPeriodLabel(int firstYear, int step) {
+        int lastYear = firstYear + step - 1;
+        if (step > 10) {
+            return firstYear + "\u2013" + lastYear;
+        }
+        // first and last year of the decade, as 1990-99
+        int last = Math.abs(lastYear) % 100;
+        return firstYear + "\u2013" + (last < 10 ? "0" + last : String.valueOf(last));
+    }
+
+    private int getSelectedCell() {
+        if (mLevel == ZoomGrid.LEVEL_RANGE) {
+            return ZoomGrid.getRangeCell(mController.getStartYear(), mController.getEndYear(), mController.getSelectedYear());
+        }
+        return ZoomGrid.getCell(mLevel, mAnchorYear, mController.getSelectedYear(), mController.getSelectedMonth());
+    }
+
+    @Override
+    protected void onDraw(Canvas c) {
+        super.onDraw(c);
+        if (mController == null || mLevel < 0) {
+            // skip drawing
+            return;
+        }
+        float cellWidth = getWidth() / (float) mColumns;
+        float cellHeight = getHeight() / (float) mRows;
+        int selected = getSelectedCell();
+        int textColor = mController.getTextColor();
+        int selectionColor = mController.getSelectionColor();
+        for (int cell = 0; cell < mCellCount; cell++) {
+            float cx = (cell % mColumns + 0.5f) * cellWidth;
+            float cy = (cell / mColumns + 0.5f) * cellHeight;
+            if (cell == selected) {
+                float halfWidth = cellWidth * SELECTOR_WIDTH / 2;
+                float halfHeight = cellHeight * SELECTOR_HEIGHT / 2;
+                mRect.set(cx - halfWidth, cy - halfHeight, cx + halfWidth, cy + halfHeight);
+                mPaint.setColor(selectionColor);
+                c.drawRoundRect(mRect, halfHeight, halfHeight, mPaint);
+                mPaint.setColor(Color.WHITE);
+            } else if (!mEnabled[cell] || ZoomGrid.isCellOutside(mLevel, cell)) {
+                mPaint.setColor(DialogUtils.getTransparentColor(textColor));
+            } else {
+                mPaint.setColor(cell == mPressedCell ? selectionColor : textColor);
+            }
+            c.drawText(mLabels[cell], cx, cy + mBaselineOffset, mPaint);
+        }
+    }
+
+    private int getCellAt(float x, float y) {
+        if (getWidth() == 0 || getHeight() == 0) {
+            return -1;
+        }
+        int column = (int) (x * mColumns / getWidth());
+        int row = (int) (y * mRows / getHeight());
+        if (column < 0 || column >= mColumns || row < 0 || row >= mRows) {
+            return -1;
+        }
+        int cell = row * mColumns + column;
+        return cell < mCellCount ? cell : -1;
+    }
+
+    private void setPressedCell(int cell) {
+        if (mPressedCell != cell) {
+            mPressedCell = cell;
+            invalidate();
+        }
+    }
+
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        if (mController == null || mLevel < 0) {
+            return false;
+        }
+        int cell = getCellAt(event.getX(), event.getY());
+        switch (event.getActionMasked()) {
+            case MotionEvent.ACTION_DOWN:
+                setPressedCell(cell >= 0 && mEnabled[cell] ? cell : -1);
+                return true;
+            case MotionEvent.ACTION_MOVE:
+                if (cell != mPressedCell) {
+                    setPressedCell(-1);
+                }
+                return true;
+            case MotionEvent.ACTION_UP:
+                if (cell >= 0 && cell == mPressedCell) {
+                    mController.onCellClicked(mLevel, mValues[cell]);
+                }
+                setPressedCell(-1);
+                return true;
+            case MotionEvent.ACTION_CANCEL:
+                setPressedCell(-1);
+                return true;
+        }
+        return false;
+    }
+
+    public interface Controller {
+
+        int getStartYear();
+
+        int getEndYear();
+
+        int getSelectedYear();
+
+        int getSelectedMonth();
+
+        int getTextColor();
+
+        int getSelectionColor();
+
+        void onCellClicked(int level, int value);
+    }
+}
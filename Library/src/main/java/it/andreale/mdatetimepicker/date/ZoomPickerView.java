@@ -0,0 +1,228 @@
+/*
+ * ******************************************************************************
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 AndreAle94
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * *****************************************************************************
+ */
+package it.andreale.mdatetimepicker.date;
+
+import android.content.Context;
+import android.graphics.Color;
+import android.util.AttributeSet;
+import android.view.View;
+import android.widget.ImageButton;
+import android.widget.LinearLayout;
+import android.widget.TextView;
+
+import it.andreale.mdatetimepicker.DialogUtils;
+import it.andreale.mdatetimepicker.R;
+
+/**
+ * Created by AndreAle94
+ *
+ * Range, century, decade and year pickers: a click on a cell zooms in, a click on the title
+ * zooms out. The range picker, opened from the header year, shows the whole year range.
+ */
+public class ZoomPickerView extends LinearLayout implements ZoomGridView.Controller, View.OnClickListener {
+
+    private DatePickerController mController;
+
+    private ImageButton mButtonBack;
+    private ImageButton mButtonForward;
+    private TextView mTitle;
+    private ZoomGridView mGridView;
+
+    private int mPickerMode;
+    private int mLevel;
+    private int mAnchorYear;
+
+    public ZoomPickerView(Context context) {
+        super(context);
+        initialize();
+    }
+
+    public ZoomPickerView(Context context, AttributeSet attrs) {
+        super(context, attrs);
+        initialize();
+    }
+
+    public ZoomPickerView(Context context, AttributeSet attrs, int defStyleAttr) {
+        super(context, attrs, defStyleAttr);
+        initialize();
+    }
+
+    private void initialize() {
+        setOrientation(VERTICAL);
+        inflate(getContext(), R.layout.md_date_picker_zoom_layout, this);
+        mButtonBack = (ImageButton) findViewById(R.id.zoom_arrow_back);
+        mButtonForward = (ImageButton) findViewById(R.id.zoom_arrow_forward);
+        mTitle = (TextView) findViewById(R.id.zoom_title);
+        mGridView = (ZoomGridView) findViewById(R.id.zoom_grid_view);
+        // setup
+        mButtonBack.setOnClickListener(this);
+        mButtonForward.setOnClickListener(this);
+        mTitle.setOnClickListener(this);
+    }
+
+    public void registerController(DatePickerController controller) {
+        mController = controller;
+        mTitle.setTextColor(mController.getMonthHeaderTextColor());
+        mGridView.registerController(this);
+    }
+
+    public static boolean isZoomMode(int pickerMode) {
+        return pickerMode == DateHeaderView.MODE_RANGE_PICKER
+                || pickerMode == DateHeaderView.MODE_CENTURY_PICKER
+                || pickerMode == DateHeaderView.MODE_DECADE_PICKER
+                || pickerMode == DateHeaderView.MODE_MONTH_PICKER;
+    }
+
+    private static int getLevel(int pickerMode) {
+        switch (pickerMode) {
+            case DateHeaderView.MODE_RANGE_PICKER:
+                return ZoomGrid.LEVEL_RANGE;
+            case DateHeaderView.MODE_CENTURY_PICKER:
+                return ZoomGrid.LEVEL_CENTURY;
+            case DateHeaderView.MODE_DECADE_PICKER:
+                return ZoomGrid.LEVEL_DECADE;
+            case DateHeaderView.MODE_MONTH_PICKER:
+                return ZoomGrid.LEVEL_YEAR;
+            default:
+                throw new IllegalArgumentException("Not a zoom picker mode: " + pickerMode);
+        }
+    }
+
+    public void onPreShow(int pickerMode) {
+        if (mController == null) {
+            return;
+        }
+        mPickerMode = pickerMode;
+        mLevel = getLevel(pickerMode);
+        mAnchorYear = mController.getZoomYear();
+        mGridView.setGrid(mLevel, mAnchorYear);
+        // update title
+        if (mLevel == ZoomGrid.LEVEL_RANGE) {
+            mTitle.setText(getStartYear() + " \u2013 " + getEndYear());
+        } else if (mLevel == ZoomGrid.LEVEL_YEAR) {
+            mTitle.setText(String.valueOf(mAnchorYear));
+        } else {
+            mTitle.setText(ZoomGrid.getFirstYear(mLevel, mAnchorYear) + " \u2013 " + ZoomGrid.getLastYear(mLevel, mAnchorYear));
+        }
+        // the range picker can not zoom out
+        mTitle.setClickable(mLevel != ZoomGrid.LEVEL_RANGE);
+        refreshDirectionalButtons();
+    }
+
+    public void notifyDateChanged() {
+        mGridView.invalidate();
+    }
+
+    private void refreshDirectionalButtons() {
+        int color = mController.getDirectionalButtonColor();
+        int disabledColor = DialogUtils.getTransparentColor(color);
+        mButtonBack.setColorFilter(canMove(-1) ? color : disabledColor);
+        mButtonForward.setColorFilter(canMove(1) ? color : disabledColor);
+    }
+
+    private boolean canMove(int direction) {
+        if (mLevel == ZoomGrid.LEVEL_RANGE) {
+            // already shows every year
+            return false;
+        }
+        return ZoomGrid.canMove(mLevel, mAnchorYear, direction, getStartYear(), getEndYear());
+    }
+
+    @Override
+    public void onClick(View v) {
+        if (v == mButtonBack) {
+            if (canMove(-1)) {
+                mController.onZoomRequested(mPickerMode, mAnchorYear - ZoomGrid.getStep(mLevel));
+            }
+        } else if (v == mButtonForward) {
+            if (canMove(1)) {
+                mController.onZoomRequested(mPickerMode, mAnchorYear + ZoomGrid.getStep(mLevel));
+            }
+        } else if (v == mTitle) {
+            if (mLevel == ZoomGrid.LEVEL_YEAR) {
+                mController.onZoomRequested(DateHeaderView.MODE_DECADE_PICKER, mAnchorYear);
+            } else if (mLevel == ZoomGrid.LEVEL_DECADE && getRangeStep() > 10) {
+                mController.onZoomRequested(DateHeaderView.MODE_CENTURY_PICKER, mAnchorYear);
+            } else {
+                mController.onZoomRequested(DateHeaderView.MODE_RANGE_PICKER, mAnchorYear);
+            }
+        }
+    }
+
+    @Override
+    public void onCellClicked(int level, int value) {
+        switch (level) {
+            case ZoomGrid.LEVEL_RANGE:
+                // decades of the whole range, or the first century of a larger cell
+                int pickerMode = getRangeStep() == 10 ? DateHeaderView.MODE_DECADE_PICKER : DateHeaderView.MODE_CENTURY_PICKER;
+                mController.onZoomRequested(pickerMode, Math.max(value, getStartYear()));
+                break;
+            case ZoomGrid.LEVEL_CENTURY:
+                mController.onZoomRequested(DateHeaderView.MODE_DECADE_PICKER, value);
+                break;
+            case ZoomGrid.LEVEL_DECADE:
+                mController.onZoomRequested(DateHeaderView.MODE_MONTH_PICKER, value);
+                break;
+            case ZoomGrid.LEVEL_YEAR:
+                mController.onMonthChanged(mAnchorYear, value);
+                break;
+        }
+    }
+
+    private int getRangeStep() {
+        return ZoomGrid.getRangeStep(getStartYear(), getEndYear());
+    }
+
+    @Override
+    public int getStartYear() {
+        return mController.getStartYear();
+    }
+
+    @Override
+    public int getEndYear() {
+        return mController.getEndYear();
+    }
+
+    @Override
+    public int getSelectedYear() {
+        return mController.getDateState().getYear();
+    }
+
+    @Override
+    public int getSelectedMonth() {
+        return mController.getDateState().getMonth();
+    }
+
+    @Override
+    public int getTextColor() {
+        return mController.isDarkMode() ? Color.WHITE : Color.BLACK;
+    }
+
+    @Override
+    public int getSelectionColor() {
+        return mController.getSelectionColor();
+    }
+}
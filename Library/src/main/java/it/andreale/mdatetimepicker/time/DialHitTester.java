@@ -0,0 +1,145 @@
+/*
+ * ******************************************************************************
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 AndreAle94
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * *****************************************************************************
+ */
+package it.andreale.mdatetimepicker.time;
+
+/**
+ * Created by AndreAle94
+ *
+ * Resolves a touch on the dial to the hour or minute under it. The ring is tested on squared
+ * distances and the angle comes from an arctangent table, so no square root or
+ * trigonometric function is evaluated per sample.
+ */
+public final class DialHitTester {
+
+    public final static int NO_VALUE = -1;
+
+    public final static float MIN_TOUCH_RADIUS = 0.45f;
+    public final static float INNER_RING_RADIUS = 0.7f;
+
+    private final static int ATAN_STEPS = 1024;
+    // arctangent in degrees of i / ATAN_STEPS
+    private final static float[] ATAN = new float[ATAN_STEPS + 1];
+
+    private final static float DEGREES_FOR_MINUTE = 360f / TimeState.MINUTES_IN_HOUR;
+    private final static float DEGREES_FOR_HOUR = 360f / TimeState.HOURS_HALF_DAY;
+
+    static {
+        for (int i = 0; i <= ATAN_STEPS; i++) {
+            ATAN[i] = (float) Math.toDegrees(Math.atan((double) i / ATAN_STEPS));
+        }
+    }
+
+    private DialHitTester() {
+        // static helpers only
+    }
+
+    private static float atan(float ratio) {
+        float position = ratio * ATAN_STEPS;
+        int index = (int) position;
+        if (index >= ATAN_STEPS) {
+            return ATAN[ATAN_STEPS];
+        }
+        return ATAN[index] + (ATAN[index + 1] - ATAN[index]) * (position - index);
+    }
+
+    /**
+     * @param dx horizontal offset from the center, positive to the right.
+     * @param dy vertical offset from the center, positive downwards.
+     * @return angle in degrees from twelve o'clock, clockwise, from 0 (included) to 360.
+     */
+    public static float getClockwiseAngle(float dx, float dy) {
+        float ax = Math.abs(dx);
+        float ay = Math.abs(dy);
+        if (ax == 0 && ay == 0) {
+            return 0;
+        }
+        // angle from the vertical axis
+        float angle = ax <= ay ? atan(ax / ay) : 90 - atan(ay / ax);
+        if (dy <= 0) {
+            angle = dx >= 0 ? angle : 360 - angle;
+        } else {
+            angle = dx >= 0 ? 180 - angle : 180 + angle;
+        }
+        return angle >= 360 ? 0 : angle;
+    }
+
+    /**
+     * @return the same angle in degrees, from 0 (included) to 360.
+     */
+    public static float normalizeAngle(float angle) {
+        float normalized = angle % 360;
+        if (normalized < 0) {
+            normalized += 360;
+        }
+        return normalized >= 360 ? 0 : normalized;
+    }
+
+    /**
+     * @param type   one of the {@link DialLayout} types.
+     * @param dx     horizontal offset from the center, positive to the right.
+     * @param dy     vertical offset from the center, positive downwards.
+     * @param radius radius of the dial.
+     * @return the hour (0 to 11 for the 12 hour dial, 0 to 23 for the 24 hour dial), the
+     * minute or {@link #NO_VALUE} if the point is outside the selectable ring.
+     */
+    public static int resolve(int type, float dx, float dy, float radius) {
+        return resolveAngle(type, getClockwiseAngle(dx, dy), dx * dx + dy * dy, radius);
+    }
+
+    /**
+     * @param angle    angle in degrees from twelve o'clock, clockwise, from 0 to 360.
+     * @param distance squared distance from the center.
+     * @see #resolve(int, float, float, float)
+     */
+    public static int resolveAngle(int type, float angle, float distance, float radius) {
+        float minDistance = radius * MIN_TOUCH_RADIUS;
+        if (distance <= minDistance * minDistance || distance >= radius * radius) {
+            return NO_VALUE;
+        }
+        switch (type) {
+            case DialLayout.TYPE_MINUTE:
+                return (int) (angle / DEGREES_FOR_MINUTE) % TimeState.MINUTES_IN_HOUR;
+            case DialLayout.TYPE_HOUR_12:
+                return getHour(angle);
+            case DialLayout.TYPE_HOUR_24:
+                int hour = getHour(angle);
+                float innerDistance = radius * INNER_RING_RADIUS;
+                if (distance > innerDistance * innerDistance) {
+                    // outer ring, midnight and evening
+                    return hour != 0 ? hour + TimeState.HOURS_HALF_DAY : 0;
+                }
+                // inner ring, from one to noon
+                return hour == 0 ? TimeState.HOURS_HALF_DAY : hour;
+            default:
+                return NO_VALUE;
+        }
+    }
+
+    private static int getHour(float angle) {
+        // the nearest hour
+        return (int) ((angle + DEGREES_FOR_HOUR / 2) / DEGREES_FOR_HOUR) % TimeState.HOURS_HALF_DAY;
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * ******************************************************************************
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 AndreAle94
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * *****************************************************************************
+ */
+package it.andreale.mdatetimepicker.time;
+
+/**
+ * Created by AndreAle94
+ *
+ * Positions of the dial labels, computed once per dial size and type and kept in primitive
+ * arrays. Angles are looked up in a table of the sixty minute ticks, so drawing the dial
+ * needs no trigonometry.
+ */
+public final class DialLayout {
+
+    public final static int TYPE_NONE = -1;
+    public final static int TYPE_HOUR_12 = 0;
+    public final static int TYPE_HOUR_24 = 1;
+    public final static int TYPE_MINUTE = 2;
+
+    public final static int TICK_COUNT = 60;
+    public final static float OUTER_LABEL_RADIUS = 0.8f;
+    public final static float INNER_LABEL_RADIUS = 0.6f;
+    public final static float TEXT_SIZE = 0.1f;
+
+    private final static int TICKS_FOR_HOUR = TICK_COUNT / TimeState.HOURS_HALF_DAY;
+    private final static int MINUTES_FOR_LABEL = 5;
+
+    // sine and cosine of every tick, clockwise from twelve o'clock
+    private final static float[] SIN = new float[TICK_COUNT];
+    private final static float[] COS = new float[TICK_COUNT];
+    private final static String[] HOUR_LABELS = new String[TimeState.HOURS_IN_DAY];
+    private final static String[] MINUTE_LABELS = new String[TICK_COUNT / MINUTES_FOR_LABEL];
+
+    static {
+        for (int i = 0; i < TICK_COUNT; i++) {
+            double angle = Math.toRadians(i * 360.0 / TICK_COUNT);
+            SIN[i] = (float) Math.sin(angle);
+            COS[i] = (float) Math.cos(angle);
+        }
+        for (int i = 0; i < HOUR_LABELS.length; i++) {
+            HOUR_LABELS[i] = String.valueOf(i);
+        }
+        for (int i = 0; i < MINUTE_LABELS.length; i++) {
+            int minute = i * MINUTES_FOR_LABEL;
+            MINUTE_LABELS[i] = minute < 10 ? "0" + minute : String.valueOf(minute);
+        }
+    }
+
+    private int mType = TYPE_NONE;
+    private float mCenterX;
+    private float mCenterY;
+    private float mRadius;
+
+    private int mCount;
+    private final String[] mLabels = new String[TimeState.HOURS_IN_DAY];
+    private final int[] mValues = new int[TimeState.HOURS_IN_DAY];
+    private final float[] mTextX = new float[TimeState.HOURS_IN_DAY];
+    private final float[] mTextY = new float[TimeState.HOURS_IN_DAY];
+    private final float[] mTextWidth = new float[TimeState.HOURS_IN_DAY];
+    private final float[] mTextHeight = new float[TimeState.HOURS_IN_DAY];
+
+    /**
+     * @return the dial type that shows the given picker mode.
+     */
+    public static int getType(int pickerMode, boolean is24HourMode) {
+        if (pickerMode == TimeHeaderView.MODE_MINUTE_PICKER) {
+            return TYPE_MINUTE;
+        } else if (pickerMode == TimeHeaderView.MODE_HOUR_PICKER) {
+            return is24HourMode ? TYPE_HOUR_24 : TYPE_HOUR_12;
+        }
+        return TYPE_NONE;
+    }
+
+    public static float getSin(int tick) {
+        return SIN[tick];
+    }
+
+    public static float getCos(int tick) {
+        return COS[tick];
+    }
+
+    /**
+     * @return true if the layout must be computed again for the given dial.
+     */
+    public boolean isStale(int type, float cx, float cy, float radius) {
+        return type != mType || cx != mCenterX || cy != mCenterY || radius != mRadius;
+    }
+
+    /**
+     * Computes the text origin of every label, centered on its position on the dial.
+     */
+    public void layout(int type, float cx, float cy, float radius, Measurer measurer) {
+        mType = type;
+        mCenterX = cx;
+        mCenterY = cy;
+        mRadius = radius;
+        switch (type) {
+            case TYPE_HOUR_12:
+                mCount = TimeState.HOURS_HALF_DAY;
+                for (int i = 0; i < mCount; i++) {
+                    // from one to twelve o'clock
+                    int hour = i + 1;
+                    setLabel(i, HOUR_LABELS[hour], hour % TimeState.HOURS_HALF_DAY, OUTER_LABEL_RADIUS, measurer);
+                }
+                break;
+            case TYPE_HOUR_24:
+                mCount = TimeState.HOURS_IN_DAY;
+                for (int i = 0; i < mCount; i++) {
+                    setLabel(i, HOUR_LABELS[i], i, getHourRadius(i), measurer);
+                }
+                break;
+            case TYPE_MINUTE:
+                mCount = MINUTE_LABELS.length;
+                for (int i = 0; i < mCount; i++) {
+                    setLabel(i, MINUTE_LABELS[i], i * MINUTES_FOR_LABEL, OUTER_LABEL_RADIUS, measurer);
+                }
+                break;
+            default:
+                mCount = 0;
+                break;
+        }
+    }
+
+    private void setLabel(int index, String label, int value, float labelRadius, Measurer measurer) {
+        int tick = getTick(value);
+        float x = mCenterX + mRadius * labelRadius * SIN[tick];
+        float y = mCenterY - mRadius * labelRadius * COS[tick];
+        mLabels[index] = label;
+        mValues[index] = value;
+        mTextWidth[index] = measurer.getTextWidth(label);
+        mTextHeight[index] = measurer.getTextHeight(label);
+        mTextX[index] = x - mTextWidth[index] / 2;
+        mTextY[index] = y + mTextHeight[index] / 2;
+    }
+
+    /**
+     * @return the relative radius of the hour in the 24 hour dial.
+     */
+    public static float getHourRadius(int hourOfDay) {
+        return (hourOfDay == 0 || hourOfDay > TimeState.HOURS_HALF_DAY) ? OUTER_LABEL_RADIUS : INNER_LABEL_RADIUS;
+    }
+
+    /**
+     * @return the tick pointed by the given hour or minute on this dial.
+     */
+    public int getTick(int value) {
+        if (mType == TYPE_MINUTE) {
+            return value % TICK_COUNT;
+        }
+        return (value % TimeState.HOURS_HALF_DAY) * TICKS_FOR_HOUR;
+    }
+
+    public int getType() {
+        return mType;
+    }
+
+    public float getCenterX() {
+        return mCenterX;
+    }
+
+    public float getCenterY() {
+        return mCenterY;
+    }
+
+    public float getRadius() {
+        return mRadius;
+    }
+
+    public int getCount() {
+        return mCount;
+    }
+
+    public String getLabel(int index) {
+        return mLabels[index];
+    }
+
+    /**
+     * @return the hour or minute shown by the label.
+     */
+    public int getValue(int index) {
+        return mValues[index];
+    }
+
+    public float getTextX(int index) {
+        return mTextX[index];
+    }
+
+    public float getTextY(int index) {
+        return mTextY[index];
+    }
+
+    public float getTextWidth(int index) {
+        return mTextWidth[index];
+    }
+
+    public float getTextHeight(int index) {
+        return mTextHeight[index];
+    }
+
+    /**
+     * @return the index of the label that shows the given value, or -1 if not labeled.
+     */
+    public int indexOf(int value) {
+        for (int i = 0; i < mCount; i++) {
+            if (mValues[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public interface Measurer {
+
+        float getTextWidth(String text);
+
+        float getTextHeight(String text);
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * ******************************************************************************
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 AndreAle94
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * *****************************************************************************
+ */
+package it.andreale.mdatetimepicker.time;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.view.Choreographer;
+
+/**
+ * Created by AndreAle94
+ *
+ * Collapses any number of change requests into a single callback on the next frame. Uses
+ * {@link Choreographer} when available and a frame delayed {@link Handler} otherwise.
+ */
+public class FrameDispatcher {
+
+    private final Callback mCallback;
+    private final Scheduler mScheduler;
+    private final Runnable mFrame = new Runnable() {
+
+        @Override
+        public void run() {
+            if (mPending) {
+                mPending = false;
+                mFrameCount++;
+                mCallback.onFrame();
+            }
+        }
+    };
+
+    private boolean mPending;
+    private int mRequestCount;
+    private int mFrameCount;
+    private int mCoalescedCount;
+    private int mDroppedCount;
+
+    public FrameDispatcher(Callback callback) {
+        this(callback, createScheduler());
+    }
+
+    FrameDispatcher(Callback callback, Scheduler scheduler) {
+        mCallback = callback;
+        mScheduler = scheduler;
+    }
+
+    private static Scheduler createScheduler() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            return new ChoreographerScheduler();
+        }
+        return new HandlerScheduler();
+    }
+
+    /**
+     * Requests a callback on the next frame, merging it with the pending one if any.
+     */
+    public void dispatch() {
+        mRequestCount++;
+        if (mPending) {
+            mCoalescedCount++;
+            return;
+        }
+        mPending = true;
+        mScheduler.schedule(mFrame);
+    }
+
+    /**
+     * Drops the pending callback, if any.
+     */
+    public void cancel() {
+        if (mPending) {
+            mPending = false;
+            mDroppedCount++;
+            mScheduler.cancel(mFrame);
+        }
+    }
+
+    public boolean isPending() {
+        return mPending;
+    }
+
+    public int getRequestCount() {
+        return mRequestCount;
+    }
+
+    /**
+     * @return the number of callbacks actually dispatched.
+     */
+    public int getFrameCount() {
+        return mFrameCount;
+    }
+
+    /**
+     * @return the number of requests merged into an already pending frame.
+     */
+    public int getCoalescedCount() {
+        return mCoalescedCount;
+    }
+
+    /**
+     * @return the number of pending frames canceled before being dispatched.
+     */
+    public int getDroppedCount() {
+        return mDroppedCount;
+    }
+
+    @Override
+    public String toString() {
+        return "FrameDispatcher[requests=" + mRequestCount + ",frames=" + mFrameCount
+                + ",coalesced=" + mCoalescedCount + ",dropped=" + mDroppedCount + "]";
+    }
+
+    public interface Callback {
+
+        void onFrame();
+    }
+
+    interface Scheduler {
+
+        void schedule(Runnable frame);
+
+        void cancel(Runnable frame);
+    }
+
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+    private static class ChoreographerScheduler implements Scheduler, Choreographer.FrameCallback {
+
+        private Runnable mFrame;
+
+        @Override
+        public void schedule(Runnable frame) {
+            mFrame = frame;
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+
+        @Override
+        public void cancel(Runnable frame) {
+            Choreographer.getInstance().removeFrameCallback(this);
+        }
+
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            mFrame.run();
+        }
+    }
+
+    private static class HandlerScheduler implements Scheduler {
+
+        private final static long FRAME_DELAY = 16;
+
+        private final Handler mHandler = new Handler(Looper.getMainLooper());
+
+        @Override
+        public void schedule(Runnable frame) {
+            mHandler.postDelayed(frame, FRAME_DELAY);
+        }
+
+        @Override
+        public void cancel(Runnable frame) {
+            mHandler.removeCallbacks(frame);
+        }
+    }
+}
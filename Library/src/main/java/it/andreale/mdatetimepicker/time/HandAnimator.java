@@ -0,0 +1,125 @@
+/*
+ * ******************************************************************************
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 AndreAle94
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * *****************************************************************************
+ */
+package it.andreale.mdatetimepicker.time;
+
+/**
+ * Created by AndreAle94
+ *
+ * Moves the hand of the dial between two positions, along the shortest arc. The position is
+ * computed from the frame time, so the animation advances once per drawn frame and never
+ * allocates.
+ */
+public final class HandAnimator {
+
+    public final static long DEFAULT_DURATION = 200;
+
+    private float mFromAngle;
+    private float mFromRadius;
+    private float mToAngle;
+    private float mToRadius;
+    private long mStartTime;
+    private long mDuration;
+    private boolean mRunning;
+
+    private float mAngle;
+    private float mRadius;
+
+    /**
+     * @param fromAngle  angle in degrees from twelve o'clock, clockwise.
+     * @param fromRadius distance of the end of the hand, relative to the dial radius.
+     * @param startTime  time of the first frame in milliseconds.
+     */
+    public void start(float fromAngle, float fromRadius, float toAngle, float toRadius, long startTime, long duration) {
+        if (duration <= 0) {
+            throw new IllegalArgumentException("Duration must be positive");
+        }
+        mFromAngle = fromAngle;
+        mFromRadius = fromRadius;
+        mStartTime = startTime;
+        mDuration = duration;
+        mRunning = true;
+        setTarget(toAngle, toRadius);
+        mAngle = DialHitTester.normalizeAngle(fromAngle);
+        mRadius = fromRadius;
+    }
+
+    /**
+     * Changes the end of the running animation, keeping its progress.
+     */
+    public void setTarget(float toAngle, float toRadius) {
+        float delta = DialHitTester.normalizeAngle(toAngle) - DialHitTester.normalizeAngle(mFromAngle);
+        // shortest way around the dial
+        if (delta > 180) {
+            delta -= 360;
+        } else if (delta <= -180) {
+            delta += 360;
+        }
+        mToAngle = mFromAngle + delta;
+        mToRadius = toRadius;
+    }
+
+    /**
+     * Computes the position of the hand at the given frame time.
+     *
+     * @return true if the animation needs more frames.
+     */
+    public boolean update(long frameTime) {
+        if (!mRunning) {
+            return false;
+        }
+        float progress = (float) (frameTime - mStartTime) / mDuration;
+        if (progress >= 1) {
+            mRunning = false;
+            progress = 1;
+        } else if (progress < 0) {
+            progress = 0;
+        }
+        // decelerate
+        float fraction = 1 - (1 - progress) * (1 - progress);
+        mAngle = DialHitTester.normalizeAngle(mFromAngle + (mToAngle - mFromAngle) * fraction);
+        mRadius = mFromRadius + (mToRadius - mFromRadius) * fraction;
+        return mRunning;
+    }
+
+    public void cancel() {
+        mRunning = false;
+    }
+
+    public boolean isRunning() {
+        return mRunning;
+    }
+
+    /**
+     * @return angle in degrees from twelve o'clock, clockwise, from 0 (included) to 360.
+     */
+    public float getAngle() {
+        return mAngle;
+    }
+
+    public float getRadius() {
+        return mRadius;
+    }
+}
@@ -26,28 +26,54 @@
 package it.andreale.mdatetimepicker.time;
 
 import android.content.Context;
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
+import android.graphics.Color;
 import android.graphics.Paint;
 import android.graphics.Rect;
+import android.os.Build;
+import android.support.v4.view.ViewCompat;
 import android.util.AttributeSet;
 import android.view.MotionEvent;
 import android.view.View;
-
-import java.util.Calendar;
+import android.view.animation.AnimationUtils;
 
 /**
  * Created by AndreAle94
  */
-public class RadialSelectorView extends View implements View.OnTouchListener {
-
-    private final static int DEGREES_FOR_MINUTE = 6;
-    private final static int DEGREES_FOR_HOUR = 15;
+public class RadialSelectorView extends View implements View.OnTouchListener, DialLayout.Measurer {
 
     private TimePickerController mController;
 
     private Paint mPaint;
     private Rect mRect;
     private int mPickerMode;
+    private DialLayout mDialLayout;
+
+    // background circle and labels, shared by all the frames of a drag
+    private Bitmap mFace;
+    private Canvas mFaceCanvas;
+    private boolean mFaceValid;
+    private boolean mFaceDisabled;
+    private int mFaceCircleColor;
+    private int mFaceTextColor;
+
+    // area painted by the selector in the last frame and scratch area to invalidate
+    private SelectorBounds mDrawnBounds;
+    private SelectorBounds mDirtyBounds;
+
+    // low latency input mode
+    private TouchPredictor mPredictor;
+
+    // hand as drawn in the last frame, the angle is clockwise from twelve o'clock
+    private HandAnimator mHandAnimator;
+    private boolean mAnimatePending;
+    private float mHandAngle;
+    private float mHandRadius;
+    private float mHandX;
+    private float mHandY;
+
+    private MetricsListener mMetricsListener;
 
     public RadialSelectorView(Context context) {
         super(context);
@@ -69,6 +95,11 @@ public class RadialSelectorView extends View implements View.OnTouchListener {
         mPaint.setAntiAlias(true);
         mRect = new Rect();
         mPickerMode = TimeHeaderView.MODE_UNINITIALIZED;
+        mDialLayout = new DialLayout();
+        mDrawnBounds = new SelectorBounds();
+        mDirtyBounds = new SelectorBounds();
+        mPredictor = new TouchPredictor();
+        mHandAnimator = new HandAnimator();
         setOnTouchListener(this);
     }
 
@@ -77,15 +108,42 @@ public class RadialSelectorView extends View implements View.OnTouchListener {
     }
 
     public void notifyPickerModeChanged(int pickerMode) {
+        if (pickerMode != mPickerMode && !mDrawnBounds.isEmpty()) {
+            // move the hand from the old dial to the new one
+            mAnimatePending = true;
+        }
         mPickerMode = pickerMode;
         invalidate();
     }
 
-    private float getTextWidth(String text) {
+    /**
+     * @param listener notified with the cost of every drawn frame, null to disable.
+     */
+    public void setMetricsListener(MetricsListener listener) {
+        mMetricsListener = listener;
+    }
+
+    /**
+     * Invalidates only the area covered by the selector before and after the change.
+     */
+    public void notifySelectionChanged() {
+        if (mController == null || mDrawnBounds.isEmpty() || mAnimatePending || mHandAnimator.isRunning()
+                || DialLayout.getType(mPickerMode, mController.is24HourMode()) != mDialLayout.getType()) {
+            invalidate();
+            return;
+        }
+        mDirtyBounds.set(mDialLayout, getSelectedValue());
+        mDirtyBounds.union(mDrawnBounds);
+        invalidate(mDirtyBounds.getLeft(), mDirtyBounds.getTop(), mDirtyBounds.getRight(), mDirtyBounds.getBottom());
+    }
+
+    @Override
+    public float getTextWidth(String text) {
         return mPaint.measureText(text);
     }
 
-    private float getTextHeight(String text) {
+    @Override
+    public float getTextHeight(String text) {
         mPaint.getTextBounds(text, 0, text.length(), mRect);
         return mRect.height();
     }
@@ -93,6 +151,15 @@ public class RadialSelectorView extends View implements View.OnTouchListener {
     @Override
     protected void onDraw(Canvas c) {
         super.onDraw(c);
+        long startTime = mMetricsListener != null ? System.nanoTime() : 0;
+        drawDial(c);
+        if (mMetricsListener != null) {
+            mMetricsListener.onFrameDrawn(System.nanoTime() - startTime, mHandAnimator.isRunning());
+        }
+    }
+
+    private void drawDial(Canvas c) {
+        mDrawnBounds.setEmpty();
         int width = getMeasuredWidth();
         int height = getMeasuredHeight();
         if (Math.min(width, height) == 0) {
@@ -115,10 +182,122 @@ public class RadialSelectorView extends View implements View.OnTouchListener {
         // calculate circle center coordinates
         float centerX = getPaddingLeft() + (drawableWidth / 2);
         float centerY = getPaddingTop() + (drawableHeight / 2);
-        // draw background circle
-        onDrawBackgroundCircle(c, centerX, centerY, circleRadius);
+        // labels are laid out again only when the dial changes
+        int type = DialLayout.getType(mPickerMode, mController.is24HourMode());
+        if (mDialLayout.isStale(type, centerX, centerY, circleRadius)) {
+            mPaint.setTextSize(circleRadius * DialLayout.TEXT_SIZE);
+            mDialLayout.layout(type, centerX, centerY, circleRadius, this);
+            mFaceValid = false;
+        }
+        // only the hand and the selected label change while dragging
+        if (!drawCachedFace(c, width, height)) {
+            onDrawFace(c, centerX, centerY, circleRadius);
+        }
+        boolean animating = updateHand(AnimationUtils.currentAnimationTimeMillis());
         onDrawSelector(c, centerX, centerY, circleRadius);
-        onDrawNumbers(c, centerX, centerY, circleRadius);
+        // keep the labels above the selector, as they were before the face was cached
+        onDrawCoveredNumbers(c, circleRadius * SelectorBounds.END_RADIUS, animating ? -1 : mDialLayout.indexOf(getSelectedValue()));
+        if (animating) {
+            // the label is highlighted once the hand reaches it
+            mDrawnBounds.set(mDialLayout, mHandX, mHandY, -1);
+            ViewCompat.postInvalidateOnAnimation(this);
+        } else {
+            onDrawSelectedNumber(c);
+            mDrawnBounds.set(mDialLayout, getSelectedValue());
+        }
+    }
+
+    /**
+     * Computes the position of the hand in this frame.
+     *
+     * @return true if the hand is still moving to the selected value.
+     */
+    private boolean updateHand(long frameTime) {
+        int value = getSelectedValue();
+        int tick = mDialLayout.getTick(value);
+        float angle = tick * (360f / DialLayout.TICK_COUNT);
+        float handRadius = DialLayout.OUTER_LABEL_RADIUS;
+        if (mDialLayout.getType() == DialLayout.TYPE_HOUR_24) {
+            handRadius = DialLayout.getHourRadius(value);
+        }
+        if (mAnimatePending) {
+            mAnimatePending = false;
+            mHandAnimator.start(mHandAngle, mHandRadius, angle, handRadius, frameTime, HandAnimator.DEFAULT_DURATION);
+        } else if (mHandAnimator.isRunning()) {
+            mHandAnimator.setTarget(angle, handRadius);
+        }
+        float radius = mDialLayout.getRadius();
+        if (mHandAnimator.isRunning()) {
+            boolean running = mHandAnimator.update(frameTime);
+            mHandAngle = mHandAnimator.getAngle();
+            mHandRadius = mHandAnimator.getRadius();
+            double radians = Math.toRadians(mHandAngle);
+            mHandX = mDialLayout.getCenterX() + radius * mHandRadius * (float) Math.sin(radians);
+            mHandY = mDialLayout.getCenterY() - radius * mHandRadius * (float) Math.cos(radians);
+            if (running) {
+                return true;
+            }
+        }
+        // rest on the selected value
+        mHandAngle = angle;
+        mHandRadius = handRadius;
+        mHandX = mDialLayout.getCenterX() + radius * handRadius * DialLayout.getSin(tick);
+        mHandY = mDialLayout.getCenterY() - radius * handRadius * DialLayout.getCos(tick);
+        return false;
+    }
+
+    private boolean drawCachedFace(Canvas c, int width, int height) {
+        if (mFaceDisabled) {
+            return false;
+        }
+        int circleColor = mController.getCircleBackgroundColor();
+        int textColor = mController.getDefaultTextColor();
+        if (circleColor != mFaceCircleColor || textColor != mFaceTextColor) {
+            mFaceCircleColor = circleColor;
+            mFaceTextColor = textColor;
+            mFaceValid = false;
+        }
+        if (mFace == null || mFace.getWidth() != width || mFace.getHeight() != height) {
+            releaseFace();
+            try {
+                mFace = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+            } catch (OutOfMemoryError e) {
+                // draw the face directly from now on
+                mFaceDisabled = true;
+                return false;
+            }
+            mFaceCanvas = new Canvas(mFace);
+        }
+        if (!mFaceValid) {
+            mFace.eraseColor(Color.TRANSPARENT);
+            onDrawFace(mFaceCanvas, mDialLayout.getCenterX(), mDialLayout.getCenterY(), mDialLayout.getRadius());
+            mFaceValid = true;
+        }
+        c.drawBitmap(mFace, 0, 0, null);
+        return true;
+    }
+
+    private void releaseFace() {
+        if (mFace != null) {
+            mFace.recycle();
+            mFace = null;
+            mFaceCanvas = null;
+        }
+        mFaceValid = false;
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        releaseFace();
+        super.onDetachedFromWindow();
+    }
+
+    /**
+     * Draws the parts of the dial that do not depend on the selected time.
+     */
+    protected void onDrawFace(Canvas c, float cx, float cy, float radius) {
+        onDrawBackgroundCircle(c, cx, cy, radius);
+        onDrawNumbers(c, cx, cy, radius);
     }
 
     protected void onDrawBackgroundCircle(Canvas c, float cx, float cy, float radius) {
@@ -126,84 +305,64 @@ public class RadialSelectorView extends View implements View.OnTouchListener {
         c.drawCircle(cx, cy, radius, mPaint);
     }
 
+    private int getSelectedValue() {
+        TimeState timeState = mController.getTimeState();
+        switch (mDialLayout.getType()) {
+            case DialLayout.TYPE_MINUTE:
+                return timeState.getMinute();
+            case DialLayout.TYPE_HOUR_24:
+                return timeState.getHourOfDay();
+            default:
+                return timeState.getHour();
+        }
+    }
+
     protected void onDrawSelector(Canvas c, float cx, float cy, float radius) {
         mPaint.setColor(mController.getSelectorColor());
         // draw center circle
-        c.drawCircle(cx, cy, radius / 40, mPaint);
-        // calculate center of secondary circle
-        int degrees = 0;
-        float fixedRadius = radius * 0.8f;
-        if (mPickerMode == TimeHeaderView.MODE_MINUTE_PICKER) {
-            int minute = mController.getSelectedTime().get(Calendar.MINUTE);
-            degrees = DEGREES_FOR_MINUTE * minute;
-        } else if (mPickerMode == TimeHeaderView.MODE_HOUR_PICKER) {
-            Calendar calendar = mController.getSelectedTime();
-            int hour = calendar.get(Calendar.HOUR_OF_DAY);
-            degrees = DEGREES_FOR_HOUR * 2 * hour;
-            if (mController.is24HourMode()) {
-                if (hour > 0 && hour < 13) {
-                    fixedRadius = radius * 0.6f;
-                }
-            }
-        }
-        double fixedAngle = Math.toRadians(90 - degrees);
-        float centerX = (float) (cx + fixedRadius * Math.cos(fixedAngle));
-        float centerY = (float) (cy - fixedRadius * Math.sin(fixedAngle));
-        c.drawCircle(centerX, centerY, radius * 0.15f, mPaint);
+        c.drawCircle(cx, cy, radius * SelectorBounds.CENTER_RADIUS, mPaint);
+        // draw secondary circle, where the hand is in this frame
+        c.drawCircle(mHandX, mHandY, radius * SelectorBounds.END_RADIUS, mPaint);
         // draw line
-        mPaint.setStrokeWidth(radius / 80);
-        c.drawLine(cx, cy, centerX, centerY, mPaint);
+        mPaint.setStrokeWidth(radius * SelectorBounds.HAND_WIDTH);
+        c.drawLine(cx, cy, mHandX, mHandY, mPaint);
     }
 
     protected void onDrawNumbers(Canvas c, float cx, float cy, float radius) {
-        mPaint.setTextSize(radius * 0.1f);
-        if (mPickerMode == TimeHeaderView.MODE_MINUTE_PICKER) {
-            int minute = mController.getSelectedTime().get(Calendar.MINUTE);
-            for (int i = 0; i < 60; i += 5) {
-                // calculate coordinates
-                int degrees = DEGREES_FOR_MINUTE * i;
-                double fixedAngle = Math.toRadians(90 - degrees);
-                float centerX = (float) (cx + radius * 0.8f * Math.cos(fixedAngle));
-                float centerY = (float) (cy - radius * 0.8f * Math.sin(fixedAngle));
-                String number = String.valueOf(i);
-                if (i < 10) {
-                    number = "0" + number;
-                }
-                onDrawNumber(c, centerX, centerY, number, i == minute);
+        mPaint.setColor(mController.getDefaultTextColor());
+        for (int i = 0; i < mDialLayout.getCount(); i++) {
+            c.drawText(mDialLayout.getLabel(i), mDialLayout.getTextX(i), mDialLayout.getTextY(i), mPaint);
+        }
+    }
+
+    /**
+     * Draws again the labels of the face that intersect the end circle of the hand, except the
+     * selected one.
+     */
+    protected void onDrawCoveredNumbers(Canvas c, float endRadius, int selectedIndex) {
+        mPaint.setColor(mController.getDefaultTextColor());
+        float radiusSq = endRadius * endRadius;
+        for (int i = 0; i < mDialLayout.getCount(); i++) {
+            if (i == selectedIndex) {
+                continue;
             }
-        } else if (mPickerMode == TimeHeaderView.MODE_HOUR_PICKER) {
-            Calendar calendar = mController.getSelectedTime();
-            if (mController.is24HourMode()) {
-                int hour = calendar.get(Calendar.HOUR_OF_DAY);
-                for (int i = 0; i <= 23; i++) {
-                    int degrees = DEGREES_FOR_HOUR * 2 * i;
-                    double fixedAngle = Math.toRadians(90 - degrees);
-                    float offset = (i == 0 || i > 12) ? 0.8f : 0.6f;
-                    float centerX = (float) (cx + radius * offset * Math.cos(fixedAngle));
-                    float centerY = (float) (cy - radius * offset * Math.sin(fixedAngle));
-                    String number = String.valueOf(i);
-                    onDrawNumber(c, centerX, centerY, number, i == hour);
-                }
-            } else {
-                int hour = calendar.get(Calendar.HOUR);
-                for (int i = 1; i <= 12; i++) {
-                    int degrees = DEGREES_FOR_HOUR * 2 * i;
-                    double fixedAngle = Math.toRadians(90 - degrees);
-                    float centerX = (float) (cx + radius * 0.8f * Math.cos(fixedAngle));
-                    float centerY = (float) (cy - radius * 0.8f * Math.sin(fixedAngle));
-                    String number = String.valueOf(i);
-                    onDrawNumber(c, centerX, centerY, number, i % 12 == hour);
-                }
+            float left = mDialLayout.getTextX(i);
+            float bottom = mDialLayout.getTextY(i);
+            // closest point of the label box to the circle center
+            float dx = Math.max(left, Math.min(mHandX, left + mDialLayout.getTextWidth(i))) - mHandX;
+            float dy = Math.max(bottom - mDialLayout.getTextHeight(i), Math.min(mHandY, bottom)) - mHandY;
+            if (dx * dx + dy * dy < radiusSq) {
+                c.drawText(mDialLayout.getLabel(i), left, bottom, mPaint);
             }
         }
     }
 
-    protected void onDrawNumber(Canvas c, float cx, float cy, String number, boolean selected) {
-        mPaint.setColor(selected ? mController.getSelectedTextColor() : mController.getDefaultTextColor());
-        // measure text to get bottom-left coordinates
-        float x = cx - (getTextWidth(number) / 2);
-        float y = cy + (getTextHeight(number) / 2);
-        c.drawText(number, x, y, mPaint);
+    protected void onDrawSelectedNumber(Canvas c) {
+        int index = mDialLayout.indexOf(getSelectedValue());
+        if (index >= 0) {
+            mPaint.setColor(mController.getSelectedTextColor());
+            c.drawText(mDialLayout.getLabel(index), mDialLayout.getTextX(index), mDialLayout.getTextY(index), mPaint);
+        }
     }
 
     private boolean mTracking;
@@ -213,22 +372,47 @@ public class RadialSelectorView extends View implements View.OnTouchListener {
         switch (event.getAction()) {
             case MotionEvent.ACTION_DOWN:
                 mTracking = true;
-                onMove(event.getX(), event.getY());
+                mPredictor.reset();
+                if (isLowLatencyInput() && Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+                    // receive every sample as soon as it arrives instead of once per frame
+                    requestUnbufferedDispatch(event);
+                }
+                // a tap may jump far from the current value
+                onMove(event, TouchPredictor.DEFAULT_LEAD, true);
                 break;
             case MotionEvent.ACTION_MOVE:
                 if (mTracking) {
-                    onMove(event.getX(), event.getY());
+                    onMove(event, TouchPredictor.DEFAULT_LEAD, false);
                 }
                 break;
             case MotionEvent.ACTION_UP:
+                if (mTracking && isLowLatencyInput()) {
+                    // settle where the finger was lifted, not where it was expected to go
+                    onMove(event, 0, false);
+                }
+                mTracking = false;
+                break;
             case MotionEvent.ACTION_CANCEL:
+                if (mTracking && isLowLatencyInput() && !mPredictor.isEmpty()) {
+                    // the cancel position is not a real sample, settle on the last one
+                    onMove(null, 0, false);
+                }
                 mTracking = false;
                 break;
         }
         return true;
     }
 
-    private void onMove(float x, float y) {
+    private boolean isLowLatencyInput() {
+        return mController != null && mController.isLowLatencyInputEnabled();
+    }
+
+    /**
+     * @param event   the new samples, or null to resolve again the samples already seen.
+     * @param lead    milliseconds the hand is extrapolated ahead in low latency input mode.
+     * @param animate true to animate the hand to the new value.
+     */
+    private void onMove(MotionEvent event, long lead, boolean animate) {
         int width = getMeasuredWidth();
         int height = getMeasuredHeight();
         if (Math.min(width, height) == 0) {
@@ -239,6 +423,11 @@ public class RadialSelectorView extends View implements View.OnTouchListener {
             // skip check
             return;
         }
+        int type = DialLayout.getType(mPickerMode, mController.is24HourMode());
+        if (type == DialLayout.TYPE_NONE) {
+            // skip check
+            return;
+        }
         // calculate real size
         float drawableWidth = width - (getPaddingRight() + getPaddingLeft());
         float drawableHeight = height - (getPaddingTop() + getPaddingBottom());
@@ -247,56 +436,54 @@ public class RadialSelectorView extends View implements View.OnTouchListener {
         // calculate circle center coordinates
         float centerX = getPaddingLeft() + (drawableWidth / 2);
         float centerY = getPaddingTop() + (drawableHeight / 2);
-        // calculate point distance
-        float distance = (float) Math.sqrt(Math.pow(x - centerX, 2) + Math.pow(y - centerY, 2));
-        // check picker mode
-        if (mPickerMode == TimeHeaderView.MODE_HOUR_PICKER) {
-            if (mController.is24HourMode()) {
-                if (distance > circleRadius * 0.45f && distance < circleRadius) {
-                    // calculate angle
-                    double degrees = Math.toDegrees(Math.atan2(centerY - y, x - centerX));
-                    float fixedAngle = 450 - (float) degrees + (DEGREES_FOR_HOUR);
-                    int hour = ((int) fixedAngle / (DEGREES_FOR_HOUR * 2)) % 12;
-                    if (distance > circleRadius * 0.7f) {
-                        if (hour != 0) {
-                            hour += 12;
-                        }
-                    } else {
-                        if (hour == 0) {
-                            hour = 12;
-                        }
-                    }
-                    Calendar calendar = mController.getSelectedTime();
-                    if (hour != calendar.get(Calendar.HOUR_OF_DAY)) {
-                        calendar.set(Calendar.HOUR_OF_DAY, hour);
-                        mController.onTimeChanged();
-                    }
-                }
-            } else {
-                if (distance > circleRadius * 0.45f && distance < circleRadius) {
-                    // calculate angle
-                    double degrees = Math.toDegrees(Math.atan2(centerY - y, x - centerX));
-                    float fixedAngle = 450 - (float) degrees + (DEGREES_FOR_HOUR);
-                    int hour = ((int) fixedAngle / (DEGREES_FOR_HOUR * 2)) % 12;
-                    Calendar calendar = mController.getSelectedTime();
-                    if (hour != calendar.get(Calendar.HOUR)) {
-                        calendar.set(Calendar.HOUR, hour);
-                        mController.onTimeChanged();
-                    }
+        int value = DialHitTester.NO_VALUE;
+        if (mController.isLowLatencyInputEnabled()) {
+            // every sample feeds the velocity of the drag
+            if (event != null) {
+                for (int i = 0; i < event.getHistorySize(); i++) {
+                    mPredictor.addSample(event.getHistoricalX(i) - centerX, event.getHistoricalY(i) - centerY,
+                            event.getHistoricalEventTime(i));
                 }
+                mPredictor.addSample(event.getX() - centerX, event.getY() - centerY, event.getEventTime());
             }
-        } else if (mPickerMode == TimeHeaderView.MODE_MINUTE_PICKER) {
-            if (distance > circleRadius * 0.45f && distance < circleRadius) {
-                // calculate angle
-                double degrees = Math.toDegrees(Math.atan2(centerY - y, x - centerX));
-                float fixedAngle = 450 - (float) degrees;
-                int minute = ((int) fixedAngle / DEGREES_FOR_MINUTE) % 60;
-                Calendar calendar = mController.getSelectedTime();
-                if (minute != calendar.get(Calendar.MINUTE)) {
-                    calendar.set(Calendar.MINUTE, minute);
-                    mController.onTimeChanged();
-                }
+            value = DialHitTester.resolveAngle(type, mPredictor.predictAngle(lead), mPredictor.getDistance(), circleRadius);
+        } else if (event != null) {
+            // only the latest sample inside the ring matters, older batched samples are skipped
+            value = DialHitTester.resolve(type, event.getX() - centerX, event.getY() - centerY, circleRadius);
+            for (int i = event.getHistorySize() - 1; i >= 0 && value == DialHitTester.NO_VALUE; i--) {
+                value = DialHitTester.resolve(type, event.getHistoricalX(i) - centerX,
+                        event.getHistoricalY(i) - centerY, circleRadius);
+            }
+        }
+        if (value != DialHitTester.NO_VALUE && setSelectedValue(type, value)) {
+            if (animate && !mDrawnBounds.isEmpty()) {
+                mAnimatePending = true;
             }
+            mController.onTimeChanged();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * @return true if the selected time changed.
+     */
+    private boolean setSelectedValue(int type, int value) {
+        TimeState timeState = mController.getTimeState();
+        switch (type) {
+            case DialLayout.TYPE_MINUTE:
+                return timeState.setMinute(value);
+            case DialLayout.TYPE_HOUR_24:
+                return timeState.setHourOfDay(value);
+            default:
+                return timeState.setHour(value);
+        }
+    }
+
+    public interface MetricsListener {
+
+        /**
+         * @param drawTime  nanoseconds spent drawing the dial.
+         * @param animating true if the hand is moving between two values.
+         */
+        void onFrameDrawn(long drawTime, boolean animating);
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * ******************************************************************************
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 AndreAle94
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * *****************************************************************************
+ */
+package it.andreale.mdatetimepicker.time;
+
+/**
+ * Created by AndreAle94
+ *
+ * Bounding box of everything that depends on the selected value: the center dot, the hand,
+ * the end circle and the highlighted label. Coordinates are rounded outward to whole pixels.
+ */
+public final class SelectorBounds {
+
+    public final static float CENTER_RADIUS = 1 / 40f;
+    public final static float END_RADIUS = 0.15f;
+    public final static float HAND_WIDTH = 1 / 80f;
+
+    // antialiasing may touch the pixel next to the geometry
+    private final static int INSET = 1;
+
+    private boolean mEmpty = true;
+    private float mLeft;
+    private float mTop;
+    private float mRight;
+    private float mBottom;
+
+    /**
+     * Computes the bounds of the selector pointing at the given value of the dial.
+     */
+    public void set(DialLayout layout, int value) {
+        float cx = layout.getCenterX();
+        float cy = layout.getCenterY();
+        float radius = layout.getRadius();
+        int tick = layout.getTick(value);
+        float fixedRadius = radius * DialLayout.OUTER_LABEL_RADIUS;
+        if (layout.getType() == DialLayout.TYPE_HOUR_24) {
+            fixedRadius = radius * DialLayout.getHourRadius(value);
+        }
+        float endX = cx + fixedRadius * DialLayout.getSin(tick);
+        float endY = cy - fixedRadius * DialLayout.getCos(tick);
+        set(layout, endX, endY, layout.indexOf(value));
+    }
+
+    /**
+     * Computes the bounds of a selector ending at the given point, as drawn while animating.
+     *
+     * @param labelIndex index of the highlighted label, or -1 if none.
+     */
+    public void set(DialLayout layout, float endX, float endY, int labelIndex) {
+        float cx = layout.getCenterX();
+        float cy = layout.getCenterY();
+        float radius = layout.getRadius();
+        // center dot and hand stroke
+        float centerRadius = Math.max(radius * CENTER_RADIUS, radius * HAND_WIDTH / 2);
+        mEmpty = true;
+        union(cx - centerRadius, cy - centerRadius, cx + centerRadius, cy + centerRadius);
+        // end circle, wider than the hand stroke
+        float endRadius = radius * END_RADIUS;
+        union(endX - endRadius, endY - endRadius, endX + endRadius, endY + endRadius);
+        // highlighted label
+        if (labelIndex >= 0) {
+            float textX = layout.getTextX(labelIndex);
+            float textY = layout.getTextY(labelIndex);
+            union(textX, textY - layout.getTextHeight(labelIndex), textX + layout.getTextWidth(labelIndex), textY);
+        }
+    }
+
+    public void set(SelectorBounds bounds) {
+        mEmpty = bounds.mEmpty;
+        mLeft = bounds.mLeft;
+        mTop = bounds.mTop;
+        mRight = bounds.mRight;
+        mBottom = bounds.mBottom;
+    }
+
+    public void setEmpty() {
+        mEmpty = true;
+    }
+
+    public void union(SelectorBounds bounds) {
+        if (!bounds.mEmpty) {
+            union(bounds.mLeft, bounds.mTop, bounds.mRight, bounds.mBottom);
+        }
+    }
+
+    private void union(float left, float top, float right, float bottom) {
+        if (mEmpty) {
+            mEmpty = false;
+            mLeft = left;
+            mTop = top;
+            mRight = right;
+            mBottom = bottom;
+        } else {
+            mLeft = Math.min(mLeft, left);
+            mTop = Math.min(mTop, top);
+            mRight = Math.max(mRight, right);
+            mBottom = Math.max(mBottom, bottom);
+        }
+    }
+
+    public boolean isEmpty() {
+        return mEmpty;
+    }
+
+    public int getLeft() {
+        return (int) Math.floor(mLeft) - INSET;
+    }
+
+    public int getTop() {
+        return (int) Math.floor(mTop) - INSET;
+    }
+
+    public int getRight() {
+        return (int) Math.ceil(mRight) + INSET;
+    }
+
+    public int getBottom() {
+        return (int) Math.ceil(mBottom) + INSET;
+    }
+}
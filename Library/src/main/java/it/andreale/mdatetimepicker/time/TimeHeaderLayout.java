@@ -0,0 +1,269 @@
+/*
+ * ******************************************************************************
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 AndreAle94
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * *****************************************************************************
+ */
+package it.andreale.mdatetimepicker.time;
+
+/**
+ * Created by AndreAle94
+ *
+ * Geometry of the time header. The time slots are as wide as the widest digits, so the
+ * measured size never depends on the shown time and updates only need a redraw.
+ */
+public final class TimeHeaderLayout {
+
+    public final static int TARGET_NONE = -1;
+    public final static int TARGET_HOUR = 0;
+    public final static int TARGET_MINUTE = 1;
+    public final static int TARGET_AM = 2;
+    public final static int TARGET_PM = 3;
+
+    private final static String[] HOUR_LABELS = new String[TimeState.HOURS_IN_DAY];
+    private final static String[] TWO_DIGITS = new String[TimeState.MINUTES_IN_HOUR];
+
+    static {
+        for (int i = 0; i < HOUR_LABELS.length; i++) {
+            HOUR_LABELS[i] = String.valueOf(i);
+        }
+        for (int i = 0; i < TWO_DIGITS.length; i++) {
+            TWO_DIGITS[i] = i < 10 ? "0" + i : String.valueOf(i);
+        }
+    }
+
+    // time line
+    private float mDigitWidth;
+    private float mColonWidth;
+    private float mTimeAscent;
+    private float mTimeHeight;
+    // am and pm column
+    private float mModeWidth;
+    private float mModeAscent;
+    private float mModeHeight;
+
+    private float mPadding;
+    private boolean mShowMode;
+    private boolean mStacked;
+
+    private float mTimeLeft;
+    private float mTimeTop;
+    private float mModeLeft;
+    private float mModeTop;
+
+    public static String getHourLabel(int hour) {
+        return HOUR_LABELS[hour];
+    }
+
+    /**
+     * @return the value padded to two digits, from "00" to "59".
+     */
+    public static String getTwoDigits(int value) {
+        return TWO_DIGITS[value];
+    }
+
+    /**
+     * @param digitWidth width of the widest digit.
+     * @param ascent distance from the top of the line to the baseline.
+     */
+    public void setTimeMetrics(float digitWidth, float colonWidth, float ascent, float height) {
+        mDigitWidth = digitWidth;
+        mColonWidth = colonWidth;
+        mTimeAscent = ascent;
+        mTimeHeight = height;
+    }
+
+    /**
+     * @param width width of the widest between am and pm.
+     * @param ascent distance from the top of the line to the baseline.
+     */
+    public void setModeMetrics(float width, float ascent, float height) {
+        mModeWidth = width;
+        mModeAscent = ascent;
+        mModeHeight = height;
+    }
+
+    /**
+     * @param stacked true to show am and pm below the time instead of on its right.
+     */
+    public void setArrangement(float padding, boolean stacked) {
+        mPadding = padding;
+        mStacked = stacked;
+    }
+
+    /**
+     * @return true if the measured size changed.
+     */
+    public boolean setShowMode(boolean showMode) {
+        if (mShowMode != showMode) {
+            mShowMode = showMode;
+            return true;
+        }
+        return false;
+    }
+
+    public boolean isShowMode() {
+        return mShowMode;
+    }
+
+    private float getTimeWidth() {
+        return 4 * mDigitWidth + mColonWidth;
+    }
+
+    private float getTimeGroupWidth() {
+        return mStacked ? getTimeWidth() : getTimeWidth() + 2 * mPadding;
+    }
+
+    private float getTimeGroupHeight() {
+        return mStacked ? mTimeHeight : mTimeHeight + 2 * mPadding;
+    }
+
+    private float getModeGroupWidth() {
+        return mShowMode ? mModeWidth + 2 * mPadding : 0;
+    }
+
+    private float getModeGroupHeight() {
+        return mShowMode ? 2 * mModeHeight + 2 * mPadding : 0;
+    }
+
+    public float getDesiredWidth() {
+        if (mStacked) {
+            return Math.max(getTimeGroupWidth(), getModeGroupWidth());
+        }
+        return getTimeGroupWidth() + getModeGroupWidth();
+    }
+
+    public float getDesiredHeight() {
+        if (mStacked) {
+            return getTimeGroupHeight() + getModeGroupHeight();
+        }
+        return Math.max(getTimeGroupHeight(), getModeGroupHeight());
+    }
+
+    /**
+     * Places the time and the am and pm column inside the given bounds.
+     */
+    public void layout(float left, float top, float right, float bottom) {
+        float width = right - left;
+        float height = bottom - top;
+        if (mStacked) {
+            // time centered horizontally, am and pm below
+            float blockTop = top + (height - getDesiredHeight()) / 2;
+            mTimeLeft = left + (width - getTimeWidth()) / 2;
+            mTimeTop = blockTop;
+            mModeLeft = left + (width - mModeWidth) / 2;
+            mModeTop = blockTop + getTimeGroupHeight() + mPadding;
+        } else {
+            // time centered, am and pm on its right
+            float groupLeft = left + (width - getTimeGroupWidth()) / 2;
+            mTimeLeft = groupLeft + mPadding;
+            mTimeTop = top + (height - getTimeGroupHeight()) / 2 + mPadding;
+            mModeLeft = groupLeft + getTimeGroupWidth() + mPadding;
+            mModeTop = top + (height - getModeGroupHeight()) / 2 + mPadding;
+        }
+    }
+
+    /**
+     * @return the right edge of the hour, that is drawn aligned to the colon.
+     */
+    public float getHourRight() {
+        return mTimeLeft + 2 * mDigitWidth;
+    }
+
+    public float getColonLeft() {
+        return getHourRight();
+    }
+
+    public float getMinuteLeft() {
+        return getColonLeft() + mColonWidth;
+    }
+
+    public float getTimeBaseline() {
+        return mTimeTop + mTimeAscent;
+    }
+
+    public float getModeLeft() {
+        return mModeLeft;
+    }
+
+    public float getAmBaseline() {
+        return mModeTop + mModeAscent;
+    }
+
+    public float getPmBaseline() {
+        return mModeTop + mModeHeight + mModeAscent;
+    }
+
+    /**
+     * Fills the bounds of a target as left, top, right and bottom.
+     *
+     * @return false if the target is not shown.
+     */
+    public boolean getTargetBounds(int target, float[] bounds) {
+        switch (target) {
+            case TARGET_HOUR:
+                return setBounds(bounds, mTimeLeft, mTimeTop, getHourRight(), mTimeTop + mTimeHeight);
+            case TARGET_MINUTE:
+                float minuteLeft = getMinuteLeft();
+                return setBounds(bounds, minuteLeft, mTimeTop, minuteLeft + 2 * mDigitWidth, mTimeTop + mTimeHeight);
+            case TARGET_AM:
+                return mShowMode && setBounds(bounds, mModeLeft, mModeTop, mModeLeft + mModeWidth, mModeTop + mModeHeight);
+            case TARGET_PM:
+                float pmTop = mModeTop + mModeHeight;
+                return mShowMode && setBounds(bounds, mModeLeft, pmTop, mModeLeft + mModeWidth, pmTop + mModeHeight);
+            default:
+                return false;
+        }
+    }
+
+    private static boolean setBounds(float[] bounds, float left, float top, float right, float bottom) {
+        bounds[0] = left;
+        bounds[1] = top;
+        bounds[2] = right;
+        bounds[3] = bottom;
+        return true;
+    }
+
+    /**
+     * @return the element under the given point, one of the TARGET constants.
+     */
+    public int hitTest(float x, float y) {
+        if (y >= mTimeTop && y < mTimeTop + mTimeHeight) {
+            if (x >= mTimeLeft && x < getHourRight()) {
+                return TARGET_HOUR;
+            }
+            float minuteLeft = getMinuteLeft();
+            if (x >= minuteLeft && x < minuteLeft + 2 * mDigitWidth) {
+                return TARGET_MINUTE;
+            }
+        }
+        if (mShowMode && x >= mModeLeft && x < mModeLeft + mModeWidth) {
+            if (y >= mModeTop && y < mModeTop + mModeHeight) {
+                return TARGET_AM;
+            }
+            if (y >= mModeTop + mModeHeight && y < mModeTop + 2 * mModeHeight) {
+                return TARGET_PM;
+            }
+        }
+        return TARGET_NONE;
+    }
+}
@@ -26,23 +26,35 @@
 package it.andreale.mdatetimepicker.time;
 
 import android.content.Context;
+import android.content.res.Configuration;
+import android.content.res.Resources;
+import android.graphics.Canvas;
 import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.os.Bundle;
+import android.support.v4.view.ViewCompat;
+import android.support.v4.view.accessibility.AccessibilityNodeInfoCompat;
+import android.support.v4.widget.ExploreByTouchHelper;
 import android.util.AttributeSet;
+import android.view.MotionEvent;
+import android.view.SoundEffectConstants;
 import android.view.View;
-import android.widget.LinearLayout;
-import android.widget.RelativeLayout;
-import android.widget.TextView;
+import android.view.accessibility.AccessibilityEvent;
+import android.view.accessibility.AccessibilityManager;
 
-import java.text.DecimalFormat;
-import java.util.Calendar;
+import java.util.List;
 
 import it.andreale.mdatetimepicker.DialogUtils;
 import it.andreale.mdatetimepicker.R;
 
 /**
  * Created by AndreAle94
+ *
+ * Time header drawn on the canvas. The hour, minute, am and pm targets are exposed to
+ * accessibility services as virtual views, and the shown time as the content description.
  */
-public class TimeHeaderView extends RelativeLayout implements View.OnClickListener {
+public class TimeHeaderView extends View {
 
     public static final int MODE_UNINITIALIZED = -1;
     public static final int MODE_HOUR_PICKER = 0;
@@ -51,15 +63,25 @@ public class TimeHeaderView extends RelativeLayout implements View.OnClickListen
     private final static int HOURS_HALF_DAY = 12;
     private final static int TRANSPARENT_WHITE = DialogUtils.getTransparentColor(Color.WHITE);
 
+    private final static String TEXT_COLON = ":";
+    private final static String TEXT_AM = "AM";
+    private final static String TEXT_PM = "PM";
+
     private int mPickerMode;
     private TimePickerController mController;
-    private DecimalFormat mMinuteFormatter;
 
-    private LinearLayout mModeLayout;
-    private TextView mHourTextView;
-    private TextView mMinuteTextView;
-    private TextView mModeAM;
-    private TextView mModePM;
+    private Paint mTimePaint;
+    private Paint mModePaint;
+    private TimeHeaderLayout mLayout;
+
+    // shown time, the header is redrawn only when it changes
+    private int mHour;
+    private int mMinute;
+    private boolean mPM;
+
+    private int mTouchTarget;
+    private HeaderAccessibilityHelper mAccessibilityHelper;
+    private AccessibilityManager mAccessibilityManager;
 
     public TimeHeaderView(Context context) {
         super(context);
@@ -79,18 +101,31 @@ public class TimeHeaderView extends RelativeLayout implements View.OnClickListen
     private void initialize() {
         mPickerMode = MODE_UNINITIALIZED;
         mController = null;
-        mMinuteFormatter = new DecimalFormat("00");
-        // inflate and setup
-        inflate(getContext(), R.layout.md_time_picker_header_layout, this);
-        mModeLayout = (LinearLayout) findViewById(R.id.time_mode_layout);
-        mHourTextView = (TextView) findViewById(R.id.header_hour);
-        mMinuteTextView = (TextView) findViewById(R.id.header_minute);
-        mModeAM = (TextView) findViewById(R.id.time_mode_am);
-        mModePM = (TextView) findViewById(R.id.time_mode_pm);
-        mHourTextView.setOnClickListener(this);
-        mMinuteTextView.setOnClickListener(this);
-        mModeAM.setOnClickListener(this);
-        mModePM.setOnClickListener(this);
+        mHour = -1;
+        mMinute = -1;
+        mTouchTarget = TimeHeaderLayout.TARGET_NONE;
+        Resources res = getResources();
+        mTimePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        mTimePaint.setTextSize(res.getDimension(R.dimen.time_picker_header_text_size));
+        mModePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        mModePaint.setTextSize(res.getDimension(R.dimen.time_picker_header_mode_text_size));
+        // measure the widest digit once, every time fits in the same slots
+        float digitWidth = 0;
+        for (int i = 0; i < 10; i++) {
+            digitWidth = Math.max(digitWidth, mTimePaint.measureText(TimeHeaderLayout.getHourLabel(i)));
+        }
+        Paint.FontMetrics timeMetrics = mTimePaint.getFontMetrics();
+        Paint.FontMetrics modeMetrics = mModePaint.getFontMetrics();
+        float modeWidth = Math.max(mModePaint.measureText(TEXT_AM), mModePaint.measureText(TEXT_PM));
+        mLayout = new TimeHeaderLayout();
+        mLayout.setTimeMetrics(digitWidth, mTimePaint.measureText(TEXT_COLON), -timeMetrics.top, timeMetrics.bottom - timeMetrics.top);
+        mLayout.setModeMetrics(modeWidth, -modeMetrics.top, modeMetrics.bottom - modeMetrics.top);
+        mLayout.setArrangement(res.getDimension(R.dimen.time_picker_header_padding),
+                res.getConfiguration().orientation == Configuration.ORIENTATION_LANDSCAPE);
+        mLayout.setShowMode(true);
+        mAccessibilityManager = (AccessibilityManager) getContext().getSystemService(Context.ACCESSIBILITY_SERVICE);
+        mAccessibilityHelper = new HeaderAccessibilityHelper(this);
+        ViewCompat.setAccessibilityDelegate(this, mAccessibilityHelper);
     }
 
     public void setPickerMode(int pickerMode) {
@@ -119,60 +154,226 @@ public class TimeHeaderView extends RelativeLayout implements View.OnClickListen
             if (mController != null) {
                 mController.onPickerModeChange(mPickerMode);
                 // change text color
-                if (pickerMode == MODE_HOUR_PICKER) {
-                    mHourTextView.setTextColor(Color.WHITE);
-                    mMinuteTextView.setTextColor(TRANSPARENT_WHITE);
-                } else if (pickerMode == MODE_MINUTE_PICKER) {
-                    mHourTextView.setTextColor(TRANSPARENT_WHITE);
-                    mMinuteTextView.setTextColor(Color.WHITE);
-                }
+                invalidate();
+                mAccessibilityHelper.invalidateRoot();
             }
         }
     }
 
     public void updateTime() {
         boolean is24HourMode = mController.is24HourMode();
-        DialogUtils.setVisible(mModeLayout, !is24HourMode);
-        Calendar calendar = mController.getSelectedTime();
-        int hour = calendar.get(Calendar.HOUR_OF_DAY);
-        int minute = calendar.get(Calendar.MINUTE);
-        if (!is24HourMode) {
-            switch (calendar.get(Calendar.AM_PM)) {
-                case Calendar.AM:
-                    mModeAM.setTextColor(Color.WHITE);
-                    mModePM.setTextColor(TRANSPARENT_WHITE);
-                    break;
-                case Calendar.PM:
-                    mModeAM.setTextColor(TRANSPARENT_WHITE);
-                    mModePM.setTextColor(Color.WHITE);
-                    break;
-            }
-            if (hour > HOURS_HALF_DAY) {
-                hour -= HOURS_HALF_DAY;
+        if (mLayout.setShowMode(!is24HourMode)) {
+            requestLayout();
+        }
+        TimeState timeState = mController.getTimeState();
+        int hour = timeState.getHourOfDay();
+        int minute = timeState.getMinute();
+        boolean pm = timeState.isPM();
+        if (!is24HourMode && hour > HOURS_HALF_DAY) {
+            hour -= HOURS_HALF_DAY;
+        }
+        if (hour != mHour || minute != mMinute || pm != mPM) {
+            mHour = hour;
+            mMinute = minute;
+            mPM = pm;
+            invalidate();
+            if (mAccessibilityManager.isEnabled()) {
+                // the description is built when a service asks for the node
+                mAccessibilityHelper.invalidateRoot();
             }
         }
-        mHourTextView.setText(String.valueOf(hour));
-        mMinuteTextView.setText(mMinuteFormatter.format(minute));
+    }
+
+    private String getTimeDescription() {
+        String time = TimeHeaderLayout.getHourLabel(Math.max(mHour, 0)) + TEXT_COLON
+                + TimeHeaderLayout.getTwoDigits(Math.max(mMinute, 0));
+        return mLayout.isShowMode() ? time + " " + (mPM ? TEXT_PM : TEXT_AM) : time;
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int width = (int) Math.ceil(mLayout.getDesiredWidth()) + getPaddingLeft() + getPaddingRight();
+        int height = (int) Math.ceil(mLayout.getDesiredHeight()) + getPaddingTop() + getPaddingBottom();
+        setMeasuredDimension(resolveSize(Math.max(width, getSuggestedMinimumWidth()), widthMeasureSpec),
+                resolveSize(Math.max(height, getSuggestedMinimumHeight()), heightMeasureSpec));
+    }
+
+    @Override
+    protected void onLayout(boolean changed, int left, int top, int right, int bottom) {
+        super.onLayout(changed, left, top, right, bottom);
+        mLayout.layout(getPaddingLeft(), getPaddingTop(), getWidth() - getPaddingRight(), getHeight() - getPaddingBottom());
+    }
+
+    @Override
+    protected void onDraw(Canvas c) {
+        super.onDraw(c);
+        if (mController == null || mHour < 0) {
+            // skip drawing
+            return;
+        }
+        float baseline = mLayout.getTimeBaseline();
+        // hour is aligned to the colon
+        mTimePaint.setTextAlign(Paint.Align.RIGHT);
+        mTimePaint.setColor(mPickerMode == MODE_HOUR_PICKER ? Color.WHITE : TRANSPARENT_WHITE);
+        c.drawText(TimeHeaderLayout.getHourLabel(mHour), mLayout.getHourRight(), baseline, mTimePaint);
+        mTimePaint.setTextAlign(Paint.Align.LEFT);
+        mTimePaint.setColor(Color.WHITE);
+        c.drawText(TEXT_COLON, mLayout.getColonLeft(), baseline, mTimePaint);
+        mTimePaint.setColor(mPickerMode == MODE_MINUTE_PICKER ? Color.WHITE : TRANSPARENT_WHITE);
+        c.drawText(TimeHeaderLayout.getTwoDigits(mMinute), mLayout.getMinuteLeft(), baseline, mTimePaint);
+        if (mLayout.isShowMode()) {
+            mModePaint.setColor(mPM ? TRANSPARENT_WHITE : Color.WHITE);
+            c.drawText(TEXT_AM, mLayout.getModeLeft(), mLayout.getAmBaseline(), mModePaint);
+            mModePaint.setColor(mPM ? Color.WHITE : TRANSPARENT_WHITE);
+            c.drawText(TEXT_PM, mLayout.getModeLeft(), mLayout.getPmBaseline(), mModePaint);
+        }
     }
 
     @Override
-    public void onClick(View v) {
-        if (v == mHourTextView) {
-            notifyController(MODE_HOUR_PICKER, false);
-        } else if (v == mMinuteTextView) {
-            notifyController(MODE_MINUTE_PICKER, false);
-        } else if (v == mModeAM) {
-            Calendar calendar = mController.getSelectedTime();
-            if (calendar.get(Calendar.AM_PM) != Calendar.AM) {
-                calendar.set(Calendar.AM_PM, Calendar.AM);
+    protected boolean dispatchHoverEvent(MotionEvent event) {
+        return mAccessibilityHelper.dispatchHoverEvent(event) || super.dispatchHoverEvent(event);
+    }
+
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        switch (event.getAction()) {
+            case MotionEvent.ACTION_DOWN:
+                mTouchTarget = mLayout.hitTest(event.getX(), event.getY());
+                return mTouchTarget != TimeHeaderLayout.TARGET_NONE;
+            case MotionEvent.ACTION_UP:
+                if (mTouchTarget != TimeHeaderLayout.TARGET_NONE
+                        && mTouchTarget == mLayout.hitTest(event.getX(), event.getY())) {
+                    playSoundEffect(SoundEffectConstants.CLICK);
+                    onTargetClicked(mTouchTarget);
+                }
+                mTouchTarget = TimeHeaderLayout.TARGET_NONE;
+                return true;
+            case MotionEvent.ACTION_CANCEL:
+                mTouchTarget = TimeHeaderLayout.TARGET_NONE;
+                return true;
+        }
+        return mTouchTarget != TimeHeaderLayout.TARGET_NONE;
+    }
+
+    private void onTargetClicked(int target) {
+        if (mController == null) {
+            return;
+        }
+        switch (target) {
+            case TimeHeaderLayout.TARGET_HOUR:
+                notifyController(MODE_HOUR_PICKER, false);
+                break;
+            case TimeHeaderLayout.TARGET_MINUTE:
+                notifyController(MODE_MINUTE_PICKER, false);
+                break;
+            case TimeHeaderLayout.TARGET_AM:
+                mController.getTimeState().setPM(false);
+                updateTime();
+                break;
+            case TimeHeaderLayout.TARGET_PM:
+                mController.getTimeState().setPM(true);
+                updateTime();
+                break;
+        }
+    }
+
+    private class HeaderAccessibilityHelper extends ExploreByTouchHelper {
+
+        private final int[] mTargets = {TimeHeaderLayout.TARGET_HOUR, TimeHeaderLayout.TARGET_MINUTE,
+                TimeHeaderLayout.TARGET_AM, TimeHeaderLayout.TARGET_PM};
+        private final float[] mTargetBounds = new float[4];
+        private final Rect mBounds = new Rect();
+
+        public HeaderAccessibilityHelper(View host) {
+            super(host);
+        }
+
+        @Override
+        public void onInitializeAccessibilityNodeInfo(View host, AccessibilityNodeInfoCompat info) {
+            super.onInitializeAccessibilityNodeInfo(host, info);
+            info.setContentDescription(getTimeDescription());
+        }
+
+        @Override
+        public void onPopulateAccessibilityEvent(View host, AccessibilityEvent event) {
+            super.onPopulateAccessibilityEvent(host, event);
+            event.getText().add(getTimeDescription());
+        }
+
+        @Override
+        protected int getVirtualViewAt(float x, float y) {
+            int target = mLayout.hitTest(x, y);
+            return target != TimeHeaderLayout.TARGET_NONE ? target : INVALID_ID;
+        }
+
+        @Override
+        protected void getVisibleVirtualViews(List<Integer> virtualViewIds) {
+            if (mController == null || mHour < 0) {
+                return;
             }
-            updateTime();
-        } else if (v == mModePM) {
-            Calendar calendar = mController.getSelectedTime();
-            if (calendar.get(Calendar.AM_PM) != Calendar.PM) {
-                calendar.set(Calendar.AM_PM, Calendar.PM);
+            for (int target : mTargets) {
+                if (mLayout.getTargetBounds(target, mTargetBounds)) {
+                    virtualViewIds.add(target);
+                }
+            }
+        }
+
+        @Override
+        protected void onPopulateEventForVirtualView(int virtualViewId, AccessibilityEvent event) {
+            event.setContentDescription(getTargetDescription(virtualViewId));
+        }
+
+        @Override
+        protected void onPopulateNodeForVirtualView(int virtualViewId, AccessibilityNodeInfoCompat node) {
+            if (!mLayout.getTargetBounds(virtualViewId, mTargetBounds)) {
+                // no longer shown, keep the node valid until the next invalidation
+                mTargetBounds[0] = mTargetBounds[1] = 0;
+                mTargetBounds[2] = mTargetBounds[3] = 1;
+            }
+            mBounds.set((int) mTargetBounds[0], (int) mTargetBounds[1],
+                    (int) Math.ceil(mTargetBounds[2]), (int) Math.ceil(mTargetBounds[3]));
+            node.setContentDescription(getTargetDescription(virtualViewId));
+            node.setBoundsInParent(mBounds);
+            node.setSelected(isTargetSelected(virtualViewId));
+            node.addAction(AccessibilityNodeInfoCompat.ACTION_CLICK);
+        }
+
+        @Override
+        protected boolean onPerformActionForVirtualView(int virtualViewId, int action, Bundle arguments) {
+            if (action == AccessibilityNodeInfoCompat.ACTION_CLICK) {
+                onTargetClicked(virtualViewId);
+                sendEventForVirtualView(virtualViewId, AccessibilityEvent.TYPE_VIEW_CLICKED);
+                return true;
+            }
+            return false;
+        }
+
+        private boolean isTargetSelected(int target) {
+            switch (target) {
+                case TimeHeaderLayout.TARGET_HOUR:
+                    return mPickerMode == MODE_HOUR_PICKER;
+                case TimeHeaderLayout.TARGET_MINUTE:
+                    return mPickerMode == MODE_MINUTE_PICKER;
+                case TimeHeaderLayout.TARGET_AM:
+                    return !mPM;
+                default:
+                    return mPM;
+            }
+        }
+
+        private String getTargetDescription(int target) {
+            switch (target) {
+                case TimeHeaderLayout.TARGET_HOUR:
+                    return getResources().getString(R.string.time_picker_hours_description,
+                            TimeHeaderLayout.getHourLabel(Math.max(mHour, 0)));
+                case TimeHeaderLayout.TARGET_MINUTE:
+                    return getResources().getString(R.string.time_picker_minutes_description,
+                            TimeHeaderLayout.getTwoDigits(Math.max(mMinute, 0)));
+                case TimeHeaderLayout.TARGET_AM:
+                    return TEXT_AM;
+                default:
+                    return TEXT_PM;
             }
-            updateTime();
         }
     }
-}
\ No newline at end of file
+}
@@ -25,8 +25,6 @@
  */
 package it.andreale.mdatetimepicker.time;
 
-import java.util.Calendar;
-
 /**
  * Created by AndreAle94
  */
@@ -38,7 +36,7 @@ public interface TimePickerController {
 
     boolean is24HourMode();
 
-    Calendar getSelectedTime();
+    TimeState getTimeState();
 
     int getCircleBackgroundColor();
 
@@ -49,4 +47,6 @@ public interface TimePickerController {
     int getSelectorColor();
 
     void onTimeChanged();
+
+    boolean isLowLatencyInputEnabled();
 }
@@ -29,7 +29,6 @@ import android.app.Activity;
 import android.app.Dialog;
 import android.content.Context;
 import android.graphics.Color;
-import android.os.Build;
 import android.os.Bundle;
 import android.support.annotation.NonNull;
 import android.support.v4.app.DialogFragment;
@@ -41,31 +40,20 @@ import android.widget.Button;
 import java.util.Calendar;
 import java.util.Date;
 
-import it.andreale.mdatetimepicker.DialogUtils;
 import it.andreale.mdatetimepicker.R;
+import it.andreale.mdatetimepicker.ThemeAttributes;
 
 /**
  * Created by AndreAle94
  */
-public class TimePickerDialog extends DialogFragment implements TimePickerController, View.OnClickListener {
+public class TimePickerDialog extends DialogFragment implements TimePickerController, View.OnClickListener,
+        FrameDispatcher.Callback {
 
     private final static int DEFAULT_ACCENT_COLOR = Color.parseColor("#009688");
     private final static int BACKGROUND_LIGHT = Color.parseColor("#FAFAFA");
     private final static int BACKGROUND_DARK = Color.parseColor("#424242");
 
-    private final static String SAVED_HEADER_COLOR = "tpd:headerColor";
-    private final static String SAVED_POSITIVE_COLOR = "tpd:positiveColor";
-    private final static String SAVED_NEGATIVE_COLOR = "tpd:negativeColor";
-    private final static String SAVED_SELECTOR_COLOR = "tpd:selectorColor";
-    private final static String SAVED_TEXT_COLOR = "tpd:textColor";
-    private final static String SAVED_SELECTED_TEXT_COLOR = "tpd:selectedTextColor";
-    private final static String SAVED_CIRCLE_COLOR = "tpd:circleColor";
-    private final static String SAVED_POSITIVE_TEXT = "tpd:positiveText";
-    private final static String SAVED_NEGATIVE_TEXT = "tpd:negativeText";
-    private final static String SAVED_DARK_MODE = "tpd:darkMode";
-    private final static String SAVED_HOUR_MODE = "tpd:hourMode";
-    private final static String SAVED_CALENDAR = "tpd:internalCalendar";
-    private final static String SAVED_PICKER_MODE = "tpd:pickerMode";
+    private final static String SAVED_STATE = "tpd:state";
 
     private int mHeaderColor;
     private int mPositiveColor;
@@ -78,16 +66,19 @@ public class TimePickerDialog extends DialogFragment implements TimePickerContro
 
     private String mPositiveText;
     private String mNegativeText;
-    private Calendar mCalendar;
+    private TimeState mTimeState;
     private boolean m24HourMode;
+    private boolean mLowLatencyInput;
     private boolean mBuilderFlag;
 
     // callback
     private OnTimeSetListener mTimeSetListener;
+    private RadialSelectorView.MetricsListener mMetricsListener;
 
     // components
     private TimeHeaderView mHeaderView;
     private RadialSelectorView mSelectorView;
+    private FrameDispatcher mFrameDispatcher;
 
     private Button mPositiveButton;
     private Button mNegativeButton;
@@ -100,22 +91,39 @@ public class TimePickerDialog extends DialogFragment implements TimePickerContro
         return new TimePickerDialog();
     }
 
+    @Override
+    public void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        if (savedInstanceState != null && savedInstanceState.getParcelable(SAVED_STATE) == null) {
+            // state written by another version, the builder configuration is lost
+            setShowsDialog(false);
+            dismissAllowingStateLoss();
+        }
+    }
+
     @Override
     public void onSaveInstanceState(Bundle outState) {
         super.onSaveInstanceState(outState);
-        outState.putInt(SAVED_HEADER_COLOR, mHeaderColor);
-        outState.putInt(SAVED_POSITIVE_COLOR, mPositiveColor);
-        outState.putInt(SAVED_NEGATIVE_COLOR, mNegativeColor);
-        outState.putInt(SAVED_CIRCLE_COLOR, mCircleColor);
-        outState.putInt(SAVED_SELECTOR_COLOR, mSelectorColor);
-        outState.putInt(SAVED_TEXT_COLOR, mDefaultTextColor);
-        outState.putInt(SAVED_SELECTED_TEXT_COLOR, mSelectedTextColor);
-        outState.putBoolean(SAVED_DARK_MODE, mDarkTheme);
-        outState.putBoolean(SAVED_HOUR_MODE, m24HourMode);
-        outState.putInt(SAVED_PICKER_MODE, mHeaderView.getPickerMode());
-        outState.putString(SAVED_POSITIVE_TEXT, mPositiveText);
-        outState.putString(SAVED_NEGATIVE_TEXT, mNegativeText);
-        outState.putSerializable(SAVED_CALENDAR, mCalendar);
+        if (!mBuilderFlag) {
+            // dismissed before being restored, nothing to save
+            return;
+        }
+        TimePickerSavedState state = new TimePickerSavedState();
+        state.minuteOfDay = mTimeState.getMinuteOfDay();
+        state.pickerMode = mHeaderView.getPickerMode();
+        state.is24HourMode = m24HourMode;
+        state.lowLatencyInput = mLowLatencyInput;
+        state.headerColor = mHeaderColor;
+        state.positiveColor = mPositiveColor;
+        state.negativeColor = mNegativeColor;
+        state.circleColor = mCircleColor;
+        state.selectorColor = mSelectorColor;
+        state.defaultTextColor = mDefaultTextColor;
+        state.selectedTextColor = mSelectedTextColor;
+        state.darkTheme = mDarkTheme;
+        state.positiveText = mPositiveText;
+        state.negativeText = mNegativeText;
+        outState.putParcelable(SAVED_STATE, state);
     }
 
     @Override
@@ -132,22 +140,33 @@ public class TimePickerDialog extends DialogFragment implements TimePickerContro
         mTimeSetListener = null;
     }
 
+    @Override
+    public void onDestroyView() {
+        super.onDestroyView();
+        if (mFrameDispatcher != null) {
+            mFrameDispatcher.cancel();
+        }
+    }
+
     @NonNull
     public Dialog onCreateDialog(Bundle savedInstanceState) {
         // restore old state if not null
-        if (savedInstanceState != null) {
-            mHeaderColor = savedInstanceState.getInt(SAVED_HEADER_COLOR, DEFAULT_ACCENT_COLOR);
-            mPositiveColor = savedInstanceState.getInt(SAVED_POSITIVE_COLOR, DEFAULT_ACCENT_COLOR);
-            mNegativeColor = savedInstanceState.getInt(SAVED_NEGATIVE_COLOR, DEFAULT_ACCENT_COLOR);
-            mDarkTheme = savedInstanceState.getBoolean(SAVED_DARK_MODE, false);
-            mCircleColor = savedInstanceState.getInt(SAVED_CIRCLE_COLOR, mDarkTheme ? Color.parseColor("#555555") : Color.parseColor("#eeeeee"));
-            mSelectorColor = savedInstanceState.getInt(SAVED_SELECTOR_COLOR, DEFAULT_ACCENT_COLOR);
-            mDefaultTextColor = savedInstanceState.getInt(SAVED_TEXT_COLOR, mDarkTheme ? Color.BLACK : Color.WHITE);
-            mSelectedTextColor = savedInstanceState.getInt(SAVED_SELECTED_TEXT_COLOR, mDarkTheme ? Color.WHITE : Color.BLACK);
-            mCalendar = (Calendar) savedInstanceState.getSerializable(SAVED_CALENDAR);
-            mPositiveText = savedInstanceState.getString(SAVED_POSITIVE_TEXT, getString(android.R.string.ok));
-            mNegativeText = savedInstanceState.getString(SAVED_NEGATIVE_TEXT, getString(android.R.string.cancel));
-            m24HourMode = savedInstanceState.getBoolean(SAVED_HOUR_MODE, false);
+        TimePickerSavedState state = savedInstanceState != null
+                ? savedInstanceState.<TimePickerSavedState>getParcelable(SAVED_STATE) : null;
+        if (state != null) {
+            m24HourMode = state.is24HourMode;
+            mTimeState = new TimeState(state.minuteOfDay, m24HourMode);
+            mLowLatencyInput = state.lowLatencyInput;
+            mHeaderColor = state.headerColor;
+            mPositiveColor = state.positiveColor;
+            mNegativeColor = state.negativeColor;
+            mCircleColor = state.circleColor;
+            mSelectorColor = state.selectorColor;
+            mDefaultTextColor = state.defaultTextColor;
+            mSelectedTextColor = state.selectedTextColor;
+            mDarkTheme = state.darkTheme;
+            mPositiveText = state.positiveText;
+            mNegativeText = state.negativeText;
             mBuilderFlag = true;
         } else {
             // check builder flag
@@ -183,11 +202,15 @@ public class TimePickerDialog extends DialogFragment implements TimePickerContro
         mPositiveButton.setText(mPositiveText);
         mNegativeButton.setText(mNegativeText);
         // configure views
-        if (savedInstanceState != null) {
-            mHeaderView.setPickerMode(savedInstanceState.getInt(SAVED_PICKER_MODE));
+        TimePickerSavedState state = savedInstanceState != null
+                ? savedInstanceState.<TimePickerSavedState>getParcelable(SAVED_STATE) : null;
+        if (state != null) {
+            mHeaderView.setPickerMode(state.pickerMode);
         }
         mSelectorView.registerController(this);
+        mSelectorView.setMetricsListener(mMetricsListener);
         mHeaderView.registerController(this);
+        mFrameDispatcher = new FrameDispatcher(this);
         return view;
     }
 
@@ -195,14 +218,24 @@ public class TimePickerDialog extends DialogFragment implements TimePickerContro
         mTimeSetListener = listener;
     }
 
+    /**
+     * @param listener notified with the cost of every frame of the dial, null to disable.
+     */
+    public void setDialMetricsListener(RadialSelectorView.MetricsListener listener) {
+        mMetricsListener = listener;
+        if (mSelectorView != null) {
+            mSelectorView.setMetricsListener(listener);
+        }
+    }
+
     @Override
     public void onClick(View v) {
         if (v == mPositiveButton) {
             if (mTimeSetListener != null) {
                 mTimeSetListener.onTimeSet(
                         this,
-                        mCalendar.get(Calendar.HOUR_OF_DAY),
-                        mCalendar.get(Calendar.MINUTE)
+                        mTimeState.getHourOfDay(),
+                        mTimeState.getMinute()
                 );
             }
             dismiss();
@@ -227,8 +260,8 @@ public class TimePickerDialog extends DialogFragment implements TimePickerContro
     }
 
     @Override
-    public Calendar getSelectedTime() {
-        return mCalendar;
+    public TimeState getTimeState() {
+        return mTimeState;
     }
 
     @Override
@@ -253,8 +286,27 @@ public class TimePickerDialog extends DialogFragment implements TimePickerContro
 
     @Override
     public void onTimeChanged() {
+        // header and dial are refreshed at most once per frame, unbuffered input included: the
+        // frame callback runs after the input of the same frame
+        mFrameDispatcher.dispatch();
+    }
+
+    @Override
+    public boolean isLowLatencyInputEnabled() {
+        return mLowLatencyInput;
+    }
+
+    @Override
+    public void onFrame() {
         mHeaderView.updateTime();
-        mSelectorView.invalidate();
+        mSelectorView.notifySelectionChanged();
+    }
+
+    /**
+     * @return the dispatcher that coalesces the time changes, for diagnostics.
+     */
+    public FrameDispatcher getFrameDispatcher() {
+        return mFrameDispatcher;
     }
 
     public static class Builder {
@@ -267,13 +319,14 @@ public class TimePickerDialog extends DialogFragment implements TimePickerContro
         private int mHeaderColor;
         private int mCircleColor;
         private boolean mCustomCircleColor;
-        private Calendar mCalendar;
+        private int mMinuteOfDay;
         private int mDefaultTextColor;
         private boolean mCustomTextColor;
         private int mSelectedTextColor;
         private boolean mCustomSelectedTextColor;
         private int mSelectorColor;
         private boolean m24HourMode;
+        private boolean mLowLatencyInput;
         private String mPositiveText;
         private String mNegativeText;
 
@@ -281,21 +334,19 @@ public class TimePickerDialog extends DialogFragment implements TimePickerContro
 
         public Builder(Context context) {
             mContext = context;
-            mAccentColor = DialogUtils.resolveColor(context, R.attr.colorAccent, DEFAULT_ACCENT_COLOR);
-            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
-                mAccentColor = DialogUtils.resolveColor(context, android.R.attr.colorAccent, mAccentColor);
-            }
-            mDarkMode = DialogUtils.resolveBoolean(context, R.attr.mtp_darkMode, false);
-            m24HourMode = DialogUtils.resolveBoolean(context, R.attr.mtp_24HourMode, false);
-            mPositiveColor = DialogUtils.resolveColor(context, R.attr.mtp_positiveColor, mAccentColor);
-            mNegativeColor = DialogUtils.resolveColor(context, R.attr.mtp_negativeColor, mAccentColor);
-            mHeaderColor = DialogUtils.resolveColor(context, R.attr.mtp_headerBackgroundColor, mAccentColor);
-            mSelectorColor = DialogUtils.resolveColor(context, R.attr.mtp_selectorColor, mAccentColor);
-            if (DialogUtils.canResolve(context, R.attr.mtp_circleBackgroundColor)) {
-                mCircleColor = DialogUtils.resolveColor(context, R.attr.mtp_circleBackgroundColor, Color.GRAY);
+            ThemeAttributes attributes = ThemeAttributes.obtain(context);
+            mAccentColor = attributes.getAccentColor(DEFAULT_ACCENT_COLOR);
+            mDarkMode = attributes.getBoolean(R.attr.mtp_darkMode, false);
+            m24HourMode = attributes.getBoolean(R.attr.mtp_24HourMode, false);
+            mPositiveColor = attributes.getColor(R.attr.mtp_positiveColor, mAccentColor);
+            mNegativeColor = attributes.getColor(R.attr.mtp_negativeColor, mAccentColor);
+            mHeaderColor = attributes.getColor(R.attr.mtp_headerBackgroundColor, mAccentColor);
+            mSelectorColor = attributes.getColor(R.attr.mtp_selectorColor, mAccentColor);
+            if (attributes.hasValue(R.attr.mtp_circleBackgroundColor)) {
+                mCircleColor = attributes.getColor(R.attr.mtp_circleBackgroundColor, Color.GRAY);
                 mCustomCircleColor = true;
             }
-            mCalendar = Calendar.getInstance();
+            selectedTime(Calendar.getInstance());
         }
 
         public Builder darkMode(boolean darkMode) {
@@ -374,14 +425,23 @@ public class TimePickerDialog extends DialogFragment implements TimePickerContro
             );
         }
 
+        /**
+         * @throws IllegalArgumentException if the hour is not between 0 and 23 or the minute
+         * is not between 0 and 59.
+         */
         public Builder selectedTime(int hour, int minute) {
-            mCalendar.set(Calendar.HOUR_OF_DAY, hour);
-            mCalendar.set(Calendar.MINUTE, minute);
+            mMinuteOfDay = TimeState.toMinuteOfDay(hour, minute);
             return this;
         }
 
         public Builder selectedTime(Date date) {
-            mCalendar.setTime(date);
+            Calendar calendar = Calendar.getInstance();
+            calendar.setTime(date);
+            return selectedTime(calendar);
+        }
+
+        public Builder lowLatencyInput(boolean lowLatencyInput) {
+            mLowLatencyInput = lowLatencyInput;
             return this;
         }
 
@@ -405,8 +465,9 @@ public class TimePickerDialog extends DialogFragment implements TimePickerContro
                 mSelectedTextColor = mDarkMode ? Color.BLACK : Color.WHITE;
             }
             TimePickerDialog dialog = TimePickerDialog.newInstance();
-            dialog.mCalendar = mCalendar;
+            dialog.mTimeState = new TimeState(mMinuteOfDay, m24HourMode);
             dialog.m24HourMode = m24HourMode;
+            dialog.mLowLatencyInput = mLowLatencyInput;
             dialog.mDarkTheme = mDarkMode;
             dialog.mPositiveColor = mPositiveColor;
             dialog.mNegativeColor = mNegativeColor;
@@ -0,0 +1,112 @@
+/*
+ * ******************************************************************************
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 AndreAle94
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * *****************************************************************************
+ */
+package it.andreale.mdatetimepicker.time;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+
+import it.andreale.mdatetimepicker.PickerSavedState;
+
+/**
+ * Created by AndreAle94
+ */
+public final class TimePickerSavedState extends PickerSavedState {
+
+    private final static int VERSION = 1;
+
+    // selection and mode
+    int minuteOfDay;
+    int pickerMode;
+    // configuration from the builder
+    boolean is24HourMode;
+    boolean lowLatencyInput;
+    int headerColor;
+    int positiveColor;
+    int negativeColor;
+    int circleColor;
+    int selectorColor;
+    int defaultTextColor;
+    int selectedTextColor;
+    boolean darkTheme;
+    String positiveText;
+    String negativeText;
+
+    TimePickerSavedState() {
+    }
+
+    TimePickerSavedState(Parcel in) {
+        minuteOfDay = in.readInt();
+        pickerMode = in.readInt();
+        is24HourMode = in.readInt() != 0;
+        lowLatencyInput = in.readInt() != 0;
+        headerColor = in.readInt();
+        positiveColor = in.readInt();
+        negativeColor = in.readInt();
+        circleColor = in.readInt();
+        selectorColor = in.readInt();
+        defaultTextColor = in.readInt();
+        selectedTextColor = in.readInt();
+        darkTheme = in.readInt() != 0;
+        positiveText = in.readString();
+        negativeText = in.readString();
+    }
+
+    @Override
+    protected int getVersion() {
+        return VERSION;
+    }
+
+    @Override
+    protected void write(Parcel out) {
+        out.writeInt(minuteOfDay);
+        out.writeInt(pickerMode);
+        out.writeInt(toInt(is24HourMode));
+        out.writeInt(toInt(lowLatencyInput));
+        out.writeInt(headerColor);
+        out.writeInt(positiveColor);
+        out.writeInt(negativeColor);
+        out.writeInt(circleColor);
+        out.writeInt(selectorColor);
+        out.writeInt(defaultTextColor);
+        out.writeInt(selectedTextColor);
+        out.writeInt(toInt(darkTheme));
+        out.writeString(positiveText);
+        out.writeString(negativeText);
+    }
+
+    public static final Parcelable.Creator<TimePickerSavedState> CREATOR = new Parcelable.Creator<TimePickerSavedState>() {
+
+        @Override
+        public TimePickerSavedState createFromParcel(Parcel source) {
+            return readHeader(source, VERSION) ? new TimePickerSavedState(source) : null;
+        }
+
+        @Override
+        public TimePickerSavedState[] newArray(int size) {
+            return new TimePickerSavedState[size];
+        }
+    };
+}
@@ -0,0 +1,144 @@
+/*
+ * ******************************************************************************
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 AndreAle94
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * *****************************************************************************
+ */
+package it.andreale.mdatetimepicker.time;
+
+/**
+ * Created by AndreAle94
+ *
+ * Selected time of the time picker, stored as minutes from midnight. Views read and update
+ * it while dragging without going through {@link java.util.Calendar}.
+ */
+public final class TimeState {
+
+    public final static int MINUTES_IN_HOUR = 60;
+    public final static int HOURS_IN_DAY = 24;
+    public final static int HOURS_HALF_DAY = 12;
+    public final static int MINUTES_IN_DAY = HOURS_IN_DAY * MINUTES_IN_HOUR;
+
+    private int mMinuteOfDay;
+    private boolean m24HourMode;
+
+    public TimeState(int minuteOfDay, boolean is24HourMode) {
+        setMinuteOfDay(minuteOfDay);
+        m24HourMode = is24HourMode;
+    }
+
+    public static int toMinuteOfDay(int hourOfDay, int minute) {
+        if (hourOfDay < 0 || hourOfDay >= HOURS_IN_DAY) {
+            throw new IllegalArgumentException("Hour of day must be between 0 and 23: " + hourOfDay);
+        }
+        if (minute < 0 || minute >= MINUTES_IN_HOUR) {
+            throw new IllegalArgumentException("Minute must be between 0 and 59: " + minute);
+        }
+        return hourOfDay * MINUTES_IN_HOUR + minute;
+    }
+
+    public int getMinuteOfDay() {
+        return mMinuteOfDay;
+    }
+
+    public void setMinuteOfDay(int minuteOfDay) {
+        if (minuteOfDay < 0 || minuteOfDay >= MINUTES_IN_DAY) {
+            throw new IllegalArgumentException("Minute of day must be between 0 and 1439: " + minuteOfDay);
+        }
+        mMinuteOfDay = minuteOfDay;
+    }
+
+    public boolean is24HourMode() {
+        return m24HourMode;
+    }
+
+    public void set24HourMode(boolean is24HourMode) {
+        m24HourMode = is24HourMode;
+    }
+
+    /**
+     * @return the hour from 0 to 23.
+     */
+    public int getHourOfDay() {
+        return mMinuteOfDay / MINUTES_IN_HOUR;
+    }
+
+    /**
+     * @return the hour from 0 to 11, as {@link java.util.Calendar#HOUR}.
+     */
+    public int getHour() {
+        return getHourOfDay() % HOURS_HALF_DAY;
+    }
+
+    public int getMinute() {
+        return mMinuteOfDay % MINUTES_IN_HOUR;
+    }
+
+    public boolean isPM() {
+        return getHourOfDay() >= HOURS_HALF_DAY;
+    }
+
+    /**
+     * @return true if the time changed.
+     */
+    public boolean setHourOfDay(int hourOfDay) {
+        return update(toMinuteOfDay(hourOfDay, getMinute()));
+    }
+
+    /**
+     * Sets the hour from 0 to 11, keeping the current half of the day.
+     *
+     * @return true if the time changed.
+     */
+    public boolean setHour(int hour) {
+        if (hour < 0 || hour >= HOURS_HALF_DAY) {
+            throw new IllegalArgumentException("Hour must be between 0 and 11: " + hour);
+        }
+        return setHourOfDay(isPM() ? hour + HOURS_HALF_DAY : hour);
+    }
+
+    /**
+     * @return true if the time changed.
+     */
+    public boolean setMinute(int minute) {
+        return update(toMinuteOfDay(getHourOfDay(), minute));
+    }
+
+    /**
+     * @return true if the time changed.
+     */
+    public boolean setPM(boolean pm) {
+        if (pm == isPM()) {
+            return false;
+        }
+        int offset = HOURS_HALF_DAY * MINUTES_IN_HOUR;
+        return update(pm ? mMinuteOfDay + offset : mMinuteOfDay - offset);
+    }
+
+    private boolean update(int minuteOfDay) {
+        if (minuteOfDay == mMinuteOfDay) {
+            return false;
+        }
+        mMinuteOfDay = minuteOfDay;
+        return true;
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * ******************************************************************************
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 AndreAle94
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * *****************************************************************************
+ */
+package it.andreale.mdatetimepicker.time;
+
+/**
+ * Created by AndreAle94
+ *
+ * Extrapolates a drag around the dial from its recent angular velocity, so the hand can be
+ * drawn where the finger will be when the frame reaches the display.
+ */
+public final class TouchPredictor {
+
+    // about one frame at 60Hz, the time a drawn frame takes to be shown
+    public final static long DEFAULT_LEAD = 16;
+
+    private final static int CAPACITY = 8;
+    // only the most recent samples describe the current velocity
+    private final static long VELOCITY_WINDOW = 40;
+    // never move the hand more than this ahead of the finger
+    private final static float MAX_EXTRAPOLATION = 30;
+
+    // unwrapped angles, they keep growing past a full turn
+    private final float[] mAngles = new float[CAPACITY];
+    private final long[] mTimes = new long[CAPACITY];
+    private int mHead;
+    private int mCount;
+    private float mDistance;
+
+    public void reset() {
+        mHead = 0;
+        mCount = 0;
+    }
+
+    /**
+     * @param dx        horizontal offset from the center, positive to the right.
+     * @param dy        vertical offset from the center, positive downwards.
+     * @param eventTime time of the sample in milliseconds.
+     */
+    public void addSample(float dx, float dy, long eventTime) {
+        float angle = DialHitTester.getClockwiseAngle(dx, dy);
+        if (mCount > 0) {
+            float last = mAngles[mHead];
+            float delta = angle - DialHitTester.normalizeAngle(last);
+            // take the shortest way across twelve o'clock
+            if (delta > 180) {
+                delta -= 360;
+            } else if (delta < -180) {
+                delta += 360;
+            }
+            angle = last + delta;
+            mHead = (mHead + 1) % CAPACITY;
+        }
+        mAngles[mHead] = angle;
+        mTimes[mHead] = eventTime;
+        mCount = Math.min(mCount + 1, CAPACITY);
+        mDistance = dx * dx + dy * dy;
+    }
+
+    public boolean isEmpty() {
+        return mCount == 0;
+    }
+
+    /**
+     * @return the squared distance from the center of the latest sample.
+     */
+    public float getDistance() {
+        return mDistance;
+    }
+
+    /**
+     * @return the angular velocity in degrees per millisecond, clockwise.
+     */
+    public float getVelocity() {
+        if (mCount < 2) {
+            return 0;
+        }
+        long newest = mTimes[mHead];
+        int oldest = mHead;
+        for (int i = 1; i < mCount; i++) {
+            int index = (mHead - i + CAPACITY) % CAPACITY;
+            if (newest - mTimes[index] > VELOCITY_WINDOW) {
+                break;
+            }
+            oldest = index;
+        }
+        long elapsed = newest - mTimes[oldest];
+        if (elapsed <= 0) {
+            return 0;
+        }
+        return (mAngles[mHead] - mAngles[oldest]) / elapsed;
+    }
+
+    /**
+     * @param lead milliseconds after the latest sample.
+     * @return the expected angle from twelve o'clock, clockwise, from 0 (included) to 360.
+     */
+    public float predictAngle(long lead) {
+        if (mCount == 0) {
+            return 0;
+        }
+        float extrapolation = getVelocity() * lead;
+        extrapolation = Math.max(-MAX_EXTRAPOLATION, Math.min(MAX_EXTRAPOLATION, extrapolation));
+        return DialHitTester.normalizeAngle(mAngles[mHead] + extrapolation);
+    }
+}
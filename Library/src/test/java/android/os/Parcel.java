@@ -0,0 +1,97 @@
+package android.os;
+
+import java.util.Arrays;
+
+/**
+ * Stand-in of the framework parcel for the saved state tests. Being found before android.jar
+ * it replaces the framework class for every test of the module, so it only has the calls the
+ * saved states and their tests make: anything else fails to link instead of silently working.
+ * It keeps the framework layout: ints take four bytes, strings a length followed by their
+ * utf-16 chars and a terminator, padded to four bytes.
+ */
+public final class Parcel {
+
+    private byte[] mData = new byte[64];
+    private int mPosition;
+    private int mSize;
+
+    private Parcel() {
+    }
+
+    public static Parcel obtain() {
+        return new Parcel();
+    }
+
+    public int dataSize() {
+        return mSize;
+    }
+
+    public int dataPosition() {
+        return mPosition;
+    }
+
+    public void setDataPosition(int position) {
+        mPosition = position;
+    }
+
+    public void writeInt(int value) {
+        ensureCapacity(mPosition + 4);
+        mData[mPosition] = (byte) value;
+        mData[mPosition + 1] = (byte) (value >> 8);
+        mData[mPosition + 2] = (byte) (value >> 16);
+        mData[mPosition + 3] = (byte) (value >> 24);
+        mPosition += 4;
+        mSize = Math.max(mSize, mPosition);
+    }
+
+    public int readInt() {
+        if (mPosition + 4 > mSize) {
+            throw new IllegalStateException("Read past the end of the parcel: " + mPosition);
+        }
+        int value = (mData[mPosition] & 0xff) | (mData[mPosition + 1] & 0xff) << 8
+                | (mData[mPosition + 2] & 0xff) << 16 | (mData[mPosition + 3] & 0xff) << 24;
+        mPosition += 4;
+        return value;
+    }
+
+    public void writeString(String value) {
+        if (value == null) {
+            writeInt(-1);
+            return;
+        }
+        writeInt(value.length());
+        int end = mPosition + (((value.length() + 1) * 2 + 3) & ~3);
+        for (int i = 0; i < value.length(); i += 2) {
+            int low = value.charAt(i);
+            int high = i + 1 < value.length() ? value.charAt(i + 1) : 0;
+            writeInt(low | high << 16);
+        }
+        while (mPosition < end) {
+            writeInt(0);
+        }
+    }
+
+    public String readString() {
+        int length = readInt();
+        if (length < 0) {
+            return null;
+        }
+        int end = mPosition + (((length + 1) * 2 + 3) & ~3);
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i += 2) {
+            int pair = readInt();
+            chars[i] = (char) pair;
+            if (i + 1 < length) {
+                chars[i + 1] = (char) (pair >>> 16);
+            }
+        }
+        mPosition = end;
+        return new String(chars);
+    }
+
+    private void ensureCapacity(int size) {
+        if (size > mData.length) {
+            mData = Arrays.copyOf(mData, Math.max(size, mData.length * 2));
+        }
+    }
+}
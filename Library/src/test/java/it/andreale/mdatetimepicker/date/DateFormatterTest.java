@@ -0,0 +1,91 @@
+package it.andreale.mdatetimepicker.date;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+public class DateFormatterTest {
+
+    private final static String[] PATTERNS = {
+            "EEE, MMM dd", "EEEE d MMMM yyyy", "dd/MM/yy", "y", "'Day' d 'of' MMM ''yy", "D/yyyy"
+    };
+    private final static Locale[] LOCALES = {Locale.US, Locale.ITALY, Locale.FRANCE};
+
+    private static String format(String pattern, Locale locale, int year, int month, int day) {
+        StringBuilder builder = new StringBuilder();
+        DateFormatter.getInstance(pattern, locale).format(year, month, day, builder);
+        return builder.toString();
+    }
+
+    private static String reference(String pattern, Locale locale, int year, int month, int day) {
+        Calendar calendar = new GregorianCalendar(year, month, day);
+        return new SimpleDateFormat(pattern, locale).format(calendar.getTime());
+    }
+
+    @Test
+    public void format_matchesSimpleDateFormat() throws Exception {
+        for (Locale locale : LOCALES) {
+            for (String pattern : PATTERNS) {
+                for (int day = 1; day <= 365; day += 17) {
+                    Calendar calendar = new GregorianCalendar(2015, Calendar.JANUARY, day);
+                    int year = calendar.get(Calendar.YEAR);
+                    int month = calendar.get(Calendar.MONTH);
+                    int dayOfMonth = calendar.get(Calendar.DAY_OF_MONTH);
+                    assertEquals(pattern + " " + locale,
+                            reference(pattern, locale, year, month, dayOfMonth),
+                            format(pattern, locale, year, month, dayOfMonth));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void getInstance_reusesCompiledPattern() throws Exception {
+        DateFormatter formatter = DateFormatter.getInstance("EEE, MMM dd", Locale.US);
+        assertSame(formatter, DateFormatter.getInstance("EEE, MMM dd", Locale.US));
+        assertNotSame(formatter, DateFormatter.getInstance("EEE, MMM dd", Locale.ITALY));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void getInstance_rejectsUnterminatedQuote() throws Exception {
+        DateFormatter.getInstance("EEE 'of", Locale.US);
+    }
+
+    @Test
+    public void format_compiledPatternDoesNotAllocate() throws Exception {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) bean;
+        Assume.assumeTrue(allocations.isThreadAllocatedMemorySupported());
+        allocations.setThreadAllocatedMemoryEnabled(true);
+        DateFormatter formatter = DateFormatter.getInstance("EEE, MMM dd", Locale.US);
+        StringBuilder builder = new StringBuilder(32);
+        int updates = 1000;
+        int sink = formatDays(formatter, builder, updates);
+        long threadId = Thread.currentThread().getId();
+        long before = allocations.getThreadAllocatedBytes(threadId);
+        sink += formatDays(formatter, builder, updates);
+        long after = allocations.getThreadAllocatedBytes(threadId);
+        assertEquals(0, (after - before) / updates);
+        assertTrue(sink > 0);
+    }
+
+    private static int formatDays(DateFormatter formatter, StringBuilder builder, int updates) {
+        int sink = 0;
+        for (int i = 0; i < updates; i++) {
+            builder.setLength(0);
+            formatter.format(2015, i % 12, i % 28 + 1, builder);
+            sink += builder.length();
+        }
+        return sink;
+    }
+}
@@ -0,0 +1,180 @@
+package it.andreale.mdatetimepicker.date;
+
+import android.os.Parcel;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class DatePickerSavedStateTest {
+
+    // value types written by Parcel.writeValue for bundle entries
+    private final static int VAL_STRING = 0;
+    private final static int VAL_INTEGER = 1;
+    private final static int VAL_PARCELABLE = 4;
+    private final static int VAL_BOOLEAN = 9;
+    private final static int VAL_SERIALIZABLE = 21;
+
+    @Test
+    public void restoresEveryField() {
+        DatePickerSavedState state = createState();
+        Parcel parcel = Parcel.obtain();
+        state.writeToParcel(parcel, 0);
+        parcel.setDataPosition(0);
+        DatePickerSavedState restored = DatePickerSavedState.CREATOR.createFromParcel(parcel);
+        assertEquals(state.epochDay, restored.epochDay);
+        assertEquals(state.pickerMode, restored.pickerMode);
+        assertEquals(state.defaultPickerMode, restored.defaultPickerMode);
+        assertEquals(state.zoomYear, restored.zoomYear);
+        assertEquals(state.yearList, restored.yearList);
+        assertEquals(state.firstDayOfWeek, restored.firstDayOfWeek);
+        assertEquals(state.yearStart, restored.yearStart);
+        assertEquals(state.yearEnd, restored.yearEnd);
+        assertEquals(state.headerColor, restored.headerColor);
+        assertEquals(state.selectionColor, restored.selectionColor);
+        assertEquals(state.positiveColor, restored.positiveColor);
+        assertEquals(state.negativeColor, restored.negativeColor);
+        assertEquals(state.todayColor, restored.todayColor);
+        assertEquals(state.darkTheme, restored.darkTheme);
+        assertEquals(state.tileMode, restored.tileMode);
+        assertEquals(state.prefetchMonths, restored.prefetchMonths);
+        assertEquals(state.prefetchBudget, restored.prefetchBudget);
+        assertEquals(state.headerDateFormat, restored.headerDateFormat);
+        assertEquals(state.positiveText, restored.positiveText);
+        assertEquals(state.negativeText, restored.negativeText);
+        assertEquals(parcel.dataSize(), parcel.dataPosition());
+    }
+
+    @Test
+    public void restoresNullStrings() {
+        DatePickerSavedState state = createState();
+        state.positiveText = null;
+        state.negativeText = null;
+        Parcel parcel = Parcel.obtain();
+        state.writeToParcel(parcel, 0);
+        parcel.setDataPosition(0);
+        DatePickerSavedState restored = DatePickerSavedState.CREATOR.createFromParcel(parcel);
+        assertNull(restored.positiveText);
+        assertNull(restored.negativeText);
+    }
+
+    @Test
+    public void skipsUnknownVersion() {
+        Parcel parcel = Parcel.obtain();
+        createState().writeToParcel(parcel, 0);
+        parcel.writeInt(42);
+        // overwrite the version as if written by another release
+        parcel.setDataPosition(0);
+        parcel.writeInt(Integer.MAX_VALUE);
+        parcel.setDataPosition(0);
+        assertNull(DatePickerSavedState.CREATOR.createFromParcel(parcel));
+        assertEquals(42, parcel.readInt());
+    }
+
+    /**
+     * Only sizes can be compared on the jvm: the framework parcel and bundle need a device, so
+     * the save and restore time of either approach is not measured here. Both bundle entries are
+     * written with the stand-in parcel, which keeps the framework layout.
+     */
+    @Test
+    public void smallerThanLegacyBundle() throws IOException {
+        DatePickerSavedState state = createState();
+        Parcel parcel = Parcel.obtain();
+        parcel.writeString("dpd:state");
+        parcel.writeInt(VAL_PARCELABLE);
+        parcel.writeString(DatePickerSavedState.class.getName());
+        state.writeToParcel(parcel, 0);
+        assertTrue(parcel.dataSize() * 2 < getLegacySize(state));
+    }
+
+    private static DatePickerSavedState createState() {
+        DatePickerSavedState state = new DatePickerSavedState();
+        state.epochDay = DateState.toEpochDay(2016, Calendar.FEBRUARY, 29);
+        state.pickerMode = DateHeaderView.MODE_MONTH_PICKER;
+        state.defaultPickerMode = DateHeaderView.MODE_DAY_PICKER;
+        state.zoomYear = 2016;
+        state.yearList = true;
+        state.firstDayOfWeek = Calendar.MONDAY;
+        state.yearStart = 1900;
+        state.yearEnd = 2100;
+        state.headerColor = 0xff009688;
+        state.selectionColor = 0xff009688;
+        state.positiveColor = 0xff009688;
+        state.negativeColor = 0xff009688;
+        state.todayColor = 0xff009688;
+        state.darkTheme = true;
+        state.tileMode = false;
+        state.prefetchMonths = 2;
+        state.prefetchBudget = 4 * 1024 * 1024;
+        state.headerDateFormat = "EEE, MMM dd";
+        state.positiveText = "OK";
+        state.negativeText = "Cancel";
+        return state;
+    }
+
+    /**
+     * Size of the bundle entries written by onSaveInstanceState before the single parcelable,
+     * with the same keys and the selection in a serialized calendar.
+     */
+    private static int getLegacySize(DatePickerSavedState state) throws IOException {
+        Parcel parcel = Parcel.obtain();
+        writeInt(parcel, "dpd:headerColor", state.headerColor);
+        writeInt(parcel, "dpd:selectionColor", state.selectionColor);
+        writeInt(parcel, "dpd:positiveColor", state.positiveColor);
+        writeInt(parcel, "dpd:negativeColor", state.negativeColor);
+        writeInt(parcel, "dpd:todayColor", state.todayColor);
+        parcel.writeString("dpd:darkMode");
+        parcel.writeInt(VAL_BOOLEAN);
+        parcel.writeInt(state.darkTheme ? 1 : 0);
+        writeString(parcel, "dpd:headerFormat", state.headerDateFormat);
+        writeInt(parcel, "dpd:pickerMode", state.pickerMode);
+        writeInt(parcel, "dpd:startYear", state.yearStart);
+        writeInt(parcel, "dpd:endYear", state.yearEnd);
+        writeString(parcel, "dpd:positiveText", state.positiveText);
+        writeString(parcel, "dpd:negativeText", state.negativeText);
+        Calendar calendar = new GregorianCalendar();
+        calendar.clear();
+        calendar.set(2016, Calendar.FEBRUARY, 29);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream stream = new ObjectOutputStream(bytes);
+        stream.writeObject(calendar);
+        stream.close();
+        parcel.writeString("dpd:internalCalendar");
+        parcel.writeInt(VAL_SERIALIZABLE);
+        parcel.writeString(calendar.getClass().getName());
+        writeByteArray(parcel, bytes.toByteArray());
+        return parcel.dataSize();
+    }
+
+    private static void writeInt(Parcel parcel, String key, int value) {
+        parcel.writeString(key);
+        parcel.writeInt(VAL_INTEGER);
+        parcel.writeInt(value);
+    }
+
+    private static void writeString(Parcel parcel, String key, String value) {
+        parcel.writeString(key);
+        parcel.writeInt(VAL_STRING);
+        parcel.writeString(value);
+    }
+
+    private static void writeByteArray(Parcel parcel, byte[] value) {
+        // length followed by the bytes padded to four
+        parcel.writeInt(value.length);
+        for (int i = 0; i < value.length; i += 4) {
+            int word = 0;
+            for (int j = 0; j < 4 && i + j < value.length; j++) {
+                word |= (value[i + j] & 0xff) << (8 * j);
+            }
+            parcel.writeInt(word);
+        }
+    }
+}
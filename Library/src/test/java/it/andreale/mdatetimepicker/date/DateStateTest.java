@@ -0,0 +1,72 @@
+package it.andreale.mdatetimepicker.date;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+public class DateStateTest {
+
+    @Test
+    public void accessors_matchCalendar() throws Exception {
+        GregorianCalendar calendar = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
+        calendar.clear();
+        calendar.set(1600, Calendar.JANUARY, 1);
+        DateState state = new DateState(0);
+        int first = MonthGrid.toEpochDay(1600, Calendar.JANUARY, 1);
+        int last = MonthGrid.toEpochDay(2400, Calendar.DECEMBER, 31);
+        for (int epochDay = first; epochDay <= last; epochDay++) {
+            state.setEpochDay(epochDay);
+            assertEquals(calendar.get(Calendar.YEAR), state.getYear());
+            assertEquals(calendar.get(Calendar.MONTH), state.getMonth());
+            assertEquals(calendar.get(Calendar.DAY_OF_MONTH), state.getDay());
+            assertEquals(epochDay, MonthGrid.toEpochDay(state.getYear(), state.getMonth(), state.getDay()));
+            calendar.add(Calendar.DAY_OF_MONTH, 1);
+        }
+    }
+
+    @Test
+    public void constructor_splitsEpochDay() throws Exception {
+        DateState state = new DateState(0);
+        assertEquals(1970, state.getYear());
+        assertEquals(Calendar.JANUARY, state.getMonth());
+        assertEquals(1, state.getDay());
+        state = new DateState(-1);
+        assertEquals(1969, state.getYear());
+        assertEquals(Calendar.DECEMBER, state.getMonth());
+        assertEquals(31, state.getDay());
+    }
+
+    @Test
+    public void set_reportsChanges() throws Exception {
+        DateState state = new DateState(DateState.toEpochDay(2015, Calendar.MARCH, 23));
+        assertFalse(state.set(2015, Calendar.MARCH, 23));
+        assertTrue(state.set(2016, Calendar.FEBRUARY, 29));
+        assertEquals(DateState.toEpochDay(2016, Calendar.FEBRUARY, 29), state.getEpochDay());
+        assertFalse(state.setEpochDay(state.getEpochDay()));
+    }
+
+    @Test
+    public void setYear_keepsDayInsideMonth() throws Exception {
+        DateState state = new DateState(DateState.toEpochDay(2016, Calendar.FEBRUARY, 29));
+        assertTrue(state.setYear(2017));
+        assertEquals(Calendar.FEBRUARY, state.getMonth());
+        assertEquals(28, state.getDay());
+        state = new DateState(DateState.toEpochDay(2015, Calendar.JANUARY, 31));
+        assertTrue(state.setMonth(2015, Calendar.APRIL));
+        assertEquals(30, state.getDay());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void toEpochDay_rejectsInvalidDay() throws Exception {
+        DateState.toEpochDay(2015, Calendar.FEBRUARY, 29);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void toEpochDay_rejectsInvalidMonth() throws Exception {
+        DateState.toEpochDay(2015, 12, 1);
+    }
+}
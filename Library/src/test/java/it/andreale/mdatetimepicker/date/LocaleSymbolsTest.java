@@ -0,0 +1,44 @@
+package it.andreale.mdatetimepicker.date;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+public class LocaleSymbolsTest {
+
+    @Test
+    public void narrowWeekdays_startFromFirstDayOfWeek() throws Exception {
+        LocaleSymbols symbols = new LocaleSymbols(Locale.US);
+        assertArrayEquals(new String[]{"S", "M", "T", "W", "T", "F", "S"}, symbols.getNarrowWeekdays(Calendar.SUNDAY));
+        assertArrayEquals(new String[]{"M", "T", "W", "T", "F", "S", "S"}, symbols.getNarrowWeekdays(Calendar.MONDAY));
+        assertSame(symbols.getNarrowWeekdays(Calendar.MONDAY), symbols.getNarrowWeekdays(Calendar.MONDAY));
+    }
+
+    @Test
+    public void pageTitle_isCached() throws Exception {
+        LocaleSymbols symbols = new LocaleSymbols(Locale.US);
+        String title = symbols.getPageTitle(2015, Calendar.MARCH);
+        assertEquals("March 2015", title);
+        assertSame(title, symbols.getPageTitle(2015, Calendar.MARCH));
+        assertEquals("Mar", symbols.getShortMonthName(Calendar.MARCH));
+    }
+
+    @Test
+    public void instance_followsDefaultLocale() throws Exception {
+        Locale defaultLocale = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.US);
+            LocaleSymbols english = LocaleSymbols.getInstance();
+            assertSame(english, LocaleSymbols.getInstance());
+            Locale.setDefault(Locale.ITALY);
+            LocaleSymbols italian = LocaleSymbols.getInstance();
+            assertNotSame(english, italian);
+            assertEquals("marzo", italian.getMonthName(Calendar.MARCH));
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package it.andreale.mdatetimepicker.date;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the arithmetic month layout against java.util.Calendar on the default year range.
+ */
+public class MonthGridTest {
+
+    private final static int START_YEAR = 1900;
+    private final static int END_YEAR = 2100;
+
+    @Test
+    public void epochDay_matchesCalendar() throws Exception {
+        Calendar calendar = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
+        calendar.clear();
+        for (int year = START_YEAR; year <= END_YEAR; year++) {
+            for (int month = 0; month < 12; month++) {
+                calendar.set(year, month, 1);
+                long expected = calendar.getTimeInMillis() / (24L * 60 * 60 * 1000);
+                assertEquals(year + "/" + month, expected, MonthGrid.toEpochDay(year, month, 1));
+                assertEquals(year + "/" + month, calendar.get(Calendar.DAY_OF_WEEK),
+                        MonthGrid.getDayOfWeek(MonthGrid.toEpochDay(year, month, 1)));
+                assertEquals(year + "/" + month, calendar.getActualMaximum(Calendar.DAY_OF_MONTH),
+                        MonthGrid.getDaysInMonth(year, month));
+            }
+        }
+    }
+
+    @Test
+    public void fill_matchesCalendar() throws Exception {
+        Calendar calendar = Calendar.getInstance();
+        int[] expected = new int[MonthGrid.CELL_COUNT];
+        int[] actual = new int[MonthGrid.CELL_COUNT];
+        for (int firstDayOfWeek = Calendar.SUNDAY; firstDayOfWeek <= Calendar.SATURDAY; firstDayOfWeek++) {
+            for (int year = START_YEAR; year <= END_YEAR; year++) {
+                for (int month = 0; month < 12; month++) {
+                    fillWithCalendar(calendar, year, month, firstDayOfWeek, expected);
+                    MonthGrid.fill(year, month, firstDayOfWeek, actual);
+                    assertArrayEquals(year + "/" + month + " fdow " + firstDayOfWeek, expected, actual);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void epochDay_beforeEpoch() throws Exception {
+        assertEquals(0, MonthGrid.toEpochDay(1970, Calendar.JANUARY, 1));
+        assertEquals(-1, MonthGrid.toEpochDay(1969, Calendar.DECEMBER, 31));
+        assertEquals(Calendar.WEDNESDAY, MonthGrid.getDayOfWeek(-1));
+        assertEquals(Calendar.SATURDAY, MonthGrid.getDayOfWeek(MonthGrid.toEpochDay(2000, Calendar.JANUARY, 1)));
+    }
+
+    @Test
+    public void epochDay_rollsDaysOver() throws Exception {
+        assertEquals(MonthGrid.toEpochDay(2016, Calendar.MARCH, 2), MonthGrid.toEpochDay(2016, Calendar.FEBRUARY, 31));
+        assertEquals(MonthGrid.toEpochDay(2015, Calendar.DECEMBER, 31), MonthGrid.toEpochDay(2016, Calendar.JANUARY, 0));
+        assertEquals(MonthGrid.toEpochDay(2017, Calendar.JANUARY, 1), MonthGrid.toEpochDay(2016, Calendar.DECEMBER, 32));
+    }
+
+    @Test
+    public void toDate_invertsEpochDay() throws Exception {
+        int[] date = new int[3];
+        for (int epochDay = -800000; epochDay <= 800000; epochDay++) {
+            MonthGrid.toDate(epochDay, date);
+            assertEquals(epochDay, MonthGrid.toEpochDay(date[0], date[1], date[2]));
+            assertTrue(date[2] >= 1 && date[2] <= MonthGrid.getDaysInMonth(date[0], date[1]));
+        }
+    }
+
+    @Test
+    public void toDate_matchesCalendar() throws Exception {
+        int[] date = new int[3];
+        MonthGrid.toDate(-1, date);
+        assertArrayEquals(new int[]{1969, Calendar.DECEMBER, 31}, date);
+        MonthGrid.toDate(MonthGrid.toEpochDay(2000, Calendar.FEBRUARY, 29), date);
+        assertArrayEquals(new int[]{2000, Calendar.FEBRUARY, 29}, date);
+        MonthGrid.toDate(MonthGrid.toEpochDay(1900, Calendar.MARCH, 1) - 1, date);
+        assertArrayEquals(new int[]{1900, Calendar.FEBRUARY, 28}, date);
+    }
+
+    @Test
+    public void epochDay_fromMillisUsesTimeZone() throws Exception {
+        TimeZone rome = TimeZone.getTimeZone("Europe/Rome");
+        Calendar calendar = new GregorianCalendar(rome);
+        calendar.clear();
+        calendar.set(2015, Calendar.DECEMBER, 31, 23, 30);
+        assertEquals(MonthGrid.toEpochDay(2015, Calendar.DECEMBER, 31),
+                MonthGrid.toEpochDay(calendar.getTimeInMillis(), rome));
+        calendar.set(1969, Calendar.DECEMBER, 31, 0, 30);
+        assertEquals(-1, MonthGrid.toEpochDay(calendar.getTimeInMillis(), rome));
+    }
+
+    private static void fillWithCalendar(Calendar calendar, int year, int month, int firstDayOfWeek, int[] cells) {
+        calendar.clear();
+        calendar.set(year, month, 1);
+        int skip = (calendar.get(Calendar.DAY_OF_WEEK) - firstDayOfWeek + 7) % 7;
+        int days = calendar.getActualMaximum(Calendar.DAY_OF_MONTH);
+        for (int i = 0; i < cells.length; i++) {
+            int day = i - skip + 1;
+            cells[i] = (day < 1 || day > days) ? MonthGrid.EMPTY_DAY : day;
+        }
+    }
+}
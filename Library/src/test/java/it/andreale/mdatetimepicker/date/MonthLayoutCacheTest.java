@@ -0,0 +1,61 @@
+package it.andreale.mdatetimepicker.date;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+
+import static org.junit.Assert.*;
+
+public class MonthLayoutCacheTest {
+
+    @Test
+    public void get_countsHitsAndMisses() throws Exception {
+        MonthLayoutCache cache = new MonthLayoutCache(4);
+        MonthLayout first = cache.get(2015, Calendar.MARCH, Calendar.SUNDAY);
+        assertSame(first, cache.get(2015, Calendar.MARCH, Calendar.SUNDAY));
+        assertNotSame(first, cache.get(2015, Calendar.MARCH, Calendar.MONDAY));
+        assertEquals(1, cache.hitCount());
+        assertEquals(2, cache.missCount());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void get_evictsLeastRecentlyUsed() throws Exception {
+        MonthLayoutCache cache = new MonthLayoutCache(2);
+        MonthLayout january = cache.get(2015, Calendar.JANUARY, Calendar.SUNDAY);
+        cache.get(2015, Calendar.FEBRUARY, Calendar.SUNDAY);
+        // touch january so that february becomes the eldest entry
+        assertSame(january, cache.get(2015, Calendar.JANUARY, Calendar.SUNDAY));
+        cache.get(2015, Calendar.MARCH, Calendar.SUNDAY);
+        assertEquals(2, cache.size());
+        assertSame(january, cache.get(2015, Calendar.JANUARY, Calendar.SUNDAY));
+        long misses = cache.missCount();
+        cache.get(2015, Calendar.FEBRUARY, Calendar.SUNDAY);
+        assertEquals(misses + 1, cache.missCount());
+    }
+
+    @Test
+    public void resize_trimsEntries() throws Exception {
+        MonthLayoutCache cache = new MonthLayoutCache(12);
+        for (int month = 0; month < 12; month++) {
+            cache.get(2016, month, Calendar.MONDAY);
+        }
+        cache.resize(3);
+        assertEquals(3, cache.size());
+        assertEquals(3, cache.maxSize());
+    }
+
+    @Test
+    public void layout_matchesGrid() throws Exception {
+        MonthLayout layout = new MonthLayoutCache(1).get(2016, Calendar.FEBRUARY, Calendar.MONDAY);
+        int[] cells = new int[MonthGrid.CELL_COUNT];
+        MonthGrid.fill(2016, Calendar.FEBRUARY, Calendar.MONDAY, cells);
+        for (int i = 0; i < cells.length; i++) {
+            assertEquals(cells[i], layout.getDay(i));
+        }
+        assertEquals(29, layout.getDaysInMonth());
+        assertEquals(0, layout.getFirstDayColumn());
+        assertEquals(MonthGrid.toEpochDay(2016, Calendar.FEBRUARY, 1), layout.getFirstEpochDay());
+        assertEquals(28, layout.getCell(29));
+    }
+}
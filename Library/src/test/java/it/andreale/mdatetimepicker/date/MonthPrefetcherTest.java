@@ -0,0 +1,70 @@
+package it.andreale.mdatetimepicker.date;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class MonthPrefetcherTest {
+
+    private static class RecordingController implements MonthPrefetcher.Controller {
+
+        private final List<Long> mPrefetched = new ArrayList<Long>();
+        private int mByteCount;
+
+        @Override
+        public long getPageCount() {
+            return 100;
+        }
+
+        @Override
+        public int getPrefetchByteCount() {
+            return mByteCount;
+        }
+
+        @Override
+        public void onPrefetch(long position) {
+            mPrefetched.add(position);
+        }
+    }
+
+    private static void swipe(MonthPrefetcher prefetcher, int from, int pages, long durationMillis) {
+        long frames = durationMillis / 16;
+        for (int i = 0; i <= frames; i++) {
+            float scroll = from + pages * (float) i / frames;
+            long position = (long) Math.floor(scroll);
+            prefetcher.onPageScrolled(position, scroll - position, i * 16);
+        }
+    }
+
+    @Test
+    public void slowSwipe_prefetchesNextMonth() throws Exception {
+        RecordingController controller = new RecordingController();
+        MonthPrefetcher prefetcher = new MonthPrefetcher(controller, 3, Integer.MAX_VALUE);
+        swipe(prefetcher, 10, 1, 800);
+        // one month past the incoming page, both while dragging and once settled
+        assertEquals(Arrays.asList(12L, 13L), controller.mPrefetched);
+    }
+
+    @Test
+    public void fastSwipe_prefetchesMoreMonthsInDirection() throws Exception {
+        RecordingController controller = new RecordingController();
+        MonthPrefetcher prefetcher = new MonthPrefetcher(controller, 3, Integer.MAX_VALUE);
+        swipe(prefetcher, 10, -1, 160);
+        // 9 is coming into view
+        assertEquals(Arrays.asList(8L, 7L, 6L), controller.mPrefetched);
+    }
+
+    @Test
+    public void memoryBudget_limitsPrefetchedTiles() throws Exception {
+        RecordingController controller = new RecordingController();
+        controller.mByteCount = 1000;
+        MonthPrefetcher prefetcher = new MonthPrefetcher(controller, 3, 2500);
+        swipe(prefetcher, 10, 1, 160);
+        // two months ahead of the page coming into view, then of the settled page
+        assertEquals(Arrays.asList(12L, 13L, 14L), controller.mPrefetched);
+    }
+}
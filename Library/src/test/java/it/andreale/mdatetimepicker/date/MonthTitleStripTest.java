@@ -0,0 +1,111 @@
+package it.andreale.mdatetimepicker.date;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import static org.junit.Assert.*;
+
+public class MonthTitleStripTest {
+
+    private static class CountingProvider implements MonthTitleStrip.TitleProvider {
+
+        private int mLoaded;
+
+        @Override
+        public CharSequence getPageTitle(long position) {
+            if (position < 0 || position >= 120) {
+                return null;
+            }
+            mLoaded++;
+            return "Page " + position;
+        }
+
+        @Override
+        public float getTextWidth(String text) {
+            return text.length() * 10;
+        }
+
+        @Override
+        public float getTextHeight(String text) {
+            return 20;
+        }
+    }
+
+    @Test
+    public void setSelectedPosition_loadsOnlyTheIncomingTitle() throws Exception {
+        CountingProvider provider = new CountingProvider();
+        MonthTitleStrip strip = new MonthTitleStrip(provider);
+        strip.setSelectedPosition(10);
+        assertEquals(3, provider.mLoaded);
+        strip.setSelectedPosition(11);
+        assertEquals(4, provider.mLoaded);
+        assertEquals("Page 10", strip.getTitle(MonthTitleStrip.PREVIOUS));
+        assertEquals("Page 11", strip.getTitle(MonthTitleStrip.CURRENT));
+        assertEquals("Page 12", strip.getTitle(MonthTitleStrip.NEXT));
+        strip.setSelectedPosition(10);
+        assertEquals(5, provider.mLoaded);
+        assertEquals("Page 9", strip.getTitle(MonthTitleStrip.PREVIOUS));
+        assertEquals(70f, strip.getTitleWidth(MonthTitleStrip.CURRENT), 0f);
+    }
+
+    @Test
+    public void setSelectedPosition_reloadsAfterJumpOrInvalidate() throws Exception {
+        CountingProvider provider = new CountingProvider();
+        MonthTitleStrip strip = new MonthTitleStrip(provider);
+        strip.setSelectedPosition(0);
+        assertNull(strip.getTitle(MonthTitleStrip.PREVIOUS));
+        assertEquals(2, provider.mLoaded);
+        strip.setSelectedPosition(50);
+        assertEquals(5, provider.mLoaded);
+        strip.invalidate();
+        strip.setSelectedPosition(50);
+        assertEquals(8, provider.mLoaded);
+    }
+
+    @Test
+    public void getTranslation_followsScrollDirection() throws Exception {
+        MonthTitleStrip strip = new MonthTitleStrip(new CountingProvider());
+        strip.setSelectedPosition(10);
+        strip.setScroll(10, 0.25f);
+        assertEquals(-25f, strip.getTranslation(100), 0.001f);
+        strip.setScroll(9, 0.75f);
+        assertEquals(25f, strip.getTranslation(100), 0.001f);
+    }
+
+    @Test
+    public void scrollFrame_doesNotAllocate() throws Exception {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) bean;
+        Assume.assumeTrue(allocations.isThreadAllocatedMemorySupported());
+        allocations.setThreadAllocatedMemoryEnabled(true);
+        MonthTitleStrip strip = new MonthTitleStrip(new CountingProvider());
+        strip.setSelectedPosition(10);
+        int frames = 100000;
+        // warm up before measuring
+        float sink = scroll(strip, frames);
+        long threadId = Thread.currentThread().getId();
+        long before = allocations.getThreadAllocatedBytes(threadId);
+        sink += scroll(strip, frames);
+        long after = allocations.getThreadAllocatedBytes(threadId);
+        assertEquals(0, (after - before) / frames);
+        assertTrue(sink != 0);
+    }
+
+    private static float scroll(MonthTitleStrip strip, int frames) {
+        float sink = 0;
+        for (int i = 0; i < frames; i++) {
+            strip.setScroll(10, (i % 100) / 100f);
+            sink += strip.getTranslation(1080);
+            for (int j = MonthTitleStrip.PREVIOUS; j <= MonthTitleStrip.NEXT; j++) {
+                if (strip.getTitle(j) != null) {
+                    sink += strip.getTitleWidth(j) + strip.getTitleHeight(j);
+                }
+            }
+        }
+        return sink;
+    }
+}
@@ -0,0 +1,57 @@
+package it.andreale.mdatetimepicker.date;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class YearListLayoutTest {
+
+    @Test
+    public void getCenteredScroll_centersRowAndClampsAtEdges() throws Exception {
+        YearListLayout layout = new YearListLayout(1, 9999, 100, 1000);
+        assertEquals(999900L, layout.getContentHeight());
+        assertEquals(998900, layout.getMaxScroll());
+        // row 2015 centered: top 201400, minus 450
+        assertEquals(200950, layout.getCenteredScroll(layout.getPosition(2015)));
+        assertEquals(0, layout.getCenteredScroll(0));
+        assertEquals(layout.getMaxScroll(), layout.getCenteredScroll(layout.getCount() - 1));
+    }
+
+    @Test
+    public void getPositionAt_clampsToList() throws Exception {
+        YearListLayout layout = new YearListLayout(1900, 2100, 50, 500);
+        assertEquals(0, layout.getPositionAt(-10));
+        assertEquals(1, layout.getPositionAt(50));
+        assertEquals(200, layout.getPositionAt(1000000));
+        assertEquals(2015, layout.getYear(layout.getPositionAt(115 * 50 + 25)));
+    }
+
+    @Test
+    public void thumb_mapsBackToScroll() throws Exception {
+        YearListLayout layout = new YearListLayout(1, 9999, 100, 1000);
+        assertTrue(layout.isFastScrollNeeded(4));
+        int thumbHeight = layout.getThumbHeight(80);
+        assertEquals(80, thumbHeight);
+        assertEquals(0, layout.getThumbTop(0, thumbHeight));
+        assertEquals(920, layout.getThumbTop(layout.getMaxScroll(), thumbHeight));
+        int scroll = layout.getScrollForThumb(460, thumbHeight);
+        assertEquals(layout.getMaxScroll() / 2, scroll);
+        assertFalse(new YearListLayout(2000, 2010, 100, 1000).isFastScrollNeeded(4));
+    }
+
+    @Test
+    public void formatYear_writesDigitsAtBufferEnd() throws Exception {
+        char[] buffer = new char[YearListLayout.MAX_YEAR_LENGTH];
+        int start = YearListLayout.formatYear(2015, buffer);
+        assertEquals("2015", new String(buffer, start, buffer.length - start));
+        start = YearListLayout.formatYear(7, buffer);
+        assertEquals("7", new String(buffer, start, buffer.length - start));
+        start = YearListLayout.formatYear(Integer.MIN_VALUE, buffer);
+        assertEquals(String.valueOf(Integer.MIN_VALUE), new String(buffer, start, buffer.length - start));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setRange_rejectsReversedRange() throws Exception {
+        new YearListLayout(2000, 1999, 100, 1000);
+    }
+}
@@ -0,0 +1,87 @@
+package it.andreale.mdatetimepicker.date;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+
+import static org.junit.Assert.*;
+
+public class ZoomGridTest {
+
+    @Test
+    public void getCellValue_centuryShowsDecadesWithNeighbours() throws Exception {
+        assertEquals(1890, ZoomGrid.getCellValue(ZoomGrid.LEVEL_CENTURY, 1987, 0));
+        assertEquals(1900, ZoomGrid.getCellValue(ZoomGrid.LEVEL_CENTURY, 1987, 1));
+        assertEquals(2000, ZoomGrid.getCellValue(ZoomGrid.LEVEL_CENTURY, 1987, 11));
+        assertTrue(ZoomGrid.isCellOutside(ZoomGrid.LEVEL_CENTURY, 11));
+        assertFalse(ZoomGrid.isCellOutside(ZoomGrid.LEVEL_CENTURY, 10));
+    }
+
+    @Test
+    public void getCellValue_decadeShowsYearsWithNeighbours() throws Exception {
+        assertEquals(1979, ZoomGrid.getCellValue(ZoomGrid.LEVEL_DECADE, 1987, 0));
+        assertEquals(1987, ZoomGrid.getCellValue(ZoomGrid.LEVEL_DECADE, 1987, 8));
+        assertEquals(1990, ZoomGrid.getCellValue(ZoomGrid.LEVEL_DECADE, 1987, 11));
+        assertEquals(Calendar.MAY, ZoomGrid.getCellValue(ZoomGrid.LEVEL_YEAR, 1987, Calendar.MAY));
+    }
+
+    @Test
+    public void getCell_findsSelectedDate() throws Exception {
+        assertEquals(9, ZoomGrid.getCell(ZoomGrid.LEVEL_CENTURY, 1900, 1987, Calendar.MAY));
+        assertEquals(8, ZoomGrid.getCell(ZoomGrid.LEVEL_DECADE, 1980, 1987, Calendar.MAY));
+        assertEquals(Calendar.MAY, ZoomGrid.getCell(ZoomGrid.LEVEL_YEAR, 1987, 1987, Calendar.MAY));
+        assertEquals(-1, ZoomGrid.getCell(ZoomGrid.LEVEL_YEAR, 1988, 1987, Calendar.MAY));
+        assertEquals(-1, ZoomGrid.getCell(ZoomGrid.LEVEL_DECADE, 2000, 1987, Calendar.MAY));
+    }
+
+    @Test
+    public void range_limitsCellsAndNavigation() throws Exception {
+        // 1900 - 2100 range
+        assertFalse(ZoomGrid.isCellInRange(ZoomGrid.LEVEL_CENTURY, 1950, 0, 1900, 2100));
+        assertTrue(ZoomGrid.isCellInRange(ZoomGrid.LEVEL_CENTURY, 2100, 1, 1900, 2100));
+        assertFalse(ZoomGrid.isCellInRange(ZoomGrid.LEVEL_CENTURY, 2100, 2, 1900, 2100));
+        assertTrue(ZoomGrid.canMove(ZoomGrid.LEVEL_CENTURY, 2050, 1, 1900, 2100));
+        assertFalse(ZoomGrid.canMove(ZoomGrid.LEVEL_CENTURY, 2150, 1, 1900, 2100));
+        assertFalse(ZoomGrid.canMove(ZoomGrid.LEVEL_DECADE, 1905, -1, 1900, 2100));
+        assertTrue(ZoomGrid.canMove(ZoomGrid.LEVEL_YEAR, 1901, -1, 1900, 2100));
+    }
+
+    @Test
+    public void getFirstYear_handlesNegativeYears() throws Exception {
+        assertEquals(-100, ZoomGrid.getFirstYear(ZoomGrid.LEVEL_CENTURY, -1));
+        assertEquals(-10, ZoomGrid.getFirstYear(ZoomGrid.LEVEL_DECADE, -1));
+    }
+
+    @Test
+    public void range_showsEveryDecadeOfTheRange() throws Exception {
+        assertEquals(10, ZoomGrid.getRangeStep(1900, 2100));
+        assertEquals(21, ZoomGrid.getRangeCellCount(1900, 2100));
+        assertEquals(1900, ZoomGrid.getRangeCellValue(1900, 2100, 0));
+        assertEquals(2100, ZoomGrid.getRangeCellValue(1900, 2100, 20));
+        assertEquals(8, ZoomGrid.getRangeCell(1900, 2100, 1985));
+        assertEquals(-1, ZoomGrid.getRangeCell(1900, 2100, 2101));
+        // every year is in the decade grid opened by its range cell
+        for (int year = 1900; year <= 2100; year++) {
+            int decade = ZoomGrid.getRangeCellValue(1900, 2100, ZoomGrid.getRangeCell(1900, 2100, year));
+            int cell = ZoomGrid.getCell(ZoomGrid.LEVEL_DECADE, decade, year, Calendar.JANUARY);
+            assertEquals(year, ZoomGrid.getCellValue(ZoomGrid.LEVEL_DECADE, decade, cell));
+            assertFalse(ZoomGrid.isCellOutside(ZoomGrid.LEVEL_DECADE, cell));
+        }
+    }
+
+    @Test
+    public void range_growsStepForLongRanges() throws Exception {
+        assertEquals(100, ZoomGrid.getRangeStep(1900, 2150));
+        assertEquals(3, ZoomGrid.getRangeCellCount(1900, 2150));
+        assertEquals(1000, ZoomGrid.getRangeStep(1, 9999));
+        assertEquals(10, ZoomGrid.getRangeCellCount(1, 9999));
+        assertEquals(0, ZoomGrid.getRangeCellValue(1, 9999, 0));
+        assertTrue(ZoomGrid.getRangeCellCount(Integer.MIN_VALUE, Integer.MAX_VALUE) <= ZoomGrid.RANGE_CELL_COUNT);
+        assertEquals(1, ZoomGrid.getRangeCellCount(2016, 2016));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void getStep_rejectsUnknownLevel() throws Exception {
+        ZoomGrid.getStep(7);
+    }
+}
@@ -0,0 +1,131 @@
+package it.andreale.mdatetimepicker.time;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class DialHitTesterTest {
+
+    private final static float RADIUS = 400;
+
+    // previous implementation, with square root and arctangent per sample
+    private static int reference(int type, float x, float y, float cx, float cy, float radius) {
+        float distance = (float) Math.sqrt(Math.pow(x - cx, 2) + Math.pow(y - cy, 2));
+        if (!(distance > radius * 0.45f && distance < radius)) {
+            return DialHitTester.NO_VALUE;
+        }
+        double degrees = Math.toDegrees(Math.atan2(cy - y, x - cx));
+        if (type == DialLayout.TYPE_MINUTE) {
+            float fixedAngle = 450 - (float) degrees;
+            return ((int) fixedAngle / 6) % 60;
+        }
+        float fixedAngle = 450 - (float) degrees + 15;
+        int hour = ((int) fixedAngle / 30) % 12;
+        if (type == DialLayout.TYPE_HOUR_24) {
+            if (distance > radius * 0.7f) {
+                if (hour != 0) {
+                    hour += 12;
+                }
+            } else if (hour == 0) {
+                hour = 12;
+            }
+        }
+        return hour;
+    }
+
+    @Test
+    public void getClockwiseAngle_startsAtTwelveOClock() throws Exception {
+        assertEquals(0f, DialHitTester.getClockwiseAngle(0, -1), 0.001f);
+        assertEquals(90f, DialHitTester.getClockwiseAngle(1, 0), 0.001f);
+        assertEquals(180f, DialHitTester.getClockwiseAngle(0, 1), 0.001f);
+        assertEquals(270f, DialHitTester.getClockwiseAngle(-1, 0), 0.001f);
+        assertEquals(135f, DialHitTester.getClockwiseAngle(1, 1), 0.001f);
+        assertEquals(30f, DialHitTester.getClockwiseAngle(0.5f, (float) -Math.sqrt(0.75)), 0.01f);
+    }
+
+    @Test
+    public void resolve_matchesPreviousImplementation() throws Exception {
+        Random random = new Random(42);
+        int[] types = {DialLayout.TYPE_HOUR_12, DialLayout.TYPE_HOUR_24, DialLayout.TYPE_MINUTE};
+        int samples = 100000;
+        int mismatches = 0;
+        for (int i = 0; i < samples; i++) {
+            float x = random.nextFloat() * 2 * RADIUS;
+            float y = random.nextFloat() * 2 * RADIUS;
+            int type = types[i % types.length];
+            if (DialHitTester.resolve(type, x - RADIUS, y - RADIUS, RADIUS) != reference(type, x, y, RADIUS, RADIUS, RADIUS)) {
+                mismatches++;
+            }
+        }
+        // only samples within rounding distance from a sector boundary may differ
+        assertTrue("Mismatches: " + mismatches, mismatches < samples / 1000);
+    }
+
+    @Test
+    public void resolve_rejectsCenterAndOutside() throws Exception {
+        assertEquals(DialHitTester.NO_VALUE, DialHitTester.resolve(DialLayout.TYPE_MINUTE, 0, 0, RADIUS));
+        assertEquals(DialHitTester.NO_VALUE, DialHitTester.resolve(DialLayout.TYPE_MINUTE, RADIUS, 0, RADIUS));
+        assertEquals(15, DialHitTester.resolve(DialLayout.TYPE_MINUTE, RADIUS * 0.8f, 0, RADIUS));
+        assertEquals(3, DialHitTester.resolve(DialLayout.TYPE_HOUR_12, RADIUS * 0.8f, 0, RADIUS));
+        assertEquals(15, DialHitTester.resolve(DialLayout.TYPE_HOUR_24, RADIUS * 0.8f, 0, RADIUS));
+        assertEquals(3, DialHitTester.resolve(DialLayout.TYPE_HOUR_24, RADIUS * 0.6f, 0, RADIUS));
+        assertEquals(0, DialHitTester.resolve(DialLayout.TYPE_HOUR_24, 0, -RADIUS * 0.8f, RADIUS));
+        assertEquals(12, DialHitTester.resolve(DialLayout.TYPE_HOUR_24, 0, -RADIUS * 0.6f, RADIUS));
+    }
+
+    @Test
+    public void normalizeAngle_wrapsIntoOneTurn() throws Exception {
+        assertEquals(0, DialHitTester.normalizeAngle(0), 0f);
+        assertEquals(0, DialHitTester.normalizeAngle(360), 0f);
+        assertEquals(350, DialHitTester.normalizeAngle(-10), 0f);
+        assertEquals(30, DialHitTester.normalizeAngle(750), 0f);
+        assertEquals(0, DialHitTester.normalizeAngle(-1e-6f), 0f);
+    }
+
+    /**
+     * Replays circular drags delivered as batches of samples, as a 120 Hz touch screen does
+     * on a 60 Hz display, and compares the per sample resolution of the previous
+     * implementation with the coalesced one.
+     */
+    @Test
+    public void replayTouchStream_coalescedResolutionFollowsDrag() throws Exception {
+        int events = 20000;
+        int batch = 4;
+        float[] xs = new float[events * batch];
+        float[] ys = new float[events * batch];
+        for (int i = 0; i < xs.length; i++) {
+            // slow laps around the minute ring
+            double angle = i * 2 * Math.PI / 3000;
+            xs[i] = RADIUS + (float) (RADIUS * 0.8 * Math.sin(angle));
+            ys[i] = RADIUS - (float) (RADIUS * 0.8 * Math.cos(angle));
+        }
+        int perSampleChanges = 0;
+        int value = -1;
+        for (int i = 0; i < xs.length; i++) {
+            int resolved = reference(DialLayout.TYPE_MINUTE, xs[i], ys[i], RADIUS, RADIUS, RADIUS);
+            if (resolved != DialHitTester.NO_VALUE && resolved != value) {
+                value = resolved;
+                perSampleChanges++;
+            }
+        }
+        int coalescedChanges = 0;
+        value = -1;
+        for (int e = 0; e < events; e++) {
+            int resolved = DialHitTester.NO_VALUE;
+            // newest sample first, older ones only while outside the ring
+            for (int i = (e + 1) * batch - 1; i >= e * batch && resolved == DialHitTester.NO_VALUE; i--) {
+                resolved = DialHitTester.resolve(DialLayout.TYPE_MINUTE, xs[i] - RADIUS, ys[i] - RADIUS, RADIUS);
+            }
+            if (resolved != DialHitTester.NO_VALUE && resolved != value) {
+                value = resolved;
+                coalescedChanges++;
+            }
+        }
+        assertTrue(coalescedChanges <= events);
+        assertTrue(coalescedChanges <= perSampleChanges);
+        // a slow drag crosses every minute, so no change is lost by coalescing
+        assertEquals(perSampleChanges, coalescedChanges);
+    }
+}
@@ -0,0 +1,76 @@
+package it.andreale.mdatetimepicker.time;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class DialLayoutTest {
+
+    private final static float DELTA = 0.001f;
+
+    // every label is 10 wide and 4 high
+    private final static DialLayout.Measurer MEASURER = new DialLayout.Measurer() {
+
+        @Override
+        public float getTextWidth(String text) {
+            return 10;
+        }
+
+        @Override
+        public float getTextHeight(String text) {
+            return 4;
+        }
+    };
+
+    @Test
+    public void layout_hour12PlacesLabelsOnOuterRing() throws Exception {
+        DialLayout layout = new DialLayout();
+        layout.layout(DialLayout.TYPE_HOUR_12, 100, 100, 100, MEASURER);
+        assertEquals(12, layout.getCount());
+        // three o'clock
+        assertEquals("3", layout.getLabel(2));
+        assertEquals(3, layout.getValue(2));
+        assertEquals(180 - 5, layout.getTextX(2), DELTA);
+        assertEquals(100 + 2, layout.getTextY(2), DELTA);
+        // twelve o'clock selects hour zero
+        assertEquals("12", layout.getLabel(11));
+        assertEquals(0, layout.getValue(11));
+        assertEquals(100 - 5, layout.getTextX(11), DELTA);
+        assertEquals(20 + 2, layout.getTextY(11), DELTA);
+    }
+
+    @Test
+    public void layout_hour24UsesInnerRingForDaytimeHours() throws Exception {
+        DialLayout layout = new DialLayout();
+        layout.layout(DialLayout.TYPE_HOUR_24, 100, 100, 100, MEASURER);
+        assertEquals(24, layout.getCount());
+        // 6 inside, 18 outside, both at six o'clock
+        assertEquals(160 + 2, layout.getTextY(6), DELTA);
+        assertEquals(180 + 2, layout.getTextY(18), DELTA);
+        assertEquals(DialLayout.OUTER_LABEL_RADIUS, DialLayout.getHourRadius(0), DELTA);
+        assertEquals(DialLayout.INNER_LABEL_RADIUS, DialLayout.getHourRadius(12), DELTA);
+    }
+
+    @Test
+    public void layout_minuteLabelsArePadded() throws Exception {
+        DialLayout layout = new DialLayout();
+        layout.layout(DialLayout.TYPE_MINUTE, 0, 0, 50, MEASURER);
+        assertEquals(12, layout.getCount());
+        assertEquals("00", layout.getLabel(0));
+        assertEquals("05", layout.getLabel(1));
+        assertEquals(45, layout.getValue(9));
+        // nine o'clock
+        assertEquals(-40 - 5, layout.getTextX(9), DELTA);
+        assertEquals(37, layout.getTick(37));
+    }
+
+    @Test
+    public void isStale_tracksTypeAndGeometry() throws Exception {
+        DialLayout layout = new DialLayout();
+        assertTrue(layout.isStale(DialLayout.TYPE_MINUTE, 0, 0, 50));
+        layout.layout(DialLayout.TYPE_MINUTE, 0, 0, 50, MEASURER);
+        assertFalse(layout.isStale(DialLayout.TYPE_MINUTE, 0, 0, 50));
+        assertTrue(layout.isStale(DialLayout.TYPE_HOUR_12, 0, 0, 50));
+        assertTrue(layout.isStale(DialLayout.TYPE_MINUTE, 0, 0, 60));
+    }
+}
@@ -0,0 +1,95 @@
+package it.andreale.mdatetimepicker.time;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class FrameDispatcherTest {
+
+    private final List<Runnable> mQueue = new ArrayList<Runnable>();
+    private int mFrames;
+    private FrameDispatcher mDispatcher;
+
+    @Before
+    public void setUp() throws Exception {
+        mDispatcher = new FrameDispatcher(new FrameDispatcher.Callback() {
+
+            @Override
+            public void onFrame() {
+                mFrames++;
+            }
+        }, new FrameDispatcher.Scheduler() {
+
+            @Override
+            public void schedule(Runnable frame) {
+                mQueue.add(frame);
+            }
+
+            @Override
+            public void cancel(Runnable frame) {
+                mQueue.remove(frame);
+            }
+        });
+    }
+
+    private void runFrame() {
+        List<Runnable> frames = new ArrayList<Runnable>(mQueue);
+        mQueue.clear();
+        for (Runnable frame : frames) {
+            frame.run();
+        }
+    }
+
+    @Test
+    public void dispatch_coalescesChangesOfTheSameFrame() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            mDispatcher.dispatch();
+        }
+        assertEquals(1, mQueue.size());
+        assertEquals(0, mFrames);
+        runFrame();
+        assertEquals(1, mFrames);
+        assertEquals(10, mDispatcher.getRequestCount());
+        assertEquals(1, mDispatcher.getFrameCount());
+        assertEquals(9, mDispatcher.getCoalescedCount());
+        assertFalse(mDispatcher.isPending());
+    }
+
+    @Test
+    public void dispatch_schedulesAgainAfterFrame() throws Exception {
+        mDispatcher.dispatch();
+        runFrame();
+        mDispatcher.dispatch();
+        mDispatcher.dispatch();
+        runFrame();
+        runFrame();
+        assertEquals(2, mFrames);
+        assertEquals(1, mDispatcher.getCoalescedCount());
+    }
+
+    @Test
+    public void cancel_dropsPendingFrame() throws Exception {
+        mDispatcher.dispatch();
+        mDispatcher.cancel();
+        mDispatcher.cancel();
+        assertTrue(mQueue.isEmpty());
+        runFrame();
+        assertEquals(0, mFrames);
+        assertEquals(1, mDispatcher.getDroppedCount());
+    }
+
+    @Test
+    public void dispatch_runsPendingFrameOnce() throws Exception {
+        mDispatcher.dispatch();
+        Runnable frame = mQueue.get(0);
+        runFrame();
+        // a late run of the same frame finds nothing pending
+        frame.run();
+        assertEquals(1, mFrames);
+        assertEquals(1, mDispatcher.getFrameCount());
+    }
+}
@@ -0,0 +1,105 @@
+package it.andreale.mdatetimepicker.time;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import static org.junit.Assert.*;
+
+public class HandAnimatorTest {
+
+    @Test
+    public void update_reachesTargetAtTheEnd() throws Exception {
+        HandAnimator animator = new HandAnimator();
+        animator.start(90, DialLayout.OUTER_LABEL_RADIUS, 180, DialLayout.OUTER_LABEL_RADIUS, 1000, 200);
+        assertTrue(animator.update(1000));
+        assertEquals(90, animator.getAngle(), 0.001f);
+        assertTrue(animator.update(1100));
+        // decelerating, more than half of the way at half of the time
+        assertTrue(animator.getAngle() > 135 && animator.getAngle() < 180);
+        assertFalse(animator.update(1200));
+        assertEquals(180, animator.getAngle(), 0.001f);
+        assertFalse(animator.isRunning());
+        assertFalse(animator.update(1300));
+    }
+
+    @Test
+    public void update_takesTheShortestArc() throws Exception {
+        HandAnimator animator = new HandAnimator();
+        animator.start(330, 0.8f, 30, 0.8f, 0, 100);
+        animator.update(50);
+        float angle = animator.getAngle();
+        assertTrue(angle > 330 || angle < 30);
+        animator.update(100);
+        assertEquals(30, animator.getAngle(), 0.001f);
+        // and counterclockwise
+        animator.start(30, 0.8f, 330, 0.8f, 0, 100);
+        animator.update(50);
+        angle = animator.getAngle();
+        assertTrue(angle > 330 || angle < 30);
+    }
+
+    @Test
+    public void update_movesBetweenTheHourRings() throws Exception {
+        HandAnimator animator = new HandAnimator();
+        float outer = DialLayout.getHourRadius(15);
+        float inner = DialLayout.getHourRadius(3);
+        animator.start(90, outer, 90, inner, 0, 100);
+        animator.update(50);
+        assertTrue(animator.getRadius() < outer && animator.getRadius() > inner);
+        animator.update(100);
+        assertEquals(inner, animator.getRadius(), 0.0001f);
+        assertEquals(90, animator.getAngle(), 0.001f);
+    }
+
+    @Test
+    public void setTarget_keepsProgress() throws Exception {
+        HandAnimator animator = new HandAnimator();
+        animator.start(0, 0.8f, 60, 0.8f, 0, 100);
+        animator.update(100 - 1);
+        animator.setTarget(90, 0.6f);
+        assertTrue(animator.update(99));
+        assertEquals(90, animator.getAngle(), 1f);
+        assertFalse(animator.update(100));
+        assertEquals(0.6f, animator.getRadius(), 0.0001f);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void start_rejectsEmptyDuration() throws Exception {
+        new HandAnimator().start(0, 0.8f, 90, 0.8f, 0, 0);
+    }
+
+    @Test
+    public void update_doesNotAllocate() throws Exception {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) bean;
+        Assume.assumeTrue(allocations.isThreadAllocatedMemorySupported());
+        allocations.setThreadAllocatedMemoryEnabled(true);
+        HandAnimator animator = new HandAnimator();
+        int frames = 100000;
+        // warm up before measuring
+        float sink = animate(animator, frames);
+        long threadId = Thread.currentThread().getId();
+        long before = allocations.getThreadAllocatedBytes(threadId);
+        sink += animate(animator, frames);
+        long after = allocations.getThreadAllocatedBytes(threadId);
+        assertEquals(0, (after - before) / frames);
+        assertTrue(sink != 0);
+    }
+
+    private static float animate(HandAnimator animator, int frames) {
+        float sink = 0;
+        for (int i = 0; i < frames; i++) {
+            int frame = i % 13;
+            if (frame == 0) {
+                animator.start(i % 360, 0.6f, (i * 7) % 360, 0.8f, i, 12 * 16);
+            }
+            animator.update(i + frame * 16);
+            sink += animator.getAngle() + animator.getRadius();
+        }
+        return sink;
+    }
+}
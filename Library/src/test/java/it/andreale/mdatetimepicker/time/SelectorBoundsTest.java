@@ -0,0 +1,127 @@
+package it.andreale.mdatetimepicker.time;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class SelectorBoundsTest {
+
+    private final static float RADIUS = 400;
+    private final static float CENTER = 450;
+
+    private final static DialLayout.Measurer MEASURER = new DialLayout.Measurer() {
+
+        @Override
+        public float getTextWidth(String text) {
+            return text.length() * RADIUS * DialLayout.TEXT_SIZE * 0.6f;
+        }
+
+        @Override
+        public float getTextHeight(String text) {
+            return RADIUS * DialLayout.TEXT_SIZE * 0.7f;
+        }
+    };
+
+    private static DialLayout layout(int type) {
+        DialLayout layout = new DialLayout();
+        layout.layout(type, CENTER, CENTER, RADIUS, MEASURER);
+        return layout;
+    }
+
+    private static void assertContains(SelectorBounds bounds, float left, float top, float right, float bottom) {
+        assertTrue(bounds.getLeft() <= left);
+        assertTrue(bounds.getTop() <= top);
+        assertTrue(bounds.getRight() >= right);
+        assertTrue(bounds.getBottom() >= bottom);
+    }
+
+    @Test
+    public void set_coversCenterEndCircleAndLabel() throws Exception {
+        int[] types = {DialLayout.TYPE_HOUR_12, DialLayout.TYPE_HOUR_24, DialLayout.TYPE_MINUTE};
+        int[] counts = {TimeState.HOURS_HALF_DAY, TimeState.HOURS_IN_DAY, DialLayout.TICK_COUNT};
+        SelectorBounds bounds = new SelectorBounds();
+        for (int t = 0; t < types.length; t++) {
+            DialLayout layout = layout(types[t]);
+            for (int value = 0; value < counts[t]; value++) {
+                bounds.set(layout, value);
+                float fixedRadius = RADIUS * DialLayout.OUTER_LABEL_RADIUS;
+                if (types[t] == DialLayout.TYPE_HOUR_24) {
+                    fixedRadius = RADIUS * DialLayout.getHourRadius(value);
+                }
+                int tick = layout.getTick(value);
+                float endX = CENTER + fixedRadius * DialLayout.getSin(tick);
+                float endY = CENTER - fixedRadius * DialLayout.getCos(tick);
+                float endRadius = RADIUS * SelectorBounds.END_RADIUS;
+                float centerRadius = RADIUS * SelectorBounds.CENTER_RADIUS;
+                assertContains(bounds, CENTER - centerRadius, CENTER - centerRadius, CENTER + centerRadius, CENTER + centerRadius);
+                assertContains(bounds, endX - endRadius, endY - endRadius, endX + endRadius, endY + endRadius);
+                int index = layout.indexOf(value);
+                if (index >= 0) {
+                    float textX = layout.getTextX(index);
+                    float textY = layout.getTextY(index);
+                    assertContains(bounds, textX, textY - layout.getTextHeight(index), textX + layout.getTextWidth(index), textY);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void union_ignoresEmptyBounds() throws Exception {
+        SelectorBounds bounds = new SelectorBounds();
+        SelectorBounds empty = new SelectorBounds();
+        bounds.set(layout(DialLayout.TYPE_MINUTE), 15);
+        int left = bounds.getLeft();
+        int right = bounds.getRight();
+        bounds.union(empty);
+        assertEquals(left, bounds.getLeft());
+        assertEquals(right, bounds.getRight());
+        empty.union(bounds);
+        assertFalse(empty.isEmpty());
+        assertEquals(left, empty.getLeft());
+    }
+
+    /**
+     * Replays three turns of a drag around every dial, invalidating like the view does, and
+     * records the damaged rects.
+     */
+    @Test
+    public void replayedDrag_keepsDamagedAreaSmall() throws Exception {
+        int[] types = {DialLayout.TYPE_HOUR_12, DialLayout.TYPE_HOUR_24, DialLayout.TYPE_MINUTE};
+        float dialArea = (2 * RADIUS) * (2 * RADIUS);
+        for (int type : types) {
+            DialLayout layout = layout(type);
+            SelectorBounds drawn = new SelectorBounds();
+            SelectorBounds dirty = new SelectorBounds();
+            List<int[]> rects = new ArrayList<int[]>();
+            int selected = DialHitTester.NO_VALUE;
+            for (int i = 0; i < 3 * 360; i++) {
+                double angle = Math.toRadians(i);
+                float touchRadius = RADIUS * (type == DialLayout.TYPE_HOUR_24 && (i / 360) == 1 ? 0.6f : 0.85f);
+                int value = DialHitTester.resolve(type, touchRadius * (float) Math.sin(angle),
+                        -touchRadius * (float) Math.cos(angle), RADIUS);
+                if (value == DialHitTester.NO_VALUE || value == selected) {
+                    continue;
+                }
+                selected = value;
+                if (drawn.isEmpty()) {
+                    // first frame is a full draw
+                    drawn.set(layout, value);
+                    continue;
+                }
+                dirty.set(layout, value);
+                dirty.union(drawn);
+                rects.add(new int[]{dirty.getLeft(), dirty.getTop(), dirty.getRight(), dirty.getBottom()});
+                drawn.set(layout, value);
+            }
+            assertFalse(rects.isEmpty());
+            float maxArea = 0;
+            for (int[] rect : rects) {
+                maxArea = Math.max(maxArea, (rect[2] - rect[0]) * (rect[3] - rect[1]));
+            }
+            assertTrue(maxArea < 0.25f * dialArea);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package it.andreale.mdatetimepicker.time;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TimeHeaderLayoutTest {
+
+    private final static float DIGIT = 25;
+    private final static float COLON = 10;
+    private final static float PADDING = 8;
+
+    private static TimeHeaderLayout create(boolean stacked, boolean showMode) {
+        TimeHeaderLayout layout = new TimeHeaderLayout();
+        layout.setTimeMetrics(DIGIT, COLON, 48, 60);
+        layout.setModeMetrics(20, 16, 20);
+        layout.setArrangement(PADDING, stacked);
+        layout.setShowMode(showMode);
+        return layout;
+    }
+
+    @Test
+    public void getTwoDigits_padsEveryMinute() throws Exception {
+        assertEquals("00", TimeHeaderLayout.getTwoDigits(0));
+        assertEquals("07", TimeHeaderLayout.getTwoDigits(7));
+        assertEquals("59", TimeHeaderLayout.getTwoDigits(59));
+        assertSame(TimeHeaderLayout.getTwoDigits(42), TimeHeaderLayout.getTwoDigits(42));
+        assertEquals("0", TimeHeaderLayout.getHourLabel(0));
+        assertEquals("23", TimeHeaderLayout.getHourLabel(23));
+    }
+
+    @Test
+    public void desiredSize_dependsOnlyOnMetrics() throws Exception {
+        TimeHeaderLayout layout = create(false, true);
+        assertEquals(4 * DIGIT + COLON + 2 * PADDING + 20 + 2 * PADDING, layout.getDesiredWidth(), 0.001f);
+        assertEquals(Math.max(60 + 2 * PADDING, 2 * 20 + 2 * PADDING), layout.getDesiredHeight(), 0.001f);
+        assertTrue(layout.setShowMode(false));
+        assertFalse(layout.setShowMode(false));
+        assertEquals(4 * DIGIT + COLON + 2 * PADDING, layout.getDesiredWidth(), 0.001f);
+        assertEquals(60 + 2 * PADDING, layout.getDesiredHeight(), 0.001f);
+        TimeHeaderLayout stacked = create(true, true);
+        assertEquals(4 * DIGIT + COLON, stacked.getDesiredWidth(), 0.001f);
+        assertEquals(60 + 2 * 20 + 2 * PADDING, stacked.getDesiredHeight(), 0.001f);
+    }
+
+    @Test
+    public void getTargetBounds_matchesHitTest() throws Exception {
+        TimeHeaderLayout layout = create(false, true);
+        layout.layout(0, 0, 400, 100);
+        float[] bounds = new float[4];
+        int[] targets = {TimeHeaderLayout.TARGET_HOUR, TimeHeaderLayout.TARGET_MINUTE,
+                TimeHeaderLayout.TARGET_AM, TimeHeaderLayout.TARGET_PM};
+        for (int target : targets) {
+            assertTrue(layout.getTargetBounds(target, bounds));
+            assertTrue(bounds[0] < bounds[2] && bounds[1] < bounds[3]);
+            assertEquals(target, layout.hitTest((bounds[0] + bounds[2]) / 2, (bounds[1] + bounds[3]) / 2));
+        }
+        assertFalse(layout.getTargetBounds(TimeHeaderLayout.TARGET_NONE, bounds));
+        layout.setShowMode(false);
+        layout.layout(0, 0, 400, 100);
+        assertTrue(layout.getTargetBounds(TimeHeaderLayout.TARGET_HOUR, bounds));
+        assertFalse(layout.getTargetBounds(TimeHeaderLayout.TARGET_AM, bounds));
+        assertFalse(layout.getTargetBounds(TimeHeaderLayout.TARGET_PM, bounds));
+    }
+
+    @Test
+    public void hitTest_findsEveryTarget() throws Exception {
+        TimeHeaderLayout layout = create(false, true);
+        layout.layout(0, 0, 400, 100);
+        float timeY = layout.getTimeBaseline() - 10;
+        assertEquals(TimeHeaderLayout.TARGET_HOUR, layout.hitTest(layout.getHourRight() - 1, timeY));
+        assertEquals(TimeHeaderLayout.TARGET_NONE, layout.hitTest(layout.getColonLeft() + COLON / 2, timeY));
+        assertEquals(TimeHeaderLayout.TARGET_MINUTE, layout.hitTest(layout.getMinuteLeft() + 1, timeY));
+        float modeX = layout.getModeLeft() + 1;
+        assertEquals(TimeHeaderLayout.TARGET_AM, layout.hitTest(modeX, layout.getAmBaseline() - 1));
+        assertEquals(TimeHeaderLayout.TARGET_PM, layout.hitTest(modeX, layout.getPmBaseline() - 1));
+        assertEquals(TimeHeaderLayout.TARGET_NONE, layout.hitTest(1, 1));
+        // am and pm are not clickable when hidden
+        layout.setShowMode(false);
+        layout.layout(0, 0, 400, 100);
+        assertEquals(TimeHeaderLayout.TARGET_NONE, layout.hitTest(layout.getModeLeft() + 1, layout.getAmBaseline() - 1));
+    }
+
+    @Test
+    public void layout_stacksModeBelowTime() throws Exception {
+        TimeHeaderLayout layout = create(true, true);
+        layout.layout(0, 0, 300, 400);
+        assertEquals(150, (layout.getHourRight() - 2 * DIGIT + layout.getMinuteLeft() + 2 * DIGIT) / 2, 0.001f);
+        assertTrue(layout.getAmBaseline() > layout.getTimeBaseline());
+        assertEquals(140, layout.getModeLeft(), 0.001f);
+    }
+}
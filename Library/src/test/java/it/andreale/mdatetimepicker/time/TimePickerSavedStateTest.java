@@ -0,0 +1,62 @@
+package it.andreale.mdatetimepicker.time;
+
+import android.os.Parcel;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class TimePickerSavedStateTest {
+
+    @Test
+    public void restoresEveryField() {
+        TimePickerSavedState state = new TimePickerSavedState();
+        state.minuteOfDay = 23 * 60 + 59;
+        state.pickerMode = TimeHeaderView.MODE_MINUTE_PICKER;
+        state.is24HourMode = true;
+        state.lowLatencyInput = true;
+        state.headerColor = 0xff009688;
+        state.positiveColor = 0xff00897b;
+        state.negativeColor = 0xff00796b;
+        state.circleColor = 0xffeeeeee;
+        state.selectorColor = 0xff009688;
+        state.defaultTextColor = 0xff000000;
+        state.selectedTextColor = 0xffffffff;
+        state.darkTheme = true;
+        state.positiveText = "OK";
+        state.negativeText = null;
+        Parcel parcel = Parcel.obtain();
+        state.writeToParcel(parcel, 0);
+        parcel.setDataPosition(0);
+        TimePickerSavedState restored = TimePickerSavedState.CREATOR.createFromParcel(parcel);
+        assertEquals(state.minuteOfDay, restored.minuteOfDay);
+        assertEquals(state.pickerMode, restored.pickerMode);
+        assertEquals(state.is24HourMode, restored.is24HourMode);
+        assertEquals(state.lowLatencyInput, restored.lowLatencyInput);
+        assertEquals(state.headerColor, restored.headerColor);
+        assertEquals(state.positiveColor, restored.positiveColor);
+        assertEquals(state.negativeColor, restored.negativeColor);
+        assertEquals(state.circleColor, restored.circleColor);
+        assertEquals(state.selectorColor, restored.selectorColor);
+        assertEquals(state.defaultTextColor, restored.defaultTextColor);
+        assertEquals(state.selectedTextColor, restored.selectedTextColor);
+        assertEquals(state.darkTheme, restored.darkTheme);
+        assertEquals(state.positiveText, restored.positiveText);
+        assertNull(restored.negativeText);
+        assertEquals(parcel.dataSize(), parcel.dataPosition());
+    }
+
+    @Test
+    public void skipsUnknownVersion() {
+        Parcel parcel = Parcel.obtain();
+        new TimePickerSavedState().writeToParcel(parcel, 0);
+        parcel.writeInt(42);
+        // overwrite the version as if written by another release
+        parcel.setDataPosition(0);
+        parcel.writeInt(0);
+        parcel.setDataPosition(0);
+        assertNull(TimePickerSavedState.CREATOR.createFromParcel(parcel));
+        assertEquals(42, parcel.readInt());
+    }
+}
@@ -0,0 +1,50 @@
+package it.andreale.mdatetimepicker.time;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TimeStateTest {
+
+    @Test
+    public void getters_splitMinuteOfDay() throws Exception {
+        TimeState state = new TimeState(TimeState.toMinuteOfDay(15, 42), false);
+        assertEquals(15, state.getHourOfDay());
+        assertEquals(3, state.getHour());
+        assertEquals(42, state.getMinute());
+        assertTrue(state.isPM());
+        assertFalse(state.is24HourMode());
+    }
+
+    @Test
+    public void setHour_keepsHalfOfDay() throws Exception {
+        TimeState state = new TimeState(TimeState.toMinuteOfDay(15, 42), false);
+        assertTrue(state.setHour(0));
+        assertEquals(12, state.getHourOfDay());
+        assertEquals(42, state.getMinute());
+        assertFalse(state.setHour(0));
+        assertTrue(state.setPM(false));
+        assertEquals(0, state.getHourOfDay());
+        assertFalse(state.setPM(false));
+    }
+
+    @Test
+    public void setMinute_reportsChanges() throws Exception {
+        TimeState state = new TimeState(0, true);
+        assertFalse(state.setMinute(0));
+        assertTrue(state.setMinute(59));
+        assertEquals(59, state.getMinuteOfDay());
+        assertTrue(state.setHourOfDay(23));
+        assertEquals(TimeState.MINUTES_IN_DAY - 1, state.getMinuteOfDay());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setMinute_rejectsInvalidMinute() throws Exception {
+        new TimeState(0, true).setMinute(60);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_rejectsInvalidMinuteOfDay() throws Exception {
+        new TimeState(TimeState.MINUTES_IN_DAY, true);
+    }
+}
@@ -0,0 +1,174 @@
+package it.andreale.mdatetimepicker.time;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TouchPredictorTest {
+
+    private final static float RADIUS = 400;
+    private final static float TOUCH_RADIUS = RADIUS * 0.85f;
+
+    private static float x(double degrees) {
+        return TOUCH_RADIUS * (float) Math.sin(Math.toRadians(degrees));
+    }
+
+    private static float y(double degrees) {
+        return -TOUCH_RADIUS * (float) Math.cos(Math.toRadians(degrees));
+    }
+
+    @Test
+    public void predictAngle_extrapolatesConstantVelocity() throws Exception {
+        TouchPredictor predictor = new TouchPredictor();
+        for (int t = 0; t <= 40; t += 4) {
+            predictor.addSample(x(90 + t * 0.5), y(90 + t * 0.5), t);
+        }
+        assertEquals(0.5f, predictor.getVelocity(), 0.01f);
+        assertEquals(110 + 8, predictor.predictAngle(16), 0.5f);
+        assertEquals(110, predictor.predictAngle(0), 0.5f);
+        assertEquals(TOUCH_RADIUS * TOUCH_RADIUS, predictor.getDistance(), 1f);
+    }
+
+    @Test
+    public void predictAngle_unwrapsTwelveOClock() throws Exception {
+        TouchPredictor predictor = new TouchPredictor();
+        predictor.addSample(x(354), y(354), 0);
+        predictor.addSample(x(358), y(358), 4);
+        predictor.addSample(x(2), y(2), 8);
+        assertEquals(1f, predictor.getVelocity(), 0.01f);
+        assertEquals(10, predictor.predictAngle(8), 0.5f);
+        // counterclockwise across twelve o'clock
+        predictor.reset();
+        predictor.addSample(x(6), y(6), 0);
+        predictor.addSample(x(2), y(2), 4);
+        assertEquals(354, predictor.predictAngle(8), 0.5f);
+    }
+
+    @Test
+    public void predictAngle_limitsExtrapolation() throws Exception {
+        TouchPredictor predictor = new TouchPredictor();
+        assertEquals(0, predictor.predictAngle(16), 0f);
+        predictor.addSample(x(0), y(0), 0);
+        assertEquals(0, predictor.getVelocity(), 0f);
+        predictor.addSample(x(90), y(90), 1);
+        assertEquals(90 + 30, predictor.predictAngle(16), 0.5f);
+    }
+
+    /**
+     * Replays one drag around the minute dial and measures the delay between each input
+     * sample and the first frame that shows its minute.
+     * <p>
+     * Model: a sample every 4ms, a vsync every 16ms. Batched input is delivered at vsync
+     * without the samples of the last 5ms, like the platform resampling does. Unbuffered input
+     * is delivered as it arrives. Either way the frame dispatcher refreshes the dial once, in
+     * the frame callback that runs after the input of the frame.
+     */
+    @Test
+    public void replayedDrag_lowLatencyReducesLag() throws Exception {
+        Result batched = replay(false);
+        Result lowLatency = replay(true);
+        assertTrue(lowLatency.lag < batched.lag);
+        assertTrue(Math.abs(lowLatency.behind) < batched.behind);
+    }
+
+    private final static long SAMPLE_INTERVAL = 4;
+    private final static long FRAME_INTERVAL = 16;
+    private final static long RESAMPLE_LATENCY = 5;
+    private final static long DURATION = 880;
+    // one turn per second
+    private final static float DEGREES_PER_MILLI = 0.36f;
+
+    private static class Result {
+        // mean time between a sample and the first frame showing it
+        float lag;
+        // mean minutes between the finger and the hand when the frame reaches the display
+        float behind;
+    }
+
+    private static int fingerMinute(long time) {
+        return (int) (time * DEGREES_PER_MILLI / 6);
+    }
+
+    private static Result replay(final boolean lowLatency) {
+        final TimeState state = new TimeState(0, true);
+        final TouchPredictor predictor = new TouchPredictor();
+        final List<Runnable> callbacks = new ArrayList<Runnable>();
+        final boolean[] invalidated = new boolean[1];
+        FrameDispatcher dispatcher = new FrameDispatcher(new FrameDispatcher.Callback() {
+
+            @Override
+            public void onFrame() {
+                invalidated[0] = true;
+            }
+        }, new FrameDispatcher.Scheduler() {
+
+            @Override
+            public void schedule(Runnable frame) {
+                callbacks.add(frame);
+            }
+
+            @Override
+            public void cancel(Runnable frame) {
+                callbacks.remove(frame);
+            }
+        });
+        List<long[]> frames = new ArrayList<long[]>();
+        long delivered = -SAMPLE_INTERVAL;
+        for (long time = 0; time <= DURATION + FRAME_INTERVAL; time++) {
+            boolean vsync = time > 0 && time % FRAME_INTERVAL == 0;
+            int value = DialHitTester.NO_VALUE;
+            if (lowLatency) {
+                if (time % SAMPLE_INTERVAL == 0 && time <= DURATION) {
+                    float angle = time * DEGREES_PER_MILLI;
+                    predictor.addSample(x(angle), y(angle), time);
+                    value = DialHitTester.resolveAngle(DialLayout.TYPE_MINUTE,
+                            predictor.predictAngle(TouchPredictor.DEFAULT_LEAD), predictor.getDistance(), RADIUS);
+                }
+            } else if (vsync) {
+                // the batch carries every sample old enough, only the newest is resolved
+                long newest = Math.min(DURATION, (time - RESAMPLE_LATENCY) / SAMPLE_INTERVAL * SAMPLE_INTERVAL);
+                if (newest > delivered) {
+                    delivered = newest;
+                    float angle = newest * DEGREES_PER_MILLI;
+                    value = DialHitTester.resolve(DialLayout.TYPE_MINUTE, x(angle), y(angle), RADIUS);
+                }
+            }
+            // input comes first, then the frame callbacks posted until then
+            if (value != DialHitTester.NO_VALUE && state.setMinute(value)) {
+                dispatcher.dispatch();
+            }
+            if (vsync) {
+                List<Runnable> pending = new ArrayList<Runnable>(callbacks);
+                callbacks.clear();
+                for (Runnable callback : pending) {
+                    callback.run();
+                }
+            }
+            if (vsync && invalidated[0]) {
+                invalidated[0] = false;
+                frames.add(new long[]{time, state.getMinute()});
+            }
+        }
+        Result result = new Result();
+        int samples = 0;
+        for (long time = 0; time <= DURATION; time += SAMPLE_INTERVAL) {
+            int minute = fingerMinute(time);
+            for (long[] frame : frames) {
+                if (frame[0] >= time && frame[1] >= minute) {
+                    result.lag += frame[0] - time;
+                    samples++;
+                    break;
+                }
+            }
+        }
+        result.lag /= samples;
+        for (long[] frame : frames) {
+            result.behind += fingerMinute(Math.min(DURATION, frame[0] + FRAME_INTERVAL)) - frame[1];
+        }
+        result.behind /= frames.size();
+        return result;
+    }
+}